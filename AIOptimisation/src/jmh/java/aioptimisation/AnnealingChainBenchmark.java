@@ -0,0 +1,129 @@
+package aioptimisation;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for the allocation free annealing chain on its own.
+ * Run with -prof gc: the step benchmark should report a gc.alloc.rate.norm of about 0 B/op.
+ */
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class AnnealingChainBenchmark {
+
+	/**
+	 * A chain with the moves set up the way SimulatedAnnealing does, for the step benchmark. The cost of a step does
+	 * not depend on the cooling rate so it is not a parameter here, the chain stays at one temperature.
+	 */
+	@State(Scope.Thread)
+	public static class Chain {
+		static final double TEMP = 100;
+
+		@Param({"f1", "f2", "holder", "egg"})
+		public String function;
+
+		@Param({"uniform", "cauchy", "adaptive"})
+		public String moves;
+
+		AnnealingChain chain;
+
+		@Setup(Level.Trial)
+		public void setUp() {
+			ObjectiveFunction objective = ObjectiveFunctions.get(function);
+			chain = new AnnealingChain(objective, objective.getDimensions(), objective.getLowerBound(0),
+					objective.getUpperBound(0), new SplittableRandom(42));
+			MoveGenerator generator = moveGenerator(moves);
+			generator.start(TEMP);
+			chain.setMoveGenerator(generator);
+			chain.randomStart();
+		}
+	}
+
+	/**
+	 * The settings of a whole run, for the time to target benchmark.
+	 */
+	@State(Scope.Benchmark)
+	public static class Run {
+		@Param({"0.05", "0.005", "0.0005"})
+		public double coolingRate;
+
+		@Param({"f1", "f2", "holder", "egg"})
+		public String function;
+
+		@Param({"uniform", "cauchy", "adaptive"})
+		public String moves;
+
+		ObjectiveFunction objective;
+
+		@Setup(Level.Trial)
+		public void setUp() {
+			objective = ObjectiveFunctions.get(function);
+		}
+	}
+
+	/**
+	 * One step of the allocation free chain. This is the steady state loop, so with -prof gc it shows
+	 * whether anything is still being allocated per candidate.
+	 */
+	@Benchmark
+	@BenchmarkMode(Mode.Throughput)
+	@OutputTimeUnit(TimeUnit.SECONDS)
+	public double step(Chain state) {
+		return state.chain.step(Chain.TEMP);
+	}
+
+	/**
+	 * Time for a single allocation free chain at this cooling rate and with these moves to get within the reliability
+	 * limit of the minimum, capped at 2,000,000 evaluations. The evaluations counter shows how many it took.
+	 */
+	@Benchmark
+	@BenchmarkMode(Mode.SingleShotTime)
+	@OutputTimeUnit(TimeUnit.MILLISECONDS)
+	@Warmup(iterations = 5)
+	@Measurement(iterations = 20)
+	public double timeToTargetError(Run run, Evaluations counter) {
+		ObjectiveFunction objective = run.objective;
+		AnnealingChain fresh = new AnnealingChain(objective, objective.getDimensions(), objective.getLowerBound(0),
+				objective.getUpperBound(0), new SplittableRandom());
+		MoveGenerator generator = moveGenerator(run.moves);
+		generator.start(2000);
+		fresh.setMoveGenerator(generator);
+		fresh.randomStart();
+		double target = BenchmarkTargets.targetError(run.function);
+		double optimum = objective.getOptimum();
+		double temp = 2000;
+		while(Math.abs(fresh.getBestValue() - optimum) > target && fresh.getEvaluations() < 2000000) {
+			for(int i = 0; i < 10; i++) {
+				fresh.step(temp);
+			}
+			temp = Math.max(temp * (1 - run.coolingRate), 1e-9);
+		}
+		counter.evaluations += fresh.getEvaluations();
+		return fresh.getBestValue();
+	}
+
+	private static MoveGenerator moveGenerator(String moves) {
+		switch(moves) {
+		case "cauchy":
+			return MoveGenerator.cauchy(0.05);
+		case "adaptive":
+			return MoveGenerator.adaptive(PerturbationMoveGenerator.Distribution.CAUCHY, 0.05, 0.3);
+		default:
+			return MoveGenerator.uniform();
+		}
+	}
+}
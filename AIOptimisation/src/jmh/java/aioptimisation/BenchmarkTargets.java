@@ -0,0 +1,26 @@
+package aioptimisation;
+
+/**
+ * The error each function has to get within for a run to count as having found the minimum.
+ * These are the same limits the reliability scores in the two mains use.
+ */
+final class BenchmarkTargets {
+
+	private BenchmarkTargets() {
+	}
+
+	static double targetError(String function) {
+		switch(function) {
+		case "f1":
+			return 0.0000025;
+		case "f2":
+			return 0.0008;
+		case "holder":
+			return 0.2;
+		case "egg":
+			return 5;
+		default:
+			return 1e-3;
+		}
+	}
+}
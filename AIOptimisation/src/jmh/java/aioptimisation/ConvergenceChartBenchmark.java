@@ -0,0 +1,66 @@
+package aioptimisation;
+
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.jfree.chart.ChartFactory;
+import org.jfree.chart.plot.PlotOrientation;
+import org.jfree.data.xy.XYSeries;
+import org.jfree.data.xy.XYSeriesCollection;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Time to build and draw an 800 by 400 chart of one long convergence series off-screen. everyTenth copies every 10th
+ * point into an XYSeries like the charts did before, downsampled cuts the series down to 800 points with ConvergenceChart.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ConvergenceChartBenchmark {
+
+	@Param({"100000", "1000000"})
+	public int points;
+
+	private ArrayList<Double> series;
+
+	@Setup
+	public void setUp() {
+		SplittableRandom rnd = new SplittableRandom(42);
+		series = new ArrayList<Double>(points);
+		for(int i = 0; i < points; i++) {
+			series.add(100.0 / (1 + i * 1e-3) + rnd.nextDouble());
+		}
+	}
+
+	@Benchmark
+	public BufferedImage everyTenth() {
+		XYSeriesCollection dataset = new XYSeriesCollection();
+		XYSeries xySeries = new XYSeries("Best Solution Error");
+		for(int i = 0; i < series.size(); i += 10) {
+			xySeries.add(i, series.get(i));
+		}
+		dataset.addSeries(xySeries);
+		return ChartFactory.createXYLineChart("XY Line Chart", "X-Axis", "Y-Axis", dataset, PlotOrientation.VERTICAL, true, true, false)
+				.createBufferedImage(800, 400);
+	}
+
+	@Benchmark
+	public BufferedImage downsampled() {
+		return new ConvergenceChart("XY Line Chart").addSeries("Best Solution Error", series).createChart(800).createBufferedImage(800, 400);
+	}
+}
@@ -0,0 +1,22 @@
+package aioptimisation;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Counts evaluations so JMH reports them per second next to the main score. The benchmarks that run whole
+ * optimisers take it as a parameter and add the evaluations each invocation made.
+ */
+@AuxCounters(AuxCounters.Type.OPERATIONS)
+@State(Scope.Thread)
+public class Evaluations {
+	public long evaluations;
+
+	@Setup(Level.Iteration)
+	public void reset() {
+		evaluations = 0;
+	}
+}
@@ -0,0 +1,57 @@
+package aioptimisation;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for the island model. Each invocation runs one migration interval on every island plus the migration,
+ * so the evaluations per second show how close to linear the scaling with islands is.
+ */
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Benchmark)
+public class IslandModelBenchmark {
+
+	@Param({"1", "2", "4", "8"})
+	public int islands;
+
+	@Param({"1000"})
+	public int populationSize;
+
+	@Param({"rastrigin"})
+	public String function;
+
+	private IslandModel model;
+
+	@Setup(Level.Iteration)
+	public void newModel() {
+		ObjectiveFunction objective = ObjectiveFunctions.get(function, 10);
+		model = new IslandModel(IslandModel.createIslands(objective, islands, 0.1, 0.1, populationSize, 1000, 42));
+		model.setMigrationInterval(25);
+	}
+
+	/**
+	 * Throughput of one migration interval across all the islands.
+	 */
+	@Benchmark
+	@BenchmarkMode(Mode.Throughput)
+	@OutputTimeUnit(TimeUnit.SECONDS)
+	public double epoch(Evaluations counter) {
+		model.run(model.getMigrationInterval() + 1);
+		counter.evaluations += (long) islands * populationSize * (model.getMigrationInterval() + 2);
+		return model.getBestIsland().getBestAffinity();
+	}
+}
@@ -0,0 +1,100 @@
+package aioptimisation;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for the clonal selection algorithm. The function parameter also covers the dimensions,
+ * f1 is one dimensional and the rest are two dimensional.
+ * Run with -prof gc to get the allocation rate per generation.
+ */
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Benchmark)
+public class PopulationBenchmark {
+
+	@Param({"100", "1000", "10000"})
+	public int populationSize;
+
+	@Param({"f1", "f2", "holder", "egg"})
+	public String function;
+
+	@Param({"FULL", "PARTIAL"})
+	public Population.RankingMode rankingMode;
+
+	private ObjectiveFunction objective;
+	private Population population;
+
+	/**
+	 * Reports how many generations the last time to target run needed.
+	 */
+	@AuxCounters(AuxCounters.Type.EVENTS)
+	@State(Scope.Thread)
+	public static class Generations {
+		public long generations;
+	}
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		objective = ObjectiveFunctions.get(function);
+	}
+
+	@Setup(Level.Iteration)
+	public void newPopulation() {
+		population = new Population(objective, 0.1, 0.1, populationSize, 50);
+		population.setRankingMode(rankingMode);
+		population.start();
+	}
+
+	/**
+	 * Throughput of whole generations. The evaluations counter gives evaluations per second.
+	 */
+	@Benchmark
+	@BenchmarkMode(Mode.Throughput)
+	@OutputTimeUnit(TimeUnit.SECONDS)
+	public double generation(Evaluations counter) {
+		//Cells that were not changed are not evaluated again, so the count comes from the population.
+		long evaluations = population.getEvaluations();
+		population.iterate();
+		counter.evaluations += population.getEvaluations() - evaluations;
+		return population.getBestAffinity();
+	}
+
+	/**
+	 * Time from a new population until the best cell is within the reliability limit of the minimum,
+	 * capped at 5000 generations. Creating and ranking the starting population is included.
+	 */
+	@Benchmark
+	@BenchmarkMode(Mode.SingleShotTime)
+	@OutputTimeUnit(TimeUnit.MILLISECONDS)
+	@Warmup(iterations = 5)
+	@Measurement(iterations = 20)
+	public double timeToTargetError(Generations counter) {
+		Population population = new Population(objective, 0.1, 0.1, populationSize, 5000);
+		population.setRankingMode(rankingMode);
+		population.start();
+		double target = BenchmarkTargets.targetError(function);
+		double optimum = objective.getOptimum();
+		int generations = 0;
+		while(Math.abs(population.getBestAffinity() - optimum) > target && generations < 5000) {
+			population.iterate();
+			generations++;
+		}
+		counter.generations += generations;
+		return population.getBestAffinity();
+	}
+}
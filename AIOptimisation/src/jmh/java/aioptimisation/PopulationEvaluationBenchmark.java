@@ -0,0 +1,77 @@
+package aioptimisation;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Time for Population.runProblem to evaluate the whole population. perPoint goes through evaluate one cell at a
+ * time like before the batch functions, batchScalar uses the batch functions without the Vector API and batchVector
+ * forks a JVM with jdk.incubator.vector added so the batches run in SIMD lanes.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PopulationEvaluationBenchmark {
+
+	@Param({"1000", "10000", "100000"})
+	public int populationSize;
+
+	@Param({"f1", "f2", "holder", "egg"})
+	public String function;
+
+	private Population batched;
+	private Population perPoint;
+
+	@Setup
+	public void setUp() {
+		ObjectiveFunction objective = ObjectiveFunctions.get(function);
+		batched = new Population(objective, 0.1, 0.1, populationSize, 1);
+		batched.setSeed(42);
+		//Only evaluate is passed on so evaluateBatch falls back to the default one point at a time loop.
+		ObjectiveFunction single = new AbstractObjectiveFunction(function, objective.getLowerBounds(), objective.getUpperBounds(), objective.getOptimum()) {
+			@Override
+			public double evaluate(double in[], int offset) {
+				return objective.evaluate(in, offset);
+			}
+		};
+		perPoint = new Population(single, 0.1, 0.1, populationSize, 1);
+		perPoint.setSeed(42);
+	}
+
+	@Benchmark
+	public double perPoint() {
+		perPoint.markAllDirty();
+		perPoint.runProblem();
+		return perPoint.getBestAffinity();
+	}
+
+	@Benchmark
+	@Fork(value = 1, jvmArgsAppend = "-Daioptimisation.scalar=true")
+	public double batchScalar() {
+		batched.markAllDirty();
+		batched.runProblem();
+		return batched.getBestAffinity();
+	}
+
+	@Benchmark
+	@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+	public double batchVector() {
+		batched.markAllDirty();
+		batched.runProblem();
+		return batched.getBestAffinity();
+	}
+}
@@ -0,0 +1,78 @@
+package aioptimisation;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Throughput of the raw problem functions. Each invocation evaluates every point in a fixed
+ * table of random points so the score is evaluations per second.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ProblemFunctionsBenchmark {
+
+	private static final int POINTS = 1024;
+
+	private double xs[];
+	private double ys[];
+
+	@Setup
+	public void setUp() {
+		SplittableRandom rnd = new SplittableRandom(42);
+		xs = new double[POINTS];
+		ys = new double[POINTS];
+		for(int i = 0; i < POINTS; i++) {
+			xs[i] = rnd.nextDouble(-10, 10);
+			ys[i] = rnd.nextDouble(-10, 10);
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(POINTS)
+	public void function1(Blackhole bh) {
+		for(int i = 0; i < POINTS; i++) {
+			bh.consume(ProblemFunctions.function1(xs[i]));
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(POINTS)
+	public void function2(Blackhole bh) {
+		for(int i = 0; i < POINTS; i++) {
+			bh.consume(ProblemFunctions.function2(xs[i], ys[i]));
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(POINTS)
+	public void holderTableFunction(Blackhole bh) {
+		for(int i = 0; i < POINTS; i++) {
+			bh.consume(ProblemFunctions.holderTableFunction(xs[i], ys[i]));
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(POINTS)
+	public void eggFunction(Blackhole bh) {
+		for(int i = 0; i < POINTS; i++) {
+			bh.consume(ProblemFunctions.eggFunction(xs[i] * 51.2, ys[i] * 51.2));
+		}
+	}
+}
@@ -0,0 +1,71 @@
+package aioptimisation;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for the functions that work for any amount of dimensions. The time per evaluation and per
+ * generation should grow linearly with the dimensions.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Benchmark)
+public class ScalableFunctionsBenchmark {
+
+	@Param({"rastrigin", "rosenbrock", "ackley", "schwefel"})
+	public String function;
+
+	@Param({"2", "50", "1000"})
+	public int dimensions;
+
+	private ObjectiveFunction objective;
+	private double point[];
+	private Population population;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		objective = ObjectiveFunctions.get(function, dimensions);
+		SplittableRandom rnd = new SplittableRandom(42);
+		point = new double[dimensions];
+		for(int d = 0; d < dimensions; d++) {
+			point[d] = rnd.nextDouble(objective.getLowerBound(d), objective.getUpperBound(d));
+		}
+	}
+
+	@Setup(Level.Iteration)
+	public void newPopulation() {
+		population = new Population(objective, 0.1, 0.1, 100, 50);
+		population.setSeed(42);
+		population.start();
+	}
+
+	@Benchmark
+	public double evaluate() {
+		return objective.evaluate(point, 0);
+	}
+
+	/**
+	 * One generation of a population of 100.
+	 */
+	@Benchmark
+	public double generation() {
+		population.iterate();
+		return population.getBestAffinity();
+	}
+}
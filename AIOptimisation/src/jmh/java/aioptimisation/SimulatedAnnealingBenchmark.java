@@ -0,0 +1,57 @@
+package aioptimisation;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for whole simulated annealing runs at several cooling rates, with and without the allocation free engine.
+ * Run with -prof gc to compare the allocation rate of the two engines.
+ */
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Benchmark)
+public class SimulatedAnnealingBenchmark {
+
+	@Param({"0.05", "0.005", "0.0005"})
+	public double coolingRate;
+
+	@Param({"f1", "f2", "holder", "egg"})
+	public String function;
+
+	@Param({"false", "true"})
+	public boolean allocationFree;
+
+	private ObjectiveFunction objective;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		objective = ObjectiveFunctions.get(function);
+	}
+
+	/**
+	 * A whole run from a temperature of 2000 down to 1, 10 iterations per temperature.
+	 */
+	@Benchmark
+	@BenchmarkMode(Mode.AverageTime)
+	@OutputTimeUnit(TimeUnit.MILLISECONDS)
+	public double run(Evaluations counter) {
+		SimulatedAnnealing sa = new SimulatedAnnealing(2000, coolingRate, 10, objective);
+		sa.setAllocationFree(allocationFree);
+		counter.evaluations += (long) sa.temperatureSteps() * sa.getIterations();
+		sa.run(sa);
+		return sa.getBestSolution().getOutput();
+	}
+}
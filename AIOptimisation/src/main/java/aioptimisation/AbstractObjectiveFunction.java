@@ -0,0 +1,86 @@
+package aioptimisation;
+
+public abstract class AbstractObjectiveFunction implements ObjectiveFunction {
+
+	private String name;
+	private int dimensions;
+	private double lowerBounds[];
+	private double upperBounds[];
+	private double optimum;
+
+	/**
+	 * This constructor sets up a function that has the same range for every input.
+	 * @param name - the name used to look the function up.
+	 * @param dimensions - how many inputs the function takes.
+	 * @param minRange - lower bound of range for every input.
+	 * @param maxRange - upper bound of range for every input.
+	 * @param optimum - the known minimum of the function.
+	 */
+	protected AbstractObjectiveFunction(String name, int dimensions, double minRange, double maxRange, double optimum) {
+		this(name, uniform(dimensions, minRange), uniform(dimensions, maxRange), optimum);
+	}
+
+	/**
+	 * This constructor sets up a function with its own range for each input.
+	 * @param name - the name used to look the function up.
+	 * @param lowerBounds - lower bound of range for each input, the length is the amount of dimensions.
+	 * @param upperBounds - upper bound of range for each input.
+	 * @param optimum - the known minimum of the function.
+	 */
+	protected AbstractObjectiveFunction(String name, double lowerBounds[], double upperBounds[], double optimum) {
+		if(lowerBounds.length != upperBounds.length) {
+			throw new IllegalArgumentException("lowerBounds and upperBounds must have the same length");
+		}
+		this.name = name;
+		this.dimensions = lowerBounds.length;
+		this.lowerBounds = lowerBounds.clone();
+		this.upperBounds = upperBounds.clone();
+		this.optimum = optimum;
+	}
+
+	static double[] uniform(int dimensions, double value) {
+		double bounds[] = new double[dimensions];
+		java.util.Arrays.fill(bounds, value);
+		return bounds;
+	}
+
+	@Override
+	public String getName() {
+		return name;
+	}
+
+	@Override
+	public int getDimensions() {
+		return dimensions;
+	}
+
+	@Override
+	public double getLowerBound(int dimension) {
+		return lowerBounds[dimension];
+	}
+
+	@Override
+	public double getUpperBound(int dimension) {
+		return upperBounds[dimension];
+	}
+
+	@Override
+	public double[] getLowerBounds() {
+		return lowerBounds.clone();
+	}
+
+	@Override
+	public double[] getUpperBounds() {
+		return upperBounds.clone();
+	}
+
+	@Override
+	public double getOptimum() {
+		return optimum;
+	}
+
+	@Override
+	public String toString() {
+		return name;
+	}
+}
@@ -0,0 +1,115 @@
+package aioptimisation;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.random.RandomGenerator;
+
+public class AdaptiveMoveGenerator implements MoveGenerator {
+
+	//The step multiplier never goes outside these, so the steps can neither vanish nor cover the range many times over.
+	private static final double MIN_MULTIPLIER = 1e-6;
+	private static final double MAX_MULTIPLIER = 1e3;
+
+	private PerturbationMoveGenerator base;
+	private double targetAcceptance;
+	private int window = 100;
+	private int moves;
+	private int accepts;
+
+	/**
+	 * This constructor wraps a perturbation so its step size follows the acceptance ratio. Too many accepted moves
+	 * means the steps are too small to explore, too few means they keep jumping out of the basin, so every window of moves
+	 * the step is made bigger or smaller towards the target.
+	 * @param base - the perturbation whose multiplier is tuned, it belongs to this generator from now on.
+	 * @param targetAcceptance - the fraction of moves to accept, eg 0.44 which is the usual target for one dimensional steps
+	 * or about 0.23 for many dimensions.
+	 */
+	public AdaptiveMoveGenerator(PerturbationMoveGenerator base, double targetAcceptance) {
+		if(!(targetAcceptance > 0 && targetAcceptance < 1)) {
+			throw new IllegalArgumentException("targetAcceptance must be between 0 and 1");
+		}
+		this.base = base;
+		this.targetAcceptance = targetAcceptance;
+	}
+
+	@Override
+	public void start(double initialTemp) {
+		base.start(initialTemp);
+		base.setMultiplier(1.0);
+		moves = 0;
+		accepts = 0;
+	}
+
+	@Override
+	public void move(double current[], double candidate[], double lowerBounds[], double upperBounds[], double temp, RandomGenerator rnd) {
+		base.move(current, candidate, lowerBounds, upperBounds, temp, rnd);
+	}
+
+	/**
+	 * This method counts the accepted moves and at the end of every window scales the step by exp(2 * (ratio - target)),
+	 * so it changes quickly when the ratio is far off and settles when it is close.
+	 */
+	@Override
+	public void accepted(boolean accepted) {
+		moves++;
+		if(accepted) {
+			accepts++;
+		}
+		if(moves == window) {
+			double ratio = (double) accepts / moves;
+			double multiplier = base.getMultiplier() * Math.exp(2 * (ratio - targetAcceptance));
+			base.setMultiplier(Math.max(MIN_MULTIPLIER, Math.min(MAX_MULTIPLIER, multiplier)));
+			moves = 0;
+			accepts = 0;
+		}
+	}
+
+	@Override
+	public void writeState(DataOutput out) throws IOException {
+		base.writeState(out);
+		out.writeInt(moves);
+		out.writeInt(accepts);
+	}
+
+	@Override
+	public void readState(DataInput in) throws IOException {
+		base.readState(in);
+		moves = in.readInt();
+		accepts = in.readInt();
+	}
+
+	@Override
+	public MoveGenerator copy() {
+		AdaptiveMoveGenerator copy = new AdaptiveMoveGenerator((PerturbationMoveGenerator) base.copy(), targetAcceptance);
+		copy.window = window;
+		return copy;
+	}
+
+	public PerturbationMoveGenerator getBase() {
+		return base;
+	}
+
+	public double getTargetAcceptance() {
+		return targetAcceptance;
+	}
+
+	public int getWindow() {
+		return window;
+	}
+
+	/**
+	 * How many moves the acceptance ratio is measured over before the step size is changed.
+	 */
+	public void setWindow(int window) {
+		if(window < 1) {
+			throw new IllegalArgumentException("window must be at least 1");
+		}
+		this.window = window;
+	}
+
+	@Override
+	public String toString() {
+		return "adaptive " + base + " target " + targetAcceptance;
+	}
+}
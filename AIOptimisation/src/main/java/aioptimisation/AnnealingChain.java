@@ -0,0 +1,240 @@
+package aioptimisation;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+import java.util.random.RandomGenerator;
+
+public class AnnealingChain {
+
+	private ObjectiveFunction objective;
+	private int dimensions;
+	private double lowerBounds[];
+	private double upperBounds[];
+	private RandomGenerator rnd;
+	private MoveGenerator moves = MoveGenerator.uniform();
+	private SurrogateModel surrogate;
+	//The two buffers that are swapped whenever a candidate is accepted, plus a copy of the best point seen.
+	private double current[];
+	private double candidate[];
+	private double best[];
+	private double currentValue;
+	private double candidateValue;
+	private double bestValue;
+	private long evaluations;
+	private long accepted;
+
+	/**
+	 * This constructor allocates the only three arrays the chain ever uses. Stepping the chain after this
+	 * does not allocate anything.
+	 * @param objective - the function to minimise.
+	 * @param dimensions - how many inputs the function takes.
+	 * @param minRange - lower bound of range.
+	 * @param maxRange - upper bound of range.
+	 * @param rnd - the random number generator for the whole run, it is not shared with other threads.
+	 */
+	public AnnealingChain(ObjectiveFunction objective, int dimensions, double minRange, double maxRange, RandomGenerator rnd) {
+		this(objective, AbstractObjectiveFunction.uniform(dimensions, minRange), AbstractObjectiveFunction.uniform(dimensions, maxRange), rnd);
+	}
+
+	/**
+	 * This constructor is for functions where every input has its own range.
+	 * @param objective - the function to minimise.
+	 * @param lowerBounds - lower bound of each input, the length is the amount of dimensions.
+	 * @param upperBounds - upper bound of each input.
+	 * @param rnd - the random number generator for the whole run, it is not shared with other threads.
+	 */
+	public AnnealingChain(ObjectiveFunction objective, double lowerBounds[], double upperBounds[], RandomGenerator rnd) {
+		this.objective = objective;
+		this.dimensions = lowerBounds.length;
+		this.lowerBounds = lowerBounds.clone();
+		this.upperBounds = upperBounds.clone();
+		this.rnd = rnd;
+		this.current = new double[dimensions];
+		this.candidate = new double[dimensions];
+		this.best = new double[dimensions];
+	}
+
+	/**
+	 * This method starts the chain from a random point in the range.
+	 */
+	public void randomStart() {
+		for(int d = 0; d < dimensions; d++) {
+			current[d] = rnd.nextDouble(lowerBounds[d], upperBounds[d]);
+		}
+		currentValue = objective.evaluate(current, 0);
+		evaluations++;
+		System.arraycopy(current, 0, best, 0, dimensions);
+		bestValue = currentValue;
+	}
+
+	/**
+	 * This method starts the chain from a point that has already been evaluated.
+	 * @param start - the inputs, copied into the chain.
+	 * @param value - the output of the function for those inputs.
+	 */
+	public void start(double start[], double value) {
+		System.arraycopy(start, 0, current, 0, dimensions);
+		currentValue = value;
+		System.arraycopy(start, 0, best, 0, dimensions);
+		bestValue = value;
+	}
+
+	/**
+	 * This method does one iteration of simulated annealing. The move generator writes a candidate into the
+	 * candidate buffer and it is evaluated. If it is better than the current point, or passes the acceptance
+	 * probability, the candidate and current buffers are swapped. If it beats the best point it is copied into the best buffer.
+	 * With a surrogate set the candidate may be rejected without being evaluated, see screenedStep.
+	 * @param temp - the temperature to accept worse candidates at.
+	 * @return the output of the candidate, whether or not it was accepted, NaN if the surrogate screened it out.
+	 */
+	public double step(double temp) {
+		moves.move(current, candidate, lowerBounds, upperBounds, temp, rnd);
+		if(surrogate != null) {
+			return screenedStep(temp);
+		}
+		candidateValue = objective.evaluate(candidate, 0);
+		evaluations++;
+		double distance = currentValue - candidateValue;
+		boolean accepted = distance > 0 || Math.exp(distance / temp) > rnd.nextDouble();
+		if(accepted) {
+			accept();
+			this.accepted++;
+		}
+		moves.accepted(accepted);
+		return candidateValue;
+	}
+
+	/**
+	 * This method is step with the surrogate. The random number the acceptance probability is compared with is drawn
+	 * first, which gives the highest output the candidate can have and still be accepted. The candidate is only
+	 * evaluated if the surrogate predicts it could come in under that, otherwise it is rejected without an evaluation.
+	 * @return the output of the candidate, or NaN if it was not evaluated.
+	 */
+	private double screenedStep(double temp) {
+		double threshold = currentValue - temp * Math.log(rnd.nextDouble());
+		if(!surrogate.screen(candidate, 0, threshold)) {
+			moves.accepted(false);
+			return Double.NaN;
+		}
+		candidateValue = objective.evaluate(candidate, 0);
+		evaluations++;
+		surrogate.add(candidate, 0, candidateValue);
+		boolean accepted = candidateValue < threshold;
+		if(accepted) {
+			accept();
+			this.accepted++;
+		}
+		moves.accepted(accepted);
+		return candidateValue;
+	}
+
+	/**
+	 * This method writes the points of the chain and its counters into a checkpoint. The generator and the move
+	 * generator are written by whoever owns them.
+	 */
+	void writeState(DataOutput out) throws IOException {
+		Checkpoint.writeDoubles(out, current, dimensions);
+		Checkpoint.writeDoubles(out, best, dimensions);
+		out.writeDouble(currentValue);
+		out.writeDouble(bestValue);
+		out.writeLong(evaluations);
+		out.writeLong(accepted);
+	}
+
+	void readState(DataInput in) throws IOException {
+		Checkpoint.readDoubles(in, current);
+		Checkpoint.readDoubles(in, best);
+		currentValue = in.readDouble();
+		bestValue = in.readDouble();
+		evaluations = in.readLong();
+		accepted = in.readLong();
+	}
+
+	/**
+	 * This method swaps the current points of two chains, used for replica exchange between chains running at
+	 * different temperatures. Only the buffers are swapped so nothing is copied, the best points stay with their chains.
+	 * @param other - a chain over the same function and dimensions.
+	 */
+	public void exchange(AnnealingChain other) {
+		double swap[] = current;
+		current = other.current;
+		other.current = swap;
+		double value = currentValue;
+		currentValue = other.currentValue;
+		other.currentValue = value;
+	}
+
+	private void accept() {
+		double swap[] = current;
+		current = candidate;
+		candidate = swap;
+		currentValue = candidateValue;
+		if(currentValue < bestValue) {
+			System.arraycopy(current, 0, best, 0, dimensions);
+			bestValue = currentValue;
+		}
+	}
+
+	/**
+	 * The current point. The array is one of the chain's buffers so it changes as the chain steps.
+	 */
+	public double[] getCurrent() {
+		return current;
+	}
+
+	public double getCurrentValue() {
+		return currentValue;
+	}
+
+	/**
+	 * The best point found so far. The array is one of the chain's buffers so it changes as the chain steps.
+	 */
+	public double[] getBest() {
+		return best;
+	}
+
+	public double getBestValue() {
+		return bestValue;
+	}
+
+	public long getEvaluations() {
+		return evaluations;
+	}
+
+	/**
+	 * How many candidates have been accepted, for working out the acceptance ratio.
+	 */
+	public long getAccepted() {
+		return accepted;
+	}
+
+	public MoveGenerator getMoveGenerator() {
+		return moves;
+	}
+
+	/**
+	 * Sets how candidates are drawn, uniformly over the whole range by default. The generator is used as it is,
+	 * so give each chain its own copy of a generator that keeps state and call start on it before the run.
+	 */
+	public void setMoveGenerator(MoveGenerator moves) {
+		this.moves = moves;
+	}
+
+	public SurrogateModel getSurrogate() {
+		return surrogate;
+	}
+
+	/**
+	 * Sets a model that screens candidates before they are evaluated, see step. Every point the chain evaluates is
+	 * archived in it, so it must not be shared with a chain on another thread. null, the default, evaluates every candidate.
+	 */
+	public void setSurrogate(SurrogateModel surrogate) {
+		this.surrogate = surrogate;
+	}
+
+	public RandomGenerator getRandom() {
+		return rnd;
+	}
+}
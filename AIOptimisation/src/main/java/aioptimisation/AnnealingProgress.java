@@ -0,0 +1,146 @@
+package aioptimisation;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+public class AnnealingProgress {
+
+	private long step;
+	private long evaluations;
+	private double temperature;
+	private double currentError;
+	private double bestError = Double.POSITIVE_INFINITY;
+	private double acceptanceRatio;
+	private long stepsSinceImprovement;
+	private long startNanos;
+
+	/**
+	 * This method resets the progress at the start of a run and starts the clock.
+	 * @param temperature - the starting temperature.
+	 */
+	public void start(double temperature) {
+		this.step = 0;
+		this.evaluations = 0;
+		this.temperature = temperature;
+		this.currentError = Double.POSITIVE_INFINITY;
+		this.bestError = Double.POSITIVE_INFINITY;
+		this.acceptanceRatio = 1;
+		this.stepsSinceImprovement = 0;
+		this.startNanos = System.nanoTime();
+	}
+
+	/**
+	 * This method is called at the end of every temperature step with how it went. Nothing is allocated
+	 * so it can be called every step.
+	 * @param temperature - the temperature the step ran at.
+	 * @param evaluations - the evaluations done so far in the run.
+	 * @param currentError - the error of the current solution.
+	 * @param bestError - the error of the best solution so far.
+	 * @param acceptanceRatio - the fraction of candidates accepted in the step.
+	 */
+	public void update(double temperature, long evaluations, double currentError, double bestError, double acceptanceRatio) {
+		step++;
+		if(bestError < this.bestError) {
+			stepsSinceImprovement = 0;
+		} else {
+			stepsSinceImprovement++;
+		}
+		this.temperature = temperature;
+		this.evaluations = evaluations;
+		this.currentError = currentError;
+		this.bestError = bestError;
+		this.acceptanceRatio = acceptanceRatio;
+	}
+
+	/**
+	 * This method moves the progress on by a step whose results are not known yet, eg while the temperatures of a
+	 * round of ParallelTempering are planned. The errors and acceptance ratio are left as they were, and the step
+	 * does not count as one without improvement since nobody knows yet.
+	 * @param temperature - the temperature the step will run at.
+	 * @param evaluations - the evaluations that will have been done by the end of it.
+	 */
+	void advance(double temperature, long evaluations) {
+		step++;
+		this.temperature = temperature;
+		this.evaluations = evaluations;
+	}
+
+	/**
+	 * This method makes this progress the same as another one.
+	 */
+	void copyFrom(AnnealingProgress other) {
+		this.step = other.step;
+		this.evaluations = other.evaluations;
+		this.temperature = other.temperature;
+		this.currentError = other.currentError;
+		this.bestError = other.bestError;
+		this.acceptanceRatio = other.acceptanceRatio;
+		this.stepsSinceImprovement = other.stepsSinceImprovement;
+		this.startNanos = other.startNanos;
+	}
+
+	/**
+	 * This method writes the progress into a checkpoint. The time taken so far is kept, not the clock, so a resumed
+	 * run carries on counting from it.
+	 */
+	void writeState(DataOutput out) throws IOException {
+		out.writeLong(step);
+		out.writeLong(evaluations);
+		out.writeDouble(temperature);
+		out.writeDouble(currentError);
+		out.writeDouble(bestError);
+		out.writeDouble(acceptanceRatio);
+		out.writeLong(stepsSinceImprovement);
+		out.writeLong(getElapsedNanos());
+	}
+
+	void readState(DataInput in) throws IOException {
+		step = in.readLong();
+		evaluations = in.readLong();
+		temperature = in.readDouble();
+		currentError = in.readDouble();
+		bestError = in.readDouble();
+		acceptanceRatio = in.readDouble();
+		stepsSinceImprovement = in.readLong();
+		startNanos = System.nanoTime() - in.readLong();
+	}
+
+	/**
+	 * How many temperature steps have finished.
+	 */
+	public long getStep() {
+		return step;
+	}
+
+	public long getEvaluations() {
+		return evaluations;
+	}
+
+	public double getTemperature() {
+		return temperature;
+	}
+
+	public double getCurrentError() {
+		return currentError;
+	}
+
+	public double getBestError() {
+		return bestError;
+	}
+
+	public double getAcceptanceRatio() {
+		return acceptanceRatio;
+	}
+
+	/**
+	 * How many steps in a row have finished without the best error getting any smaller.
+	 */
+	public long getStepsSinceImprovement() {
+		return stepsSinceImprovement;
+	}
+
+	public long getElapsedNanos() {
+		return System.nanoTime() - startNanos;
+	}
+}
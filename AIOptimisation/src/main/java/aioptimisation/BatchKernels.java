@@ -0,0 +1,17 @@
+package aioptimisation;
+
+/**
+ * The batch versions of the problem functions. Every kernel evaluates the points from (inclusive) to (exclusive),
+ * reading the inputs of point i from xs[i] and ys[i] and writing its output to out[i].
+ * See ProblemFunctions for how the implementation is picked.
+ */
+interface BatchKernels {
+
+	void function1(double xs[], double out[], int from, int to);
+
+	void function2(double xs[], double ys[], double out[], int from, int to);
+
+	void holderTableFunction(double xs[], double ys[], double out[], int from, int to);
+
+	void eggFunction(double xs[], double ys[], double out[], int from, int to);
+}
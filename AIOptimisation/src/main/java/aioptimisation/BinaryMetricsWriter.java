@@ -0,0 +1,119 @@
+package aioptimisation;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+public class BinaryMetricsWriter implements MetricsSink {
+
+	private static final int MAGIC = 0x41494f4d;
+	private static final int VERSION = 1;
+
+	private Path path;
+	private int decimation;
+	private DataOutputStream out;
+	private long offered;
+
+	public BinaryMetricsWriter(Path path) {
+		this(path, 1);
+	}
+
+	/**
+	 * This constructor streams records to a compact binary file. The file starts with a header holding
+	 * the series names, then each record is the step as a long followed by one double per series.
+	 * @param path - the file to write, it is replaced if it already exists.
+	 * @param decimation - only every nth record is written, 1 writes them all.
+	 */
+	public BinaryMetricsWriter(Path path, int decimation) {
+		if(decimation < 1) {
+			throw new IllegalArgumentException("decimation must be at least 1");
+		}
+		this.path = path;
+		this.decimation = decimation;
+	}
+
+	@Override
+	public void start(String series[]) {
+		try {
+			out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path), 1 << 16));
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+			out.writeInt(series.length);
+			for(String name : series) {
+				out.writeUTF(name);
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException("Could not open " + path, e);
+		}
+		offered = 0;
+	}
+
+	@Override
+	public void record(long step, double values[]) {
+		if(offered++ % decimation != 0) {
+			return;
+		}
+		try {
+			out.writeLong(step);
+			for(double value : values) {
+				out.writeDouble(value);
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException("Could not write to " + path, e);
+		}
+	}
+
+	@Override
+	public void close() {
+		if(out == null) {
+			return;
+		}
+		try {
+			out.close();
+		} catch (IOException e) {
+			throw new UncheckedIOException("Could not close " + path, e);
+		} finally {
+			out = null;
+		}
+	}
+
+	/**
+	 * This method reads a file written by this class back and replays it into another sink, eg a MetricsBuffer
+	 * to chart it. The sink is started and closed.
+	 * @param path - the file to read.
+	 * @param sink - where to send the records.
+	 * @throws IOException if the file cannot be read or is not a metrics file.
+	 */
+	public static void read(Path path, MetricsSink sink) throws IOException {
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path), 1 << 16))) {
+			if(in.readInt() != MAGIC || in.readInt() != VERSION) {
+				throw new IOException(path + " is not a metrics file");
+			}
+			String series[] = new String[in.readInt()];
+			for(int s = 0; s < series.length; s++) {
+				series[s] = in.readUTF();
+			}
+			sink.start(series);
+			double values[] = new double[series.length];
+			while(true) {
+				long step;
+				try {
+					step = in.readLong();
+				} catch (EOFException e) {
+					break;
+				}
+				for(int s = 0; s < values.length; s++) {
+					values[s] = in.readDouble();
+				}
+				sink.record(step, values);
+			}
+			sink.close();
+		}
+	}
+}
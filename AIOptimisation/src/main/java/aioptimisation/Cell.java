@@ -1,3 +1,5 @@
+package aioptimisation;
+
 import java.util.concurrent.ThreadLocalRandom;
 
 public class Cell {
@@ -21,6 +23,17 @@ public class Cell {
 		randomInit(minRange, maxRange);
 	}
 	
+	/**
+	 * This constructor wraps inputs that have already been evaluated. It is used to report on a cell
+	 * held in a CellStore.
+	 * @param input - the inputs of the cell, copied.
+	 * @param affinity - the output of the function for those inputs.
+	 */
+	public Cell(double input[], double affinity) {
+		this.setInput(input);
+		this.setAffinity(affinity);
+	}
+	
 	/**
 	 * This method inserts random values for the input/inputs depending on whether
 	 * there is 1 or 2 dimensions.
@@ -0,0 +1,265 @@
+package aioptimisation;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
+
+public class CellStore {
+
+	private int size;
+	private int dimensions;
+	//Every cell's inputs laid out one after another, cell i starts at i * dimensions.
+	private double inputs[];
+	private double affinities[];
+	//Second set of arrays the cells are copied into when they are reordered, then the two are swapped.
+	private double spareInputs[];
+	private double spareAffinities[];
+	//Set for every cell whose inputs have changed since its affinity was worked out, moved along with the cells.
+	private boolean dirty[];
+	private boolean spareDirty[];
+	private int order[];
+
+	/**
+	 * This constructor allocates one contiguous block for all the inputs of the population and
+	 * one for the affinities, so the whole population is two primitive arrays instead of one object per cell.
+	 * @param size - the amount of cells in the population.
+	 * @param dimensions - how many inputs each cell has.
+	 */
+	public CellStore(int size, int dimensions) {
+		this.size = size;
+		this.dimensions = dimensions;
+		this.inputs = new double[size * dimensions];
+		this.affinities = new double[size];
+		this.spareInputs = new double[size * dimensions];
+		this.spareAffinities = new double[size];
+		this.dirty = new boolean[size];
+		this.spareDirty = new boolean[size];
+		this.order = new int[size];
+		java.util.Arrays.fill(dirty, true);
+	}
+
+	/**
+	 * This method inserts random values for every input of one cell.
+	 * @param cell - index of the cell.
+	 * @param minRange - lower bound of range for function.
+	 * @param maxRange - upper bound of range for function.
+	 */
+	public void randomInit(int cell, double minRange, double maxRange) {
+		randomInit(cell, minRange, maxRange, ThreadLocalRandom.current());
+	}
+
+	/**
+	 * This method inserts random values for every input of one cell, drawn from the given generator.
+	 * @param cell - index of the cell.
+	 * @param minRange - lower bound of range for function.
+	 * @param maxRange - upper bound of range for function.
+	 * @param rnd - the random number generator to use.
+	 */
+	public void randomInit(int cell, double minRange, double maxRange, RandomGenerator rnd) {
+		RandomStreams.fill(rnd, inputs, offset(cell), offset(cell) + dimensions, minRange, maxRange);
+		dirty[cell] = true;
+	}
+
+	/**
+	 * This method inserts random values for every input of one cell, each input between its own bounds.
+	 * @param cell - index of the cell.
+	 * @param lowerBounds - lower bound of each input.
+	 * @param upperBounds - upper bound of each input.
+	 * @param rnd - the random number generator to use.
+	 */
+	public void randomInit(int cell, double lowerBounds[], double upperBounds[], RandomGenerator rnd) {
+		RandomStreams.fill(rnd, inputs, offset(cell), 1, lowerBounds, upperBounds);
+		dirty[cell] = true;
+	}
+
+	/**
+	 * This method inserts random values for every input of every cell in one go, the same values as calling
+	 * randomInit on each cell from the first to the last.
+	 * @param lowerBounds - lower bound of each input.
+	 * @param upperBounds - upper bound of each input.
+	 * @param rnd - the random number generator to use.
+	 */
+	public void randomInit(double lowerBounds[], double upperBounds[], RandomGenerator rnd) {
+		RandomStreams.fill(rnd, inputs, 0, size, lowerBounds, upperBounds);
+		java.util.Arrays.fill(dirty, 0, size, true);
+	}
+
+	/**
+	 * This method orders the cells by affinity, lowest first. Only an int array of indexes is sorted,
+	 * the cells are then copied across in one pass into the spare arrays which become the live ones.
+	 */
+	public void sortByAffinity() {
+		for(int i = 0; i < size; i++) {
+			order[i] = i;
+		}
+		IndexSort.sort(order, affinities, 0, size);
+		applyOrder();
+	}
+
+	/**
+	 * This method only orders the cells as much as the boundaries ask for. After it, every cell before a boundary
+	 * has an affinity less than or equal to every cell after it, but cells between two boundaries are in no
+	 * particular order. With a boundary at 1 the best cell is always first.
+	 * @param boundaries - positions to split the population at, in ascending order.
+	 * @param count - how many of the boundaries to use.
+	 */
+	public void rankAt(int boundaries[], int count) {
+		for(int i = 0; i < size; i++) {
+			order[i] = i;
+		}
+		IndexSort.select(order, affinities, 0, size, boundaries, 0, count);
+		applyOrder();
+	}
+
+	/**
+	 * This method moves the cells into the order currently held in the order array,
+	 * so that cell order[i] becomes cell i.
+	 */
+	void applyOrder() {
+		for(int i = 0; i < size; i++) {
+			int from = order[i];
+			System.arraycopy(inputs, from * dimensions, spareInputs, i * dimensions, dimensions);
+			spareAffinities[i] = affinities[from];
+			spareDirty[i] = dirty[from];
+		}
+		double swapInputs[] = inputs;
+		inputs = spareInputs;
+		spareInputs = swapInputs;
+		double swapAffinities[] = affinities;
+		affinities = spareAffinities;
+		spareAffinities = swapAffinities;
+		boolean swapDirty[] = dirty;
+		dirty = spareDirty;
+		spareDirty = swapDirty;
+	}
+
+	/**
+	 * This method writes every cell, its affinity and whether it is dirty into a checkpoint.
+	 */
+	void writeState(DataOutput out) throws IOException {
+		Checkpoint.writeDoubles(out, inputs, size * dimensions);
+		Checkpoint.writeDoubles(out, affinities, size);
+		for(int i = 0; i < size; i++) {
+			out.writeBoolean(dirty[i]);
+		}
+	}
+
+	/**
+	 * This method reads back the cells written by writeState, the store has to be the same size.
+	 */
+	void readState(DataInput in) throws IOException {
+		Checkpoint.readDoubles(in, inputs);
+		Checkpoint.readDoubles(in, affinities);
+		for(int i = 0; i < size; i++) {
+			dirty[i] = in.readBoolean();
+		}
+	}
+
+	/**
+	 * This method copies one cell out of the store so it can be printed or reported on.
+	 * Changing the returned cell does not change the store.
+	 * @param cell - index of the cell.
+	 * @return a cell holding a copy of the inputs and the affinity.
+	 */
+	public Cell toCell(int cell) {
+		int offset = offset(cell);
+		return new Cell(java.util.Arrays.copyOfRange(inputs, offset, offset + dimensions), affinities[cell]);
+	}
+
+	public int offset(int cell) {
+		return cell * dimensions;
+	}
+
+	public double getInput(int cell, int dimension) {
+		return inputs[cell * dimensions + dimension];
+	}
+
+	public void setInput(int cell, int dimension, double value) {
+		inputs[cell * dimensions + dimension] = value;
+		dirty[cell] = true;
+	}
+
+	public double getAffinity(int cell) {
+		return affinities[cell];
+	}
+
+	/**
+	 * Sets the affinity of a cell and marks it as clean, so it is only right if the affinity is for the current inputs.
+	 */
+	public void setAffinity(int cell, double affinity) {
+		affinities[cell] = affinity;
+		dirty[cell] = false;
+	}
+
+	/**
+	 * Whether the inputs of a cell have changed since its affinity was set, so it needs evaluating again.
+	 * Every cell starts dirty.
+	 */
+	public boolean isDirty(int cell) {
+		return dirty[cell];
+	}
+
+	/**
+	 * This method marks a cell as needing evaluating again. Anything that writes straight into the inputs array
+	 * has to call it for every cell it changes, setInput and randomInit do it themselves.
+	 */
+	public void markDirty(int cell) {
+		dirty[cell] = true;
+	}
+
+	/**
+	 * This method marks a cell as evaluated, after its affinity has been written straight into the affinities array.
+	 */
+	public void markClean(int cell) {
+		dirty[cell] = false;
+	}
+
+	/**
+	 * This method marks every cell as needing evaluating again, eg after the objective function has changed.
+	 */
+	public void markAllDirty() {
+		java.util.Arrays.fill(dirty, 0, size, true);
+	}
+
+	/**
+	 * How many cells need evaluating again.
+	 */
+	public int countDirty() {
+		int count = 0;
+		for(int i = 0; i < size; i++) {
+			if(dirty[i]) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * The live inputs array. It is swapped out every time the cells are sorted so do not hold on to it
+	 * across a call to sortByAffinity. Cells changed through it have to be marked dirty.
+	 */
+	public double[] getInputs() {
+		return inputs;
+	}
+
+	/**
+	 * The live affinities array. Same as getInputs, it changes after every sort.
+	 */
+	public double[] getAffinities() {
+		return affinities;
+	}
+
+	int[] getOrder() {
+		return order;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public int getDimensions() {
+		return dimensions;
+	}
+}
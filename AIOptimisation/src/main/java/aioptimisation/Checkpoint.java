@@ -0,0 +1,154 @@
+package aioptimisation;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.random.RandomGenerator;
+import java.util.zip.CRC32;
+
+public class Checkpoint {
+
+	private static final int MAGIC = 0x41494350;
+	//2 added the archive of the surrogate.
+	private static final int VERSION = 2;
+
+	/**
+	 * Writes the state of a run, see write.
+	 */
+	public interface State {
+		void write(DataOutput out) throws IOException;
+	}
+
+	/**
+	 * This method writes a checkpoint so that a crash never leaves a half written file behind. The state is written
+	 * to a file next to the checkpoint through a FileChannel, forced to disk and then renamed over the old checkpoint
+	 * in one atomic move, so the file at path is always either the old checkpoint or the new one.
+	 * The file is a header (magic number, version, kind, length and CRC32 of the state) followed by the state.
+	 * @param path - the checkpoint file.
+	 * @param kind - what wrote the checkpoint, eg "population", checked when it is read back.
+	 * @param state - writes the state.
+	 * @throws IOException if the file cannot be written.
+	 */
+	public static void write(Path path, String kind, State state) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream(1 << 12);
+		DataOutputStream out = new DataOutputStream(bytes);
+		state.write(out);
+		out.flush();
+		byte payload[] = bytes.toByteArray();
+		CRC32 crc = new CRC32();
+		crc.update(payload);
+		byte name[] = kind.getBytes(StandardCharsets.UTF_8);
+		ByteBuffer header = ByteBuffer.allocate(4 + 4 + 4 + name.length + 4 + 8);
+		header.putInt(MAGIC).putInt(VERSION).putInt(name.length).put(name).putInt(payload.length).putLong(crc.getValue());
+		header.flip();
+		ByteBuffer buffers[] = {header, ByteBuffer.wrap(payload)};
+		Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+		try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING)) {
+			while(buffers[1].hasRemaining()) {
+				channel.write(buffers);
+			}
+			channel.force(true);
+		}
+		try {
+			Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+		} catch (AtomicMoveNotSupportedException e) {
+			Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+		}
+	}
+
+	/**
+	 * This method reads a checkpoint back and checks it is whole and of the right kind.
+	 * @param path - the checkpoint file.
+	 * @param kind - the kind it was written with.
+	 * @return the state, to be read in the same order it was written.
+	 * @throws IOException if the file cannot be read, is not a checkpoint, is of another kind or is corrupt.
+	 */
+	public static DataInput read(Path path, String kind) throws IOException {
+		ByteBuffer file;
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			if(channel.size() > Integer.MAX_VALUE) {
+				throw new IOException(path + " is not a checkpoint");
+			}
+			file = ByteBuffer.allocate((int) channel.size());
+			while(file.hasRemaining() && channel.read(file) >= 0) {
+			}
+			file.flip();
+		}
+		if(file.remaining() < 12 || file.getInt() != MAGIC || file.getInt() != VERSION) {
+			throw new IOException(path + " is not a checkpoint");
+		}
+		int nameLength = file.getInt();
+		if(nameLength < 0 || nameLength > file.remaining() - 12) {
+			throw new IOException(path + " is not a checkpoint");
+		}
+		byte name[] = new byte[nameLength];
+		file.get(name);
+		String found = new String(name, StandardCharsets.UTF_8);
+		if(!found.equals(kind)) {
+			throw new IOException(path + " is a checkpoint of " + found + ", not " + kind);
+		}
+		int length = file.getInt();
+		long expected = file.getLong();
+		if(length != file.remaining()) {
+			throw new IOException(path + " is truncated");
+		}
+		byte payload[] = new byte[length];
+		file.get(payload);
+		CRC32 crc = new CRC32();
+		crc.update(payload);
+		if(crc.getValue() != expected) {
+			throw new IOException(path + " is corrupt");
+		}
+		return new DataInputStream(new ByteArrayInputStream(payload));
+	}
+
+	/**
+	 * This method writes the state of a generator. Only a SplitMixRandom can be saved, it is what seeded runs use.
+	 */
+	static void writeRandom(DataOutput out, RandomGenerator rnd) throws IOException {
+		if(!(rnd instanceof SplitMixRandom)) {
+			throw new IllegalStateException("only a SplitMixRandom can be checkpointed");
+		}
+		out.writeLong(((SplitMixRandom) rnd).getSeed());
+		out.writeLong(((SplitMixRandom) rnd).getGamma());
+	}
+
+	static SplitMixRandom readRandom(DataInput in) throws IOException {
+		SplitMixRandom rnd = new SplitMixRandom(0);
+		rnd.setState(in.readLong(), in.readLong());
+		return rnd;
+	}
+
+	static void writeDoubles(DataOutput out, double values[], int count) throws IOException {
+		out.writeInt(count);
+		for(int i = 0; i < count; i++) {
+			out.writeDouble(values[i]);
+		}
+	}
+
+	/**
+	 * This method reads doubles written by writeDoubles into an array that has to be exactly the right length.
+	 */
+	static void readDoubles(DataInput in, double values[]) throws IOException {
+		int count = in.readInt();
+		if(count != values.length) {
+			throw new IOException("checkpoint holds " + count + " values where " + values.length + " were expected");
+		}
+		for(int i = 0; i < count; i++) {
+			values[i] = in.readDouble();
+		}
+	}
+}
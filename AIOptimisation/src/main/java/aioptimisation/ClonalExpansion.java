@@ -0,0 +1,188 @@
+package aioptimisation;
+
+import java.util.random.RandomGenerator;
+
+public class ClonalExpansion {
+
+	private double cloneFactor;
+	private double mutationDecay;
+	private double mutationScale = 0.1;
+	private long evaluations;
+	//Buffers the clones are written into, only reallocated when more clones are needed than last generation.
+	private int rank[] = new int[0];
+	private int cloneCounts[] = new int[0];
+	private double mutationRates[] = new double[0];
+	private double cloneInputs[] = new double[0];
+	private double cloneAffinities[] = new double[0];
+
+	/**
+	 * This constructor uses a clone factor of 0.3 and a mutation decay of 5. With a clone rate of 0.1 the best 10% of
+	 * the population make about as many clones each generation as there are cells, so a generation costs about as many
+	 * evaluations as one of the original algorithm.
+	 */
+	public ClonalExpansion() {
+		this(0.3, 5);
+	}
+
+	/**
+	 * This constructor creates the cloning and hypermutation step of CLONALG (de Castro and Von Zuben). Every generation
+	 * the best cells are cloned, the cell ranked i (from 1) gets round(cloneFactor * populationSize / i) clones so the best
+	 * get the most. Every clone is mutated by a Gaussian step of mutationScale * range * exp(-mutationDecay * a), where a is
+	 * the affinity of its parent scaled from 0 for the worst cloned cell to 1 for the best, so good cells are only
+	 * nudged and poor ones moved a long way. A parent is then replaced by its best clone if the clone is better.
+	 * @param cloneFactor - how many clones to make, relative to the size of the population.
+	 * @param mutationDecay - how much smaller the mutation of the best cell is than the worst, eg 5 is about 150 times.
+	 */
+	public ClonalExpansion(double cloneFactor, double mutationDecay) {
+		if(!(cloneFactor > 0) || !(mutationDecay >= 0)) {
+			throw new IllegalArgumentException("cloneFactor must be above 0 and mutationDecay at least 0");
+		}
+		this.cloneFactor = cloneFactor;
+		this.mutationDecay = mutationDecay;
+	}
+
+	/**
+	 * This method clones, mutates and evaluates the best cells of the population and puts the best clone of each back
+	 * in its parent's slot if it beats the parent. The clones are written into buffers kept from one generation to the
+	 * next so nothing is allocated once they are big enough. All the random numbers are drawn before the clones are
+	 * evaluated, so with an evaluator the result is the same whatever the thread count.
+	 * The parents have to be in front of the rest of the population, which they are after ranking, but do not have
+	 * to be in order among themselves.
+	 * @param cells - the population, ranked.
+	 * @param selected - how many of the best cells to clone.
+	 * @param objective - the function to minimise.
+	 * @param lowerBounds - lower bound of each input.
+	 * @param upperBounds - upper bound of each input.
+	 * @param rnd - the random number generator to mutate with.
+	 * @param evaluator - evaluates the clones across threads, or null to evaluate them on the calling thread.
+	 * @return how many clones were evaluated.
+	 */
+	public int expand(CellStore cells, int selected, ObjectiveFunction objective, double lowerBounds[], double upperBounds[],
+			RandomGenerator rnd, ParallelEvaluator evaluator) {
+		int parents = Math.max(0, Math.min(selected, cells.size()));
+		if(parents == 0) {
+			return 0;
+		}
+		int dims = cells.getDimensions();
+		double inputs[] = cells.getInputs();
+		double affinities[] = cells.getAffinities();
+		int total = plan(parents, cells.size(), affinities);
+		if(cloneInputs.length < total * dims) {
+			cloneInputs = new double[total * dims];
+			cloneAffinities = new double[total];
+		}
+		int clone = 0;
+		for(int r = 0; r < parents; r++) {
+			int parent = rank[r];
+			double step = mutationScale * mutationRates[r];
+			for(int c = 0; c < cloneCounts[r]; c++, clone++) {
+				mutate(inputs, parent * dims, cloneInputs, clone * dims, dims, step, lowerBounds, upperBounds, rnd);
+			}
+		}
+		double buffer[] = cloneInputs;
+		double results[] = cloneAffinities;
+		ParallelEvaluator.RangeTask task = (from, to) -> objective.evaluateBatch(buffer, from, to, results);
+		if(evaluator != null) {
+			evaluator.forEach(total, task);
+		} else {
+			task.run(0, total);
+		}
+		evaluations += total;
+		clone = 0;
+		for(int r = 0; r < parents; r++) {
+			int parent = rank[r];
+			int best = -1;
+			double bestAffinity = affinities[parent];
+			for(int c = 0; c < cloneCounts[r]; c++, clone++) {
+				if(results[clone] < bestAffinity) {
+					best = clone;
+					bestAffinity = results[clone];
+				}
+			}
+			if(best >= 0) {
+				System.arraycopy(buffer, best * dims, inputs, parent * dims, dims);
+				affinities[parent] = bestAffinity;
+				cells.markClean(parent);
+			}
+		}
+		return total;
+	}
+
+	/**
+	 * This method ranks the parents and works out how many clones each one gets and how far they are mutated.
+	 * Only an index array is sorted, the cells stay where they are.
+	 * @return the amount of clones in total.
+	 */
+	private int plan(int parents, int populationSize, double affinities[]) {
+		if(rank.length < parents) {
+			rank = new int[parents];
+			cloneCounts = new int[parents];
+			mutationRates = new double[parents];
+		}
+		for(int i = 0; i < parents; i++) {
+			rank[i] = i;
+		}
+		IndexSort.sort(rank, affinities, 0, parents);
+		double best = affinities[rank[0]];
+		double worst = affinities[rank[parents - 1]];
+		double spread = worst - best;
+		int total = 0;
+		for(int r = 0; r < parents; r++) {
+			cloneCounts[r] = Math.max(1, (int) Math.round(cloneFactor * populationSize / (r + 1)));
+			double scaled = spread > 0 ? (worst - affinities[rank[r]]) / spread : 1;
+			mutationRates[r] = Math.exp(-mutationDecay * scaled);
+			total += cloneCounts[r];
+		}
+		return total;
+	}
+
+	private static void mutate(double from[], int fromOffset, double to[], int toOffset, int dims, double step,
+			double lowerBounds[], double upperBounds[], RandomGenerator rnd) {
+		for(int d = 0; d < dims; d++) {
+			double lower = lowerBounds[d];
+			double upper = upperBounds[d];
+			double value = from[fromOffset + d] + rnd.nextGaussian() * step * (upper - lower);
+			//Reflected back off the bound it went past, then clamped in case it went past both.
+			if(value < lower) {
+				value = lower + (lower - value);
+			} else if(value > upper) {
+				value = upper - (value - upper);
+			}
+			to[toOffset + d] = Math.max(lower, Math.min(upper, value));
+		}
+	}
+
+	/**
+	 * How many clones have been evaluated since the expansion was created.
+	 */
+	public long getEvaluations() {
+		return evaluations;
+	}
+
+	void setEvaluations(long evaluations) {
+		this.evaluations = evaluations;
+	}
+
+	public double getCloneFactor() {
+		return cloneFactor;
+	}
+
+	public double getMutationDecay() {
+		return mutationDecay;
+	}
+
+	public double getMutationScale() {
+		return mutationScale;
+	}
+
+	/**
+	 * The standard deviation of the mutation of the worst cloned cell, as a fraction of the range of each input.
+	 * The best cell is mutated by exp(-mutationDecay) times this.
+	 */
+	public void setMutationScale(double mutationScale) {
+		if(!(mutationScale > 0)) {
+			throw new IllegalArgumentException("mutationScale must be above 0");
+		}
+		this.mutationScale = mutationScale;
+	}
+}
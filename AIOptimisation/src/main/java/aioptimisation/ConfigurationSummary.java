@@ -0,0 +1,88 @@
+package aioptimisation;
+
+import java.util.Arrays;
+import java.util.List;
+
+public class ConfigurationSummary {
+
+	private String configuration;
+	private int runs;
+	private int reliableRuns;
+	private double meanError;
+	private double medianError;
+	private double meanWallMillis;
+	private double totalWallMillis;
+
+	/**
+	 * This constructor aggregates the repeats of one configuration.
+	 * @param configuration - the configuration the results share.
+	 * @param results - every run of that configuration.
+	 */
+	public ConfigurationSummary(String configuration, List<ExperimentResult> results) {
+		this.configuration = configuration;
+		this.runs = results.size();
+		double errors[] = new double[runs];
+		long wallNanos = 0;
+		for(int i = 0; i < runs; i++) {
+			ExperimentResult result = results.get(i);
+			errors[i] = result.getError();
+			meanError += errors[i];
+			wallNanos += result.getWallNanos();
+			if(result.isReliable()) {
+				reliableRuns++;
+			}
+		}
+		meanError = runs > 0 ? meanError / runs : Double.NaN;
+		Arrays.sort(errors);
+		if(runs == 0) {
+			medianError = Double.NaN;
+		} else if(runs % 2 == 1) {
+			medianError = errors[runs / 2];
+		} else {
+			medianError = (errors[runs / 2 - 1] + errors[runs / 2]) / 2;
+		}
+		totalWallMillis = wallNanos / 1e6;
+		meanWallMillis = runs > 0 ? totalWallMillis / runs : Double.NaN;
+	}
+
+	/**
+	 * The fraction of runs that got within the target error, between 0 and 1.
+	 */
+	public double getReliability() {
+		return runs > 0 ? (double) reliableRuns / runs : 0;
+	}
+
+	public String getConfiguration() {
+		return configuration;
+	}
+
+	public int getRuns() {
+		return runs;
+	}
+
+	public int getReliableRuns() {
+		return reliableRuns;
+	}
+
+	public double getMeanError() {
+		return meanError;
+	}
+
+	public double getMedianError() {
+		return medianError;
+	}
+
+	public double getMeanWallMillis() {
+		return meanWallMillis;
+	}
+
+	public double getTotalWallMillis() {
+		return totalWallMillis;
+	}
+
+	@Override
+	public String toString() {
+		return configuration + ": reliability " + reliableRuns + "/" + runs + ", mean error " + meanError
+				+ ", median error " + medianError + ", mean time " + meanWallMillis + "ms";
+	}
+}
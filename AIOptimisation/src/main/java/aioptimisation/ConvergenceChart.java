@@ -0,0 +1,205 @@
+package aioptimisation;
+
+import java.awt.Rectangle;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jfree.chart.ChartFactory;
+import org.jfree.chart.ChartUtils;
+import org.jfree.chart.JFreeChart;
+import org.jfree.chart.plot.PlotOrientation;
+import org.jfree.data.xy.DefaultXYDataset;
+import org.jfree.data.xy.XYDataset;
+import org.jfree.svg.SVGGraphics2D;
+import org.jfree.svg.SVGUtils;
+
+public class ConvergenceChart {
+
+	//Points per series for a chart shown in a window, about the width of a large screen.
+	public static final int DEFAULT_POINT_BUDGET = 2000;
+
+	private String title;
+	private String xAxisLabel = "X-Axis";
+	private String yAxisLabel = "Y-Axis";
+	private Downsampler.Method method = Downsampler.Method.MIN_MAX_LTTB;
+	private List<Series> series = new ArrayList<Series>();
+
+	/**
+	 * This constructor creates an empty line chart of the errors of a run. Every series is downsampled to a budget
+	 * of points when the chart is drawn, so drawing costs the same however long the run was, and nothing needs a
+	 * screen: writePng and writeSvg draw off-screen and work with java.awt.headless=true.
+	 * @param title - the title drawn above the chart.
+	 */
+	public ConvergenceChart(String title) {
+		this.title = title;
+	}
+
+	/**
+	 * This method creates a chart of every series held by a metrics buffer, against the step they were recorded at.
+	 * The values are read straight out of the buffer so nothing is boxed.
+	 */
+	public static ConvergenceChart fromMetrics(String title, MetricsBuffer buffer) {
+		ConvergenceChart chart = new ConvergenceChart(title);
+		String names[] = buffer.getSeries();
+		int count = buffer.size();
+		double steps[] = new double[count];
+		for(int i = 0; i < count; i++) {
+			steps[i] = buffer.getStep(i);
+		}
+		for(int s = 0; s < names.length; s++) {
+			double values[] = new double[count];
+			for(int i = 0; i < count; i++) {
+				values[i] = buffer.get(s, i);
+			}
+			chart.addSeries(names[s], steps, values, count);
+		}
+		return chart;
+	}
+
+	/**
+	 * This method adds a series plotted against its index, eg one of the error lists of a run.
+	 */
+	public ConvergenceChart addSeries(String name, List<Double> values) {
+		int count = values.size();
+		double xs[] = new double[count];
+		double ys[] = new double[count];
+		for(int i = 0; i < count; i++) {
+			xs[i] = i;
+			ys[i] = values.get(i);
+		}
+		return addSeries(name, xs, ys, count);
+	}
+
+	/**
+	 * This method adds a series. The arrays are kept, not copied.
+	 * @param name - the name in the legend, it has to be different from the other series.
+	 * @param xs - x value of each point, in ascending order.
+	 * @param ys - y value of each point.
+	 * @param count - how many points of xs and ys to plot.
+	 */
+	public ConvergenceChart addSeries(String name, double xs[], double ys[], int count) {
+		if(count > xs.length || count > ys.length) {
+			throw new IllegalArgumentException("count is longer than the series");
+		}
+		series.add(new Series(name, xs, ys, count));
+		return this;
+	}
+
+	/**
+	 * This method downsamples every series to the point budget and creates the chart from them.
+	 * @param pointBudget - the most points drawn per series, eg the width of the chart in pixels.
+	 * @return the chart, to draw or show in a ChartPanel.
+	 */
+	public JFreeChart createChart(int pointBudget) {
+		return ChartFactory.createXYLineChart(title, xAxisLabel, yAxisLabel, createDataset(pointBudget), PlotOrientation.VERTICAL, true, true, false);
+	}
+
+	/**
+	 * This method downsamples every series to the point budget, eg to swap the data of a chart that is already shown.
+	 * @param pointBudget - the most points per series.
+	 * @return the downsampled series.
+	 */
+	public XYDataset createDataset(int pointBudget) {
+		DefaultXYDataset dataset = new DefaultXYDataset();
+		for(Series s : series) {
+			int size = Math.min(s.count, pointBudget);
+			double xs[] = new double[size];
+			double ys[] = new double[size];
+			int kept = Downsampler.downsample(method, s.xs, s.ys, s.count, pointBudget, xs, ys);
+			if(kept < size) {
+				double trimmedX[] = new double[kept];
+				double trimmedY[] = new double[kept];
+				System.arraycopy(xs, 0, trimmedX, 0, kept);
+				System.arraycopy(ys, 0, trimmedY, 0, kept);
+				xs = trimmedX;
+				ys = trimmedY;
+			}
+			dataset.addSeries(s.name, new double[][] {xs, ys});
+		}
+		return dataset;
+	}
+
+	/**
+	 * This method draws the chart off-screen into a PNG file, with one point per pixel column at most.
+	 * @param path - the file to write, it is replaced if it already exists.
+	 * @param width - width in pixels.
+	 * @param height - height in pixels.
+	 * @throws IOException if the file cannot be written.
+	 */
+	public void writePng(Path path, int width, int height) throws IOException {
+		ChartUtils.saveChartAsPNG(path.toFile(), createChart(Math.max(4, width)), width, height);
+	}
+
+	/**
+	 * This method draws the chart into an SVG file, with one point per unit of width at most.
+	 * @param path - the file to write, it is replaced if it already exists.
+	 * @param width - width of the drawing.
+	 * @param height - height of the drawing.
+	 * @throws IOException if the file cannot be written.
+	 */
+	public void writeSvg(Path path, int width, int height) throws IOException {
+		SVGGraphics2D graphics = new SVGGraphics2D(width, height);
+		createChart(Math.max(4, width)).draw(graphics, new Rectangle(0, 0, width, height));
+		SVGUtils.writeToSVG(path.toFile(), graphics.getSVGElement());
+	}
+
+	/**
+	 * This method turns a chart title into a file name, eg "Simulated Annealing - Function 1" into
+	 * "simulated-annealing-function-1" to which .png or .svg can be added.
+	 */
+	public static String fileName(String title) {
+		String name = title.toLowerCase().replaceAll("[^a-z0-9]+", "-").replaceAll("^-|-$", "");
+		return name.isEmpty() ? "chart" : name;
+	}
+
+	public String getTitle() {
+		return title;
+	}
+
+	public void setTitle(String title) {
+		this.title = title;
+	}
+
+	public String getXAxisLabel() {
+		return xAxisLabel;
+	}
+
+	public void setXAxisLabel(String xAxisLabel) {
+		this.xAxisLabel = xAxisLabel;
+	}
+
+	public String getYAxisLabel() {
+		return yAxisLabel;
+	}
+
+	public void setYAxisLabel(String yAxisLabel) {
+		this.yAxisLabel = yAxisLabel;
+	}
+
+	public Downsampler.Method getMethod() {
+		return method;
+	}
+
+	/**
+	 * How the series are cut down to the point budget, MIN_MAX_LTTB by default so spikes in the errors are kept.
+	 */
+	public void setMethod(Downsampler.Method method) {
+		this.method = method;
+	}
+
+	private static class Series {
+		private final String name;
+		private final double xs[];
+		private final double ys[];
+		private final int count;
+
+		Series(String name, double xs[], double ys[], int count) {
+			this.name = name;
+			this.xs = xs;
+			this.ys = ys;
+			this.count = count;
+		}
+	}
+}
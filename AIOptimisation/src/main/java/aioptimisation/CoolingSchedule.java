@@ -0,0 +1,128 @@
+package aioptimisation;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+public interface CoolingSchedule {
+
+	/**
+	 * Called once at the start of a run, so any state from the last run can be reset.
+	 * @param initialTemp - the starting temperature.
+	 */
+	default void start(double initialTemp) {
+	}
+
+	/**
+	 * This method works out the temperature after one temperature step.
+	 * @param temp - the temperature the step was run at.
+	 * @param progress - how the run is going, eg the acceptance ratio of the step that just finished.
+	 * @return the temperature for the next step.
+	 */
+	double next(double temp, AnnealingProgress progress);
+
+	/**
+	 * Whether the run is over at this temperature. Every schedule stops once the temperature drops to 1,
+	 * the same as the original loop.
+	 */
+	default boolean isFrozen(double temp, AnnealingProgress progress) {
+		return temp <= 1;
+	}
+
+	/**
+	 * A schedule for another run. Schedules that keep state return a new one, the others can return themselves.
+	 */
+	default CoolingSchedule copy() {
+		return this;
+	}
+
+	/**
+	 * This method writes the state the schedule keeps during a run into a checkpoint. Schedules without state write nothing.
+	 */
+	default void writeState(DataOutput out) throws IOException {
+	}
+
+	/**
+	 * This method reads back what writeState wrote, in place of start, when a run is resumed from a checkpoint.
+	 */
+	default void readState(DataInput in) throws IOException {
+	}
+
+	/**
+	 * The original schedule, the temperature is multiplied by 1 - coolingRate every step.
+	 */
+	static CoolingSchedule geometric(double coolingRate) {
+		if(!(coolingRate >= 0 && coolingRate <= 1)) {
+			throw new IllegalArgumentException("coolingRate must be between 0 and 1");
+		}
+		return new CoolingSchedule() {
+			@Override
+			public double next(double temp, AnnealingProgress progress) {
+				return temp * (1 - coolingRate);
+			}
+
+			@Override
+			public String toString() {
+				return "geometric(" + coolingRate + ")";
+			}
+		};
+	}
+
+	/**
+	 * The temperature at step k is T0 / (1 + c * ln(1 + k)). It cools very slowly near the end, so it is
+	 * meant to be used with a stop criterion, eg an evaluation budget. It drops to 1 after exp((T0 - 1) / c) steps.
+	 * @param c - how fast it cools, bigger is faster.
+	 */
+	static CoolingSchedule logarithmic(double c) {
+		if(!(c > 0)) {
+			throw new IllegalArgumentException("c must be above 0");
+		}
+		return new CoolingSchedule() {
+			private double initialTemp;
+
+			@Override
+			public void start(double initialTemp) {
+				this.initialTemp = initialTemp;
+			}
+
+			@Override
+			public double next(double temp, AnnealingProgress progress) {
+				return initialTemp / (1 + c * Math.log(1 + progress.getStep()));
+			}
+
+			@Override
+			public void writeState(DataOutput out) throws IOException {
+				out.writeDouble(initialTemp);
+			}
+
+			@Override
+			public void readState(DataInput in) throws IOException {
+				initialTemp = in.readDouble();
+			}
+
+			@Override
+			public CoolingSchedule copy() {
+				return logarithmic(c);
+			}
+
+			@Override
+			public String toString() {
+				return "logarithmic(" + c + ")";
+			}
+		};
+	}
+
+	/**
+	 * See LamCooling.
+	 */
+	static CoolingSchedule lam(long steps) {
+		return new LamCooling(steps);
+	}
+
+	/**
+	 * See ReheatingCooling.
+	 */
+	static CoolingSchedule reheating(CoolingSchedule base, int stagnationSteps, double reheatFactor) {
+		return new ReheatingCooling(base, stagnationSteps, reheatFactor);
+	}
+}
@@ -0,0 +1,83 @@
+package aioptimisation;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+public class CsvMetricsWriter implements MetricsSink {
+
+	private Path path;
+	private int decimation;
+	private BufferedWriter writer;
+	private StringBuilder line = new StringBuilder(128);
+	private long offered;
+
+	public CsvMetricsWriter(Path path) {
+		this(path, 1);
+	}
+
+	/**
+	 * This constructor streams records to a CSV file with a step column then one column per series.
+	 * Nothing is held in memory apart from the write buffer.
+	 * @param path - the file to write, it is replaced if it already exists.
+	 * @param decimation - only every nth record is written, 1 writes them all.
+	 */
+	public CsvMetricsWriter(Path path, int decimation) {
+		if(decimation < 1) {
+			throw new IllegalArgumentException("decimation must be at least 1");
+		}
+		this.path = path;
+		this.decimation = decimation;
+	}
+
+	@Override
+	public void start(String series[]) {
+		try {
+			writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8);
+			writer.write("step");
+			for(String name : series) {
+				writer.write(',');
+				writer.write(name);
+			}
+			writer.newLine();
+		} catch (IOException e) {
+			throw new UncheckedIOException("Could not open " + path, e);
+		}
+		offered = 0;
+	}
+
+	@Override
+	public void record(long step, double values[]) {
+		if(offered++ % decimation != 0) {
+			return;
+		}
+		line.setLength(0);
+		line.append(step);
+		for(double value : values) {
+			line.append(',').append(value);
+		}
+		try {
+			writer.append(line);
+			writer.newLine();
+		} catch (IOException e) {
+			throw new UncheckedIOException("Could not write to " + path, e);
+		}
+	}
+
+	@Override
+	public void close() {
+		if(writer == null) {
+			return;
+		}
+		try {
+			writer.close();
+		} catch (IOException e) {
+			throw new UncheckedIOException("Could not close " + path, e);
+		} finally {
+			writer = null;
+		}
+	}
+}
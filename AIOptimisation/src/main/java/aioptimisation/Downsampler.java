@@ -0,0 +1,141 @@
+package aioptimisation;
+
+public class Downsampler {
+
+	//How many points per output point the min/max pass keeps before LTTB picks from them.
+	private static final int MIN_MAX_RATIO = 4;
+
+	/**
+	 * How a series is cut down to the point budget. LTTB keeps the points that change the shape of the line the
+	 * most, MIN_MAX keeps the lowest and highest point of every bucket so no spike is ever lost, and MIN_MAX_LTTB
+	 * (MinMaxLTTB, Van Der Donckt et al.) runs LTTB over the min/max points of a few buckets per output point,
+	 * which is faster than LTTB on its own and keeps the spikes LTTB can skip over.
+	 */
+	public enum Method {
+		LTTB, MIN_MAX, MIN_MAX_LTTB
+	}
+
+	/**
+	 * This method cuts a series down to at most budget points in one pass over it. The first and last points
+	 * are always kept and the x values have to be in ascending order. A series that already fits is copied as is.
+	 * @param method - how the points are picked.
+	 * @param xs - x value of each point.
+	 * @param ys - y value of each point.
+	 * @param count - how many points of xs and ys to use.
+	 * @param budget - the most points to keep, at least 4, eg the width of the chart in pixels.
+	 * @param outX - receives the x values of the kept points, at least budget long.
+	 * @param outY - receives the y values of the kept points, at least budget long.
+	 * @return how many points were kept.
+	 */
+	public static int downsample(Method method, double xs[], double ys[], int count, int budget, double outX[], double outY[]) {
+		if(budget < 4) {
+			throw new IllegalArgumentException("budget must be at least 4");
+		}
+		if(count <= budget) {
+			System.arraycopy(xs, 0, outX, 0, count);
+			System.arraycopy(ys, 0, outY, 0, count);
+			return count;
+		}
+		switch(method) {
+		case LTTB:
+			return lttb(xs, ys, count, budget, outX, outY);
+		case MIN_MAX:
+			return minMax(xs, ys, count, budget / 2, outX, outY);
+		default:
+			int buckets = budget * MIN_MAX_RATIO / 2;
+			if(2 * buckets >= count) {
+				return lttb(xs, ys, count, budget, outX, outY);
+			}
+			double candidatesX[] = new double[2 * buckets];
+			double candidatesY[] = new double[2 * buckets];
+			int candidates = minMax(xs, ys, count, buckets, candidatesX, candidatesY);
+			return downsample(Method.LTTB, candidatesX, candidatesY, candidates, budget, outX, outY);
+		}
+	}
+
+	/**
+	 * This method is Largest Triangle Three Buckets (Steinarsson). The first and last points are kept and the rest
+	 * are split into threshold - 2 buckets of equal size. From each bucket the point that makes the biggest triangle
+	 * with the point kept from the bucket before and the average of the bucket after is kept.
+	 * @return how many points were kept, threshold.
+	 */
+	private static int lttb(double xs[], double ys[], int count, int threshold, double outX[], double outY[]) {
+		double bucketSize = (double) (count - 2) / (threshold - 2);
+		int kept = 0;
+		int previous = 0;
+		outX[kept] = xs[0];
+		outY[kept++] = ys[0];
+		for(int b = 0; b < threshold - 2; b++) {
+			int from = (int) (b * bucketSize) + 1;
+			int to = (int) ((b + 1) * bucketSize) + 1;
+			int nextTo = Math.min(count, (int) ((b + 2) * bucketSize) + 1);
+			//The last bucket is followed by the last point alone.
+			double averageX = 0;
+			double averageY = 0;
+			for(int i = to; i < nextTo; i++) {
+				averageX += xs[i];
+				averageY += ys[i];
+			}
+			averageX /= nextTo - to;
+			averageY /= nextTo - to;
+			double px = xs[previous];
+			double py = ys[previous];
+			int best = from;
+			double bestArea = -1;
+			for(int i = from; i < to; i++) {
+				//Twice the area, only the order matters.
+				double area = Math.abs((px - averageX) * (ys[i] - py) - (px - xs[i]) * (averageY - py));
+				if(area > bestArea) {
+					bestArea = area;
+					best = i;
+				}
+			}
+			outX[kept] = xs[best];
+			outY[kept++] = ys[best];
+			previous = best;
+		}
+		outX[kept] = xs[count - 1];
+		outY[kept++] = ys[count - 1];
+		return kept;
+	}
+
+	/**
+	 * This method splits the points between the first and last into buckets of equal size and keeps the lowest and
+	 * highest point of each, in the order they came in. The first and last points are always kept.
+	 * @return how many points were kept, at most 2 * buckets.
+	 */
+	private static int minMax(double xs[], double ys[], int count, int buckets, double outX[], double outY[]) {
+		int inner = buckets - 1;
+		double bucketSize = (double) (count - 2) / inner;
+		int kept = 0;
+		outX[kept] = xs[0];
+		outY[kept++] = ys[0];
+		for(int b = 0; b < inner; b++) {
+			int from = (int) (b * bucketSize) + 1;
+			int to = (int) ((b + 1) * bucketSize) + 1;
+			if(from >= to) {
+				continue;
+			}
+			int min = from;
+			int max = from;
+			for(int i = from + 1; i < to; i++) {
+				if(ys[i] < ys[min]) {
+					min = i;
+				} else if(ys[i] > ys[max]) {
+					max = i;
+				}
+			}
+			int first = Math.min(min, max);
+			int second = Math.max(min, max);
+			outX[kept] = xs[first];
+			outY[kept++] = ys[first];
+			if(second != first) {
+				outX[kept] = xs[second];
+				outY[kept++] = ys[second];
+			}
+		}
+		outX[kept] = xs[count - 1];
+		outY[kept++] = ys[count - 1];
+		return kept;
+	}
+}
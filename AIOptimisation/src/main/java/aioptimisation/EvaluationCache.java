@@ -0,0 +1,169 @@
+package aioptimisation;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class EvaluationCache implements ObjectiveFunction {
+
+	private ObjectiveFunction objective;
+	private int capacity;
+	private double quantum;
+	private LinkedHashMap<Key, Double> cache;
+	//Reused for every lookup while the lock is held, so a hit does not allocate.
+	private Key probe;
+	private long hits;
+	private long misses;
+
+	/**
+	 * This constructor wraps an objective function with a cache of the points it has already been evaluated at, for
+	 * when the objective is an expensive simulation and the optimiser comes back to the same points, eg annealing at a
+	 * low temperature. The least recently used point is dropped once the cache is full. Points are looked up by their
+	 * inputs rounded to a multiple of the quantum, so every point in the same small box shares one output. A quantum
+	 * of 0 only matches points that are exactly the same, so the outputs and seeded results are the same as without
+	 * the cache. A larger quantum gives every point in a box the output of the first one evaluated there, which changes
+	 * the outputs and so the results of seeded runs.
+	 * The cache is shared safely between threads. The function itself is run outside the lock so two threads can
+	 * evaluate different points at once.
+	 * @param objective - the function to cache.
+	 * @param capacity - the most points kept.
+	 * @param quantum - the size of the box points are rounded to, or 0 for exact matches only.
+	 */
+	public EvaluationCache(ObjectiveFunction objective, int capacity, double quantum) {
+		if(capacity < 1 || !(quantum >= 0)) {
+			throw new IllegalArgumentException("capacity must be at least 1 and quantum at least 0");
+		}
+		this.objective = objective;
+		this.capacity = capacity;
+		this.quantum = quantum;
+		this.probe = new Key(objective.getDimensions());
+		this.cache = new LinkedHashMap<Key, Double>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Key, Double> eldest) {
+				return size() > EvaluationCache.this.capacity;
+			}
+		};
+	}
+
+	/**
+	 * This method returns the cached output of the point if there is one, otherwise it runs the function and keeps the result.
+	 */
+	@Override
+	public double evaluate(double in[], int offset) {
+		synchronized(this) {
+			probe.set(in, offset, quantum);
+			Double cached = cache.get(probe);
+			if(cached != null) {
+				hits++;
+				return cached;
+			}
+			misses++;
+		}
+		double value = objective.evaluate(in, offset);
+		Key key = new Key(objective.getDimensions());
+		key.set(in, offset, quantum);
+		synchronized(this) {
+			cache.put(key, value);
+		}
+		return value;
+	}
+
+	/**
+	 * This method empties the cache and resets the counters, eg between runs.
+	 */
+	public synchronized void clear() {
+		cache.clear();
+		hits = 0;
+		misses = 0;
+	}
+
+	public synchronized long getHits() {
+		return hits;
+	}
+
+	public synchronized long getMisses() {
+		return misses;
+	}
+
+	/**
+	 * The fraction of lookups that were found in the cache.
+	 */
+	public synchronized double getHitRate() {
+		long lookups = hits + misses;
+		return lookups == 0 ? 0 : (double) hits / lookups;
+	}
+
+	public synchronized int size() {
+		return cache.size();
+	}
+
+	public int getCapacity() {
+		return capacity;
+	}
+
+	public double getQuantum() {
+		return quantum;
+	}
+
+	public ObjectiveFunction getObjective() {
+		return objective;
+	}
+
+	@Override
+	public String getName() {
+		return objective.getName();
+	}
+
+	@Override
+	public int getDimensions() {
+		return objective.getDimensions();
+	}
+
+	@Override
+	public double getLowerBound(int dimension) {
+		return objective.getLowerBound(dimension);
+	}
+
+	@Override
+	public double getUpperBound(int dimension) {
+		return objective.getUpperBound(dimension);
+	}
+
+	@Override
+	public double getOptimum() {
+		return objective.getOptimum();
+	}
+
+	/**
+	 * The inputs of a point rounded to the quantum, or their exact bits when the quantum is 0.
+	 */
+	private static class Key {
+		private final long coordinates[];
+		private int hash;
+
+		Key(int dimensions) {
+			this.coordinates = new long[dimensions];
+		}
+
+		void set(double in[], int offset, double quantum) {
+			for(int d = 0; d < coordinates.length; d++) {
+				double x = in[offset + d];
+				//+0.0 so that 0.0 and -0.0 are the same point.
+				coordinates[d] = quantum > 0 ? Math.round(x / quantum) : Double.doubleToLongBits(x + 0.0);
+			}
+			hash = Arrays.hashCode(coordinates);
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			return other instanceof Key && Arrays.equals(coordinates, ((Key) other).coordinates);
+		}
+	}
+}
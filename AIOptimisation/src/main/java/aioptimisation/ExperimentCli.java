@@ -0,0 +1,108 @@
+package aioptimisation;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class ExperimentCli {
+
+	private static final String USAGE = "usage: ExperimentCli <experiments.yaml|.json> [--output results.csv] [--threads n]";
+
+	/**
+	 * This method runs every experiment in a file without a window, so a sweep can run on a server and be changed
+	 * without recompiling, see ExperimentConfig for the file. The runs are spread over a fixed number of threads, one
+	 * per processor unless the file or --threads says otherwise, and every run is written to one CSV file as soon as
+	 * it finishes, see ExperimentResultWriter. The output defaults to the one in the file, or results.csv. At the end a
+	 * summary of every configuration is printed.
+	 * Exits with 2 for bad arguments and 1 if the file cannot be read or a run fails, printing why.
+	 * @param args - the experiment file then the options.
+	 */
+	public static void main(String[] args) {
+		Path configPath = null;
+		String output = null;
+		int threads = 0;
+		try {
+			for(int i = 0; i < args.length; i++) {
+				if(args[i].equals("--output") && i + 1 < args.length) {
+					output = args[++i];
+				} else if(args[i].equals("--threads") && i + 1 < args.length) {
+					threads = Integer.parseInt(args[++i]);
+				} else if(!args[i].startsWith("--") && configPath == null) {
+					configPath = Path.of(args[i]);
+				} else {
+					throw new IllegalArgumentException("unexpected argument " + args[i]);
+				}
+			}
+			if(configPath == null) {
+				throw new IllegalArgumentException("no experiment file");
+			}
+		} catch (IllegalArgumentException e) {
+			System.err.println(e.getMessage());
+			System.err.println(USAGE);
+			System.exit(2);
+		}
+		try {
+			ExperimentConfig config = ExperimentConfig.load(configPath);
+			if(threads <= 0) {
+				threads = config.getThreads() > 0 ? config.getThreads() : Runtime.getRuntime().availableProcessors();
+			}
+			if(output == null) {
+				output = config.getOutput() != null ? config.getOutput() : "results.csv";
+			}
+			run(config.getJobs(), threads, Path.of(output));
+		} catch (IOException | RuntimeException e) {
+			//A failed run only says that a job failed, the reason is in the causes.
+			String message = e.getMessage() != null ? e.getMessage() : e.toString();
+			for(Throwable cause = e.getCause(); cause != null; cause = cause.getCause()) {
+				String reason = cause.getMessage() != null ? cause.getMessage() : cause.toString();
+				if(!message.contains(reason)) {
+					message += ": " + reason;
+				}
+			}
+			System.err.println(message);
+			System.exit(1);
+		}
+	}
+
+	/**
+	 * This method runs the jobs and writes their results, printing how far it has got every tenth of the jobs.
+	 * @param jobs - the runs to do.
+	 * @param threads - how many runs at the same time.
+	 * @param output - the CSV file to write.
+	 * @return one summary per configuration.
+	 * @throws IOException if the output cannot be written.
+	 */
+	public static List<ConfigurationSummary> run(List<ExperimentJob> jobs, int threads, Path output) throws IOException {
+		System.out.println("Running " + jobs.size() + " runs on " + threads + " threads into " + output);
+		List<ExperimentResult> results = new ArrayList<ExperimentResult>(jobs.size());
+		int reportEvery = Math.max(1, jobs.size() / 10);
+		ExperimentRunner runner = new ExperimentRunner(threads);
+		try (ExperimentResultWriter writer = new ExperimentResultWriter(output, jobs)) {
+			runner.runEach(jobs, result -> {
+				writer.write(result);
+				results.add(result);
+				if(results.size() % reportEvery == 0 || results.size() == jobs.size()) {
+					writer.flush();
+					System.out.println(results.size() + "/" + jobs.size() + " runs done");
+				}
+			});
+		} finally {
+			runner.shutdown();
+		}
+		//Summarised in the order of the jobs, not the order they finished in.
+		Map<ExperimentJob, Integer> order = new IdentityHashMap<ExperimentJob, Integer>();
+		for(int i = 0; i < jobs.size(); i++) {
+			order.put(jobs.get(i), i);
+		}
+		results.sort(Comparator.comparing(result -> order.get(result.getJob())));
+		List<ConfigurationSummary> summaries = ExperimentRunner.summarise(results);
+		for(ConfigurationSummary summary : summaries) {
+			System.out.println(summary);
+		}
+		return summaries;
+	}
+}
@@ -0,0 +1,251 @@
+package aioptimisation;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import org.yaml.snakeyaml.LoaderOptions;
+import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.constructor.SafeConstructor;
+import org.yaml.snakeyaml.error.YAMLException;
+
+public class ExperimentConfig {
+
+	private static final Set<String> TOP_LEVEL_KEYS = Set.of("seed", "repeats", "threads", "output", "targetError", "experiments");
+	private static final Set<String> EXPERIMENT_KEYS = Set.of("algorithm", "function", "functions", "repeats", "targetError", "parameters");
+
+	private List<ExperimentJob> jobs = new ArrayList<ExperimentJob>();
+	private int threads;
+	private String output;
+
+	/**
+	 * This constructor expands an experiment file into the jobs it describes. The file looks like this, in YAML or
+	 * in JSON since YAML reads JSON too:
+	 * <pre>
+	 * seed: 42
+	 * repeats: 10
+	 * threads: 8
+	 * output: results.csv
+	 * experiments:
+	 *   - algorithm: simulated-annealing
+	 *     functions: [f1, egg]
+	 *     targetError: {f1: 0.0000025, egg: 5}
+	 *     parameters:
+	 *       temp: 2000
+	 *       coolingRate: [0.005, 0.0005]
+	 *       iterations: 10
+	 * </pre>
+	 * Each experiment runs every function with every combination of the parameters given as lists, repeats times.
+	 * The parameters are the ones ExperimentJob reads, any other name is rejected, true and false count as 1 and 0. The algorithm is
+	 * clonal-selection or simulated-annealing, in any case and with - or _ or nothing between the words.
+	 * targetError is one number for every function or one per function, set at the top or on an experiment, 0 by default.
+	 * Repeat r of every configuration gets the same seed, stream r of a RandomStreams with the master seed, so the
+	 * configurations are compared on the same random numbers. threads and output are only defaults, ExperimentCli
+	 * can override them.
+	 * @param document - the parsed file, keys to values.
+	 * @throws IllegalArgumentException if the file does not describe experiments, the message says where.
+	 */
+	public ExperimentConfig(Map<?, ?> document) {
+		checkKeys(document, TOP_LEVEL_KEYS, "the file");
+		Object seedValue = document.get("seed");
+		long seed = seedValue instanceof Long || seedValue instanceof Integer ? ((Number) seedValue).longValue()
+				: (long) number(seedValue, 0, "seed");
+		int repeats = Math.max(1, count(document.get("repeats"), 1, "repeats"));
+		threads = count(document.get("threads"), 0, "threads");
+		output = document.get("output") != null ? document.get("output").toString() : null;
+		Object experiments = document.get("experiments");
+		if(!(experiments instanceof List) || ((List<?>) experiments).isEmpty()) {
+			throw new IllegalArgumentException("experiments must be a list of at least one experiment");
+		}
+		RandomStreams streams = new RandomStreams(seed);
+		List<?> list = (List<?>) experiments;
+		for(int e = 0; e < list.size(); e++) {
+			String where = "experiment " + (e + 1);
+			if(!(list.get(e) instanceof Map)) {
+				throw new IllegalArgumentException(where + " must be a map");
+			}
+			Map<?, ?> experiment = (Map<?, ?>) list.get(e);
+			checkKeys(experiment, EXPERIMENT_KEYS, where);
+			ExperimentJob.Algorithm algorithm = algorithm(experiment.get("algorithm"), where);
+			int experimentRepeats = Math.max(1, count(experiment.get("repeats"), repeats, where + " repeats"));
+			Object targetError = experiment.containsKey("targetError") ? experiment.get("targetError") : document.get("targetError");
+			List<Map<String, Double>> grid = grid(experiment.get("parameters"), where);
+			for(String name : functions(experiment, where)) {
+				ObjectiveFunction function = ObjectiveFunctions.get(name);
+				double target = targetError(targetError, name, where);
+				for(Map<String, Double> parameters : grid) {
+					for(int r = 0; r < experimentRepeats; r++) {
+						jobs.add(new ExperimentJob(algorithm, function, parameters, streams.stream("repeat", r).nextLong(), target));
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * This method reads an experiment file, see the constructor.
+	 * @param path - the YAML or JSON file.
+	 * @return the experiments.
+	 * @throws IOException if the file cannot be read.
+	 * @throws IllegalArgumentException if the file is not valid YAML or does not describe experiments.
+	 */
+	public static ExperimentConfig load(Path path) throws IOException {
+		try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+			return parse(reader);
+		} catch (IllegalArgumentException e) {
+			throw new IllegalArgumentException(path + ": " + e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * This method parses an experiment from YAML or JSON text. Only plain maps, lists, strings and numbers are
+	 * created, never other classes.
+	 */
+	public static ExperimentConfig parse(Reader reader) {
+		Object document;
+		try {
+			document = new Yaml(new SafeConstructor(new LoaderOptions())).load(reader);
+		} catch (YAMLException e) {
+			throw new IllegalArgumentException("not valid YAML or JSON: " + e.getMessage(), e);
+		}
+		if(!(document instanceof Map)) {
+			throw new IllegalArgumentException("the file must be a map with an experiments list");
+		}
+		return new ExperimentConfig((Map<?, ?>) document);
+	}
+
+	private static void checkKeys(Map<?, ?> map, Set<String> known, String where) {
+		for(Object key : map.keySet()) {
+			if(!known.contains(String.valueOf(key))) {
+				throw new IllegalArgumentException("unknown key " + key + " in " + where + ", expected one of " + new TreeSet<String>(known));
+			}
+		}
+	}
+
+	private static ExperimentJob.Algorithm algorithm(Object value, String where) {
+		if(value == null) {
+			throw new IllegalArgumentException(where + " has no algorithm");
+		}
+		String name = value.toString().replaceAll("[^A-Za-z]", "");
+		for(ExperimentJob.Algorithm algorithm : ExperimentJob.Algorithm.values()) {
+			if(algorithm.name().replace("_", "").equalsIgnoreCase(name)) {
+				return algorithm;
+			}
+		}
+		throw new IllegalArgumentException(where + " has unknown algorithm " + value);
+	}
+
+	private static List<String> functions(Map<?, ?> experiment, String where) {
+		List<String> names = new ArrayList<String>();
+		for(String key : new String[] {"function", "functions"}) {
+			for(Object name : list(experiment.get(key))) {
+				names.add(name.toString());
+			}
+		}
+		if(names.isEmpty()) {
+			throw new IllegalArgumentException(where + " has no function");
+		}
+		return names;
+	}
+
+	/**
+	 * This method expands the parameters into every combination of their values, the first parameter changing slowest.
+	 */
+	private static List<Map<String, Double>> grid(Object parameters, String where) {
+		List<Map<String, Double>> grid = new ArrayList<Map<String, Double>>();
+		grid.add(new TreeMap<String, Double>());
+		if(parameters == null) {
+			return grid;
+		}
+		if(!(parameters instanceof Map)) {
+			throw new IllegalArgumentException(where + " parameters must be a map");
+		}
+		checkKeys((Map<?, ?>) parameters, ExperimentJob.PARAMETERS, where + " parameters");
+		for(Map.Entry<?, ?> entry : ((Map<?, ?>) parameters).entrySet()) {
+			String name = String.valueOf(entry.getKey());
+			List<?> values = list(entry.getValue());
+			if(values.isEmpty()) {
+				throw new IllegalArgumentException(where + " parameter " + name + " has no values");
+			}
+			List<Map<String, Double>> expanded = new ArrayList<Map<String, Double>>(grid.size() * values.size());
+			for(Map<String, Double> point : grid) {
+				for(Object value : values) {
+					Map<String, Double> next = new TreeMap<String, Double>(point);
+					next.put(name, number(value, 0, where + " parameter " + name));
+					expanded.add(next);
+				}
+			}
+			grid = expanded;
+		}
+		return grid;
+	}
+
+	private static double targetError(Object targetError, String function, String where) {
+		if(targetError instanceof Map) {
+			return number(((Map<?, ?>) targetError).get(function), 0, where + " targetError of " + function);
+		}
+		return number(targetError, 0, where + " targetError");
+	}
+
+	private static List<?> list(Object value) {
+		if(value == null) {
+			return Collections.emptyList();
+		}
+		return value instanceof List ? (List<?>) value : Collections.singletonList(value);
+	}
+
+	private static double number(Object value, double defaultValue, String where) {
+		if(value == null) {
+			return defaultValue;
+		}
+		if(value instanceof Number) {
+			return ((Number) value).doubleValue();
+		}
+		if(value instanceof Boolean) {
+			return (Boolean) value ? 1 : 0;
+		}
+		try {
+			return Double.parseDouble(value.toString());
+		} catch (NumberFormatException e) {
+			throw new IllegalArgumentException(where + " must be a number, not " + value);
+		}
+	}
+
+	private static int count(Object value, int defaultValue, String where) {
+		double number = number(value, defaultValue, where);
+		if(number < 0 || number != Math.rint(number)) {
+			throw new IllegalArgumentException(where + " must be a whole number of at least 0, not " + value);
+		}
+		return (int) number;
+	}
+
+	/**
+	 * Every run described by the file, experiment by experiment, then function, configuration and repeat.
+	 */
+	public List<ExperimentJob> getJobs() {
+		return Collections.unmodifiableList(jobs);
+	}
+
+	/**
+	 * How many jobs to run at the same time, 0 if the file does not say.
+	 */
+	public int getThreads() {
+		return threads;
+	}
+
+	/**
+	 * The file to write the results to, null if the file does not say.
+	 */
+	public String getOutput() {
+		return output;
+	}
+}
@@ -0,0 +1,226 @@
+package aioptimisation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+public class ExperimentJob {
+
+	public enum Algorithm {
+		CLONAL_SELECTION, SIMULATED_ANNEALING
+	}
+
+	/**
+	 * Every parameter a job reads, see the constructor.
+	 */
+	public static final Set<String> PARAMETERS = Set.of("cloneRate", "replaceRate", "populationSize", "iterations",
+			"cloneFactor", "mutationDecay", "mutationScale", "nicheRadius", "temp", "coolingRate", "chains", "moveScale",
+			"moveDistribution", "targetAcceptance", "stopAtTarget", "stagnation", "evaluationBudget", "minRange", "maxRange",
+			"dimensions", "cacheSize", "cacheQuantum", "surrogateNeighbours", "surrogateConfidence");
+
+	private Algorithm algorithm;
+	private ObjectiveFunction objective;
+	private Map<String, Double> parameters;
+	private long seed;
+	private double targetError;
+
+	/**
+	 * This constructor describes one independent optimisation run.
+	 * The parameters are read by name. For clonal selection: cloneRate, replaceRate, populationSize and iterations,
+	 * plus cloneFactor to use CLONALG instead of the original mutation, with mutationDecay and mutationScale, and
+	 * nicheRadius to replace cells that are too close to a better one.
+	 * For simulated annealing: temp, coolingRate, iterations and chains, plus moveScale to search around the current
+	 * solution instead of drawing uniformly, moveDistribution (0 Gaussian, 1 Cauchy) and targetAcceptance to adapt
+	 * the step size, and stopAtTarget (1 to stop as soon as the target error is reached), stagnation (temperatures without
+	 * improvement) and evaluationBudget to end runs early. Both also take minRange, maxRange and dimensions,
+	 * which default to the ones of the function, cacheSize and cacheQuantum to put an EvaluationCache in front of it, and
+	 * surrogateNeighbours with surrogateConfidence to screen candidates with a SurrogateModel.
+	 * A scalable function like rastrigin is created with the given dimensions.
+	 * @param algorithm - which optimiser to run.
+	 * @param objective - the function to minimise.
+	 * @param parameters - the settings of the optimiser, by name.
+	 * @param seed - the seed of the run, the same job with the same seed gives the same result.
+	 * @param targetError - how close to the known minimum the best output has to get for the run to count as reliable.
+	 */
+	public ExperimentJob(Algorithm algorithm, ObjectiveFunction objective, Map<String, Double> parameters, long seed, double targetError) {
+		this.algorithm = algorithm;
+		this.objective = objective;
+		this.parameters = Collections.unmodifiableMap(new TreeMap<String, Double>(parameters));
+		this.seed = seed;
+		this.targetError = targetError;
+	}
+
+	/**
+	 * This method creates a clonal selection job over the default range of the function.
+	 */
+	public static ExperimentJob clonalSelection(String function, double cloneRate, double replaceRate, int populationSize,
+			int iterations, long seed, double targetError) {
+		Map<String, Double> parameters = new TreeMap<String, Double>();
+		parameters.put("cloneRate", cloneRate);
+		parameters.put("replaceRate", replaceRate);
+		parameters.put("populationSize", (double) populationSize);
+		parameters.put("iterations", (double) iterations);
+		return new ExperimentJob(Algorithm.CLONAL_SELECTION, ObjectiveFunctions.get(function), parameters, seed, targetError);
+	}
+
+	/**
+	 * This method creates a simulated annealing job over the default range of the function.
+	 */
+	public static ExperimentJob simulatedAnnealing(String function, double temp, double coolingRate, int iterations,
+			long seed, double targetError) {
+		Map<String, Double> parameters = new TreeMap<String, Double>();
+		parameters.put("temp", temp);
+		parameters.put("coolingRate", coolingRate);
+		parameters.put("iterations", (double) iterations);
+		return new ExperimentJob(Algorithm.SIMULATED_ANNEALING, ObjectiveFunctions.get(function), parameters, seed, targetError);
+	}
+
+	/**
+	 * This method creates a parallel tempering job with several chains over the default range of the function.
+	 */
+	public static ExperimentJob simulatedAnnealing(String function, double temp, double coolingRate, int iterations,
+			int chains, long seed, double targetError) {
+		ExperimentJob job = simulatedAnnealing(function, temp, coolingRate, iterations, seed, targetError);
+		Map<String, Double> parameters = new TreeMap<String, Double>(job.parameters);
+		parameters.put("chains", (double) chains);
+		return new ExperimentJob(Algorithm.SIMULATED_ANNEALING, job.objective, parameters, seed, targetError);
+	}
+
+	/**
+	 * This method builds the optimiser for the job, seeds it and runs it on the calling thread.
+	 * Simulated annealing runs use the allocation free engine since that is the one that can be seeded. With more than
+	 * one chain the chains run on the calling thread, the runner already keeps the other cores busy with other jobs.
+	 * @return the best output found.
+	 */
+	public double run() {
+		ObjectiveFunction function = objective;
+		int dimensions = (int) parameter("dimensions", objective.getDimensions());
+		if(dimensions != function.getDimensions()) {
+			function = ObjectiveFunctions.get(objective.getName(), dimensions);
+		}
+		if(parameters.containsKey("cacheSize")) {
+			function = new EvaluationCache(function, (int) parameter("cacheSize", 0), parameter("cacheQuantum", 0));
+		}
+		double lowerBounds[] = function.getLowerBounds();
+		double upperBounds[] = function.getUpperBounds();
+		if(parameters.containsKey("minRange")) {
+			Arrays.fill(lowerBounds, parameters.get("minRange"));
+		}
+		if(parameters.containsKey("maxRange")) {
+			Arrays.fill(upperBounds, parameters.get("maxRange"));
+		}
+		if(algorithm == Algorithm.CLONAL_SELECTION) {
+			Population pop = new Population(lowerBounds, upperBounds, parameter("cloneRate", 0.1),
+					parameter("replaceRate", 0.1), (int) parameter("populationSize", 100), (int) parameter("iterations", 500), function);
+			if(parameters.containsKey("cloneFactor")) {
+				ClonalExpansion expansion = new ClonalExpansion(parameter("cloneFactor", 0.3), parameter("mutationDecay", 5));
+				expansion.setMutationScale(parameter("mutationScale", 0.1));
+				pop.setClonalExpansion(expansion);
+			}
+			pop.setSurrogate(surrogate(lowerBounds, upperBounds));
+			if(parameters.containsKey("nicheRadius")) {
+				pop.setNiching(new Niching(parameter("nicheRadius", 0)));
+			}
+			pop.setSeed(seed);
+			pop.run(pop);
+			return pop.getBestAffinity();
+		} else {
+			SimulatedAnnealing sa = new SimulatedAnnealing(parameter("temp", 2000), parameter("coolingRate", 0.005),
+					(int) parameter("iterations", 10), lowerBounds, upperBounds, function);
+			sa.setAllocationFree(true);
+			sa.setChains((int) parameter("chains", 1));
+			sa.setChainThreads(1);
+			sa.setMoveGenerator(moveGenerator());
+			sa.setStopCriterion(stopCriterion());
+			sa.setSurrogate(surrogate(lowerBounds, upperBounds));
+			sa.setSeed(seed);
+			sa.run(sa);
+			return sa.getBestSolution().getOutput();
+		}
+	}
+
+	/**
+	 * This method builds the stop criterion described by the stopAtTarget, stagnation and evaluationBudget parameters.
+	 * @return the criterion, or null if none of them are set.
+	 */
+	private StopCriterion stopCriterion() {
+		List<StopCriterion> criteria = new ArrayList<StopCriterion>();
+		if(parameter("stopAtTarget", 0) == 1) {
+			criteria.add(StopCriterion.targetError(targetError));
+		}
+		if(parameters.containsKey("stagnation")) {
+			criteria.add(StopCriterion.stagnation((long) parameter("stagnation", 0)));
+		}
+		if(parameters.containsKey("evaluationBudget")) {
+			criteria.add(StopCriterion.evaluationBudget((long) parameter("evaluationBudget", 0)));
+		}
+		return criteria.isEmpty() ? null : StopCriterion.any(criteria.toArray(new StopCriterion[0]));
+	}
+
+	/**
+	 * This method builds the surrogate described by the surrogateNeighbours and surrogateConfidence parameters.
+	 * @return the surrogate, or null if surrogateNeighbours is not set.
+	 */
+	private SurrogateModel surrogate(double lowerBounds[], double upperBounds[]) {
+		if(!parameters.containsKey("surrogateNeighbours")) {
+			return null;
+		}
+		SurrogateModel surrogate = new SurrogateModel(lowerBounds, upperBounds);
+		surrogate.setNeighbours((int) parameter("surrogateNeighbours", 8));
+		surrogate.setConfidence(parameter("surrogateConfidence", 1));
+		return surrogate;
+	}
+
+	/**
+	 * This method builds the move generator described by the moveScale, moveDistribution and targetAcceptance parameters.
+	 */
+	private MoveGenerator moveGenerator() {
+		double scale = parameter("moveScale", 0);
+		if(scale <= 0) {
+			return MoveGenerator.uniform();
+		}
+		PerturbationMoveGenerator.Distribution distribution = parameter("moveDistribution", 0) == 1
+				? PerturbationMoveGenerator.Distribution.CAUCHY : PerturbationMoveGenerator.Distribution.GAUSSIAN;
+		if(parameters.containsKey("targetAcceptance")) {
+			return MoveGenerator.adaptive(distribution, scale, parameters.get("targetAcceptance"));
+		}
+		return new PerturbationMoveGenerator(distribution, scale);
+	}
+
+	/**
+	 * The configuration is everything about the job apart from its seed. Jobs with the same configuration
+	 * are repeats of each other and get aggregated together.
+	 */
+	public String getConfiguration() {
+		return algorithm + " " + objective.getName() + " " + parameters;
+	}
+
+	public double parameter(String name, double defaultValue) {
+		Double value = parameters.get(name);
+		return value != null ? value : defaultValue;
+	}
+
+	public Algorithm getAlgorithm() {
+		return algorithm;
+	}
+
+	public ObjectiveFunction getObjective() {
+		return objective;
+	}
+
+	public Map<String, Double> getParameters() {
+		return parameters;
+	}
+
+	public long getSeed() {
+		return seed;
+	}
+
+	public double getTargetError() {
+		return targetError;
+	}
+}
@@ -0,0 +1,40 @@
+package aioptimisation;
+
+public class ExperimentResult {
+
+	private ExperimentJob job;
+	private double bestValue;
+	private long wallNanos;
+
+	public ExperimentResult(ExperimentJob job, double bestValue, long wallNanos) {
+		this.job = job;
+		this.bestValue = bestValue;
+		this.wallNanos = wallNanos;
+	}
+
+	/**
+	 * How far the best output is from the known minimum.
+	 */
+	public double getError() {
+		return Math.abs(bestValue - job.getObjective().getOptimum());
+	}
+
+	/**
+	 * A run is reliable if its best output is no more than the target error above the known minimum.
+	 */
+	public boolean isReliable() {
+		return bestValue <= job.getObjective().getOptimum() + job.getTargetError();
+	}
+
+	public ExperimentJob getJob() {
+		return job;
+	}
+
+	public double getBestValue() {
+		return bestValue;
+	}
+
+	public long getWallNanos() {
+		return wallNanos;
+	}
+}
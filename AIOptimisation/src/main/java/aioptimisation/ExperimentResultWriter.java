@@ -0,0 +1,105 @@
+package aioptimisation;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+public class ExperimentResultWriter implements Closeable {
+
+	private Path path;
+	private BufferedWriter writer;
+	private List<String> parameterNames;
+	//The index of each job in the list the writer was created with, written as the run column.
+	private Map<ExperimentJob, Integer> runs = new IdentityHashMap<ExperimentJob, Integer>();
+	private StringBuilder line = new StringBuilder(256);
+
+	/**
+	 * This constructor opens a CSV file with one row per run and the same columns in every row: run, algorithm,
+	 * function, seed, one column for every parameter used by any of the jobs in alphabetical order (empty where a job
+	 * does not set it), then targetError, bestValue, error, reliable and wallMillis. Rows are written as the runs
+	 * finish so nothing is lost if a long sweep is stopped part way; the run column gives the order of the jobs.
+	 * @param path - the file to write, it is replaced if it already exists.
+	 * @param jobs - every job whose result will be written.
+	 * @throws IOException if the file cannot be created.
+	 */
+	public ExperimentResultWriter(Path path, List<ExperimentJob> jobs) throws IOException {
+		this.path = path;
+		TreeSet<String> names = new TreeSet<String>();
+		for(int i = 0; i < jobs.size(); i++) {
+			runs.put(jobs.get(i), i);
+			names.addAll(jobs.get(i).getParameters().keySet());
+		}
+		this.parameterNames = new ArrayList<String>(names);
+		this.writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8);
+		writer.write("run,algorithm,function,seed");
+		for(String name : parameterNames) {
+			writer.write(',');
+			writer.write(name);
+		}
+		writer.write(",targetError,bestValue,error,reliable,wallMillis");
+		writer.newLine();
+	}
+
+	/**
+	 * This method writes the row of one run.
+	 * @param result - the result of one of the jobs the writer was created with.
+	 */
+	public void write(ExperimentResult result) {
+		ExperimentJob job = result.getJob();
+		Integer run = runs.get(job);
+		if(run == null) {
+			throw new IllegalArgumentException("the result is not of one of the jobs of " + path);
+		}
+		line.setLength(0);
+		line.append(run).append(',').append(job.getAlgorithm()).append(',').append(job.getObjective().getName())
+				.append(',').append(job.getSeed());
+		for(String name : parameterNames) {
+			line.append(',');
+			Double value = job.getParameters().get(name);
+			if(value != null) {
+				line.append(value);
+			}
+		}
+		line.append(',').append(job.getTargetError()).append(',').append(result.getBestValue()).append(',')
+				.append(result.getError()).append(',').append(result.isReliable()).append(',')
+				.append(result.getWallNanos() / 1e6);
+		try {
+			writer.append(line);
+			writer.newLine();
+		} catch (IOException e) {
+			throw new UncheckedIOException("Could not write to " + path, e);
+		}
+	}
+
+	/**
+	 * This method writes out what is buffered, eg every so many rows so the file can be followed while a sweep runs.
+	 */
+	public void flush() {
+		try {
+			writer.flush();
+		} catch (IOException e) {
+			throw new UncheckedIOException("Could not write to " + path, e);
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		writer.close();
+	}
+
+	/**
+	 * The parameter columns, in the order they are written.
+	 */
+	public List<String> getParameterNames() {
+		return parameterNames;
+	}
+}
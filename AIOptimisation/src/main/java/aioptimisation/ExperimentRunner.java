@@ -0,0 +1,148 @@
+package aioptimisation;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+public class ExperimentRunner {
+
+	private ExecutorService executor;
+	private int threads;
+
+	/**
+	 * This constructor uses one thread per available processor.
+	 */
+	public ExperimentRunner() {
+		this(Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * This constructor creates the thread pool the jobs are run on.
+	 * @param threads - how many jobs can run at the same time.
+	 */
+	public ExperimentRunner(int threads) {
+		if(threads < 1) {
+			throw new IllegalArgumentException("threads must be at least 1");
+		}
+		this.threads = threads;
+		this.executor = Executors.newFixedThreadPool(threads);
+	}
+
+	/**
+	 * This method runs every job across the thread pool and waits for them all to finish.
+	 * Each job is seeded so the results are the same however many threads there are and whatever order they run in.
+	 * @param jobs - the runs to do.
+	 * @return the results, in the same order as the jobs.
+	 */
+	public List<ExperimentResult> runAll(List<ExperimentJob> jobs) {
+		List<Future<ExperimentResult>> futures = new ArrayList<Future<ExperimentResult>>(jobs.size());
+		for(ExperimentJob job : jobs) {
+			futures.add(executor.submit(task(job)));
+		}
+		List<ExperimentResult> results = new ArrayList<ExperimentResult>(jobs.size());
+		try {
+			for(Future<ExperimentResult> future : futures) {
+				results.add(future.get());
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			cancelAll(futures);
+			throw new IllegalStateException("Interrupted while waiting for experiment jobs", e);
+		} catch (ExecutionException e) {
+			cancelAll(futures);
+			throw new IllegalStateException("Experiment job failed", e.getCause());
+		}
+		return results;
+	}
+
+	/**
+	 * This method runs every job across the thread pool and hands each result to the consumer as soon as the job is
+	 * done, so a long sweep can be written out as it goes instead of all at the end. The consumer is only called on
+	 * the calling thread, in the order the jobs finish.
+	 * @param jobs - the runs to do.
+	 * @param consumer - receives every result.
+	 */
+	public void runEach(List<ExperimentJob> jobs, Consumer<ExperimentResult> consumer) {
+		CompletionService<ExperimentResult> completion = new ExecutorCompletionService<ExperimentResult>(executor);
+		List<Future<ExperimentResult>> futures = new ArrayList<Future<ExperimentResult>>(jobs.size());
+		for(ExperimentJob job : jobs) {
+			futures.add(completion.submit(task(job)));
+		}
+		try {
+			for(int i = 0; i < jobs.size(); i++) {
+				consumer.accept(completion.take().get());
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			cancelAll(futures);
+			throw new IllegalStateException("Interrupted while waiting for experiment jobs", e);
+		} catch (ExecutionException e) {
+			cancelAll(futures);
+			throw new IllegalStateException("Experiment job failed", e.getCause());
+		} catch (RuntimeException e) {
+			cancelAll(futures);
+			throw e;
+		}
+	}
+
+	private static Callable<ExperimentResult> task(ExperimentJob job) {
+		return () -> {
+			long start = System.nanoTime();
+			double best = job.run();
+			return new ExperimentResult(job, best, System.nanoTime() - start);
+		};
+	}
+
+	/**
+	 * This method runs the jobs and aggregates them per configuration.
+	 * @param jobs - the runs to do.
+	 * @return one summary per configuration, in the order the configurations first appear in the jobs.
+	 */
+	public List<ConfigurationSummary> runAndSummarise(List<ExperimentJob> jobs) {
+		return summarise(runAll(jobs));
+	}
+
+	/**
+	 * This method groups results by configuration and works out the reliability, mean and median error
+	 * and wall time of each one.
+	 * @param results - the results to group.
+	 * @return one summary per configuration, in the order the configurations first appear.
+	 */
+	public static List<ConfigurationSummary> summarise(List<ExperimentResult> results) {
+		Map<String, List<ExperimentResult>> grouped = new LinkedHashMap<String, List<ExperimentResult>>();
+		for(ExperimentResult result : results) {
+			grouped.computeIfAbsent(result.getJob().getConfiguration(), k -> new ArrayList<ExperimentResult>()).add(result);
+		}
+		List<ConfigurationSummary> summaries = new ArrayList<ConfigurationSummary>(grouped.size());
+		for(Map.Entry<String, List<ExperimentResult>> entry : grouped.entrySet()) {
+			summaries.add(new ConfigurationSummary(entry.getKey(), entry.getValue()));
+		}
+		return summaries;
+	}
+
+	private static void cancelAll(List<Future<ExperimentResult>> futures) {
+		for(Future<ExperimentResult> future : futures) {
+			future.cancel(true);
+		}
+	}
+
+	/**
+	 * This method stops the threads of the pool. The runner cannot be used afterwards.
+	 */
+	public void shutdown() {
+		executor.shutdown();
+	}
+
+	public int getThreads() {
+		return threads;
+	}
+}
@@ -0,0 +1,51 @@
+package aioptimisation;
+
+public class InMemoryMigrationChannel implements MigrationChannel {
+
+	private int dimensions;
+	//One slot per island, each holding the last migrants it sent.
+	private double inputs[][];
+	private double affinities[][];
+	private int counts[];
+	private long epochs[];
+
+	/**
+	 * This constructor allocates a slot for every island up front so sending and receiving only copy.
+	 * @param islands - the amount of islands.
+	 * @param capacity - the most cells an island sends at once.
+	 * @param dimensions - how many inputs each cell has.
+	 */
+	public InMemoryMigrationChannel(int islands, int capacity, int dimensions) {
+		this.dimensions = dimensions;
+		this.inputs = new double[islands][capacity * dimensions];
+		this.affinities = new double[islands][capacity];
+		this.counts = new int[islands];
+		this.epochs = new long[islands];
+	}
+
+	@Override
+	public synchronized void send(int island, long epoch, double inputs[], double affinities[], int count) {
+		int n = Math.min(count, this.affinities[island].length);
+		System.arraycopy(inputs, 0, this.inputs[island], 0, n * dimensions);
+		System.arraycopy(affinities, 0, this.affinities[island], 0, n);
+		counts[island] = n;
+		epochs[island] = epoch;
+		notifyAll();
+	}
+
+	@Override
+	public synchronized int receive(int island, long epoch, double inputs[], double affinities[]) {
+		while(epochs[island] < epoch) {
+			try {
+				wait();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException("interrupted waiting for island " + island, e);
+			}
+		}
+		int n = counts[island];
+		System.arraycopy(this.inputs[island], 0, inputs, 0, n * dimensions);
+		System.arraycopy(this.affinities[island], 0, affinities, 0, n);
+		return n;
+	}
+}
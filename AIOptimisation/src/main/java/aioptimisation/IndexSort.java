@@ -0,0 +1,198 @@
+package aioptimisation;
+
+public class IndexSort {
+
+	//Ranges at or below this size are finished off with an insertion sort.
+	private static final int INSERTION_THRESHOLD = 16;
+
+	/**
+	 * This method sorts an array of indexes into ascending order of the keys they point at.
+	 * The keys themselves are never moved so they can stay in one flat primitive array, and
+	 * nothing is boxed like it would be with a Comparator.
+	 * @param index - the indexes to sort, eg 0 to n - 1.
+	 * @param keys - the values each index is ranked by.
+	 * @param from - first position to sort (inclusive).
+	 * @param to - last position to sort (exclusive).
+	 */
+	public static void sort(int index[], double keys[], int from, int to) {
+		while(to - from > INSERTION_THRESHOLD) {
+			int split = partition(index, keys, from, to);
+			//Recurse into the smaller half and loop on the bigger one to keep the stack shallow.
+			if(split - from < to - split) {
+				sort(index, keys, from, split);
+				from = split;
+			} else {
+				sort(index, keys, split, to);
+				to = split;
+			}
+		}
+		insertionSort(index, keys, from, to);
+	}
+
+	/**
+	 * This method moves the indexes so that every key before position k is less than or equal to every key
+	 * from position k onwards, without sorting either side. It is a quickselect that gives up and heapsorts the
+	 * range if it has not finished after 2 log n partitions (introselect), so it is O(n) on average and
+	 * never worse than O(n log n).
+	 * @param index - the indexes to reorder.
+	 * @param keys - the values each index is ranked by.
+	 * @param from - first position (inclusive).
+	 * @param to - last position (exclusive).
+	 * @param k - the boundary to select, between from and to.
+	 */
+	public static void select(int index[], double keys[], int from, int to, int k) {
+		int depthLimit = 2 * (32 - Integer.numberOfLeadingZeros(Math.max(1, to - from)));
+		while(to - from > INSERTION_THRESHOLD) {
+			if(k <= from || k >= to) {
+				return;
+			}
+			if(depthLimit-- == 0) {
+				heapSort(index, keys, from, to);
+				return;
+			}
+			int split = partition(index, keys, from, to);
+			if(k == split) {
+				return;
+			} else if(k < split) {
+				to = split;
+			} else {
+				from = split;
+			}
+		}
+		insertionSort(index, keys, from, to);
+	}
+
+	/**
+	 * This method selects several boundaries at once, see select. Each boundary splits the range so the
+	 * next ones only have to look at one side of it, which costs O(n log m) for m boundaries instead of a full sort.
+	 * @param index - the indexes to reorder.
+	 * @param keys - the values each index is ranked by.
+	 * @param from - first position (inclusive).
+	 * @param to - last position (exclusive).
+	 * @param boundaries - the boundaries to select, in ascending order.
+	 * @param boundaryFrom - first boundary to use (inclusive).
+	 * @param boundaryTo - last boundary to use (exclusive).
+	 */
+	public static void select(int index[], double keys[], int from, int to, int boundaries[], int boundaryFrom, int boundaryTo) {
+		if(boundaryFrom >= boundaryTo || to - from < 2) {
+			return;
+		}
+		int mid = (boundaryFrom + boundaryTo) >>> 1;
+		int k = boundaries[mid];
+		if(k <= from) {
+			select(index, keys, from, to, boundaries, mid + 1, boundaryTo);
+		} else if(k >= to) {
+			select(index, keys, from, to, boundaries, boundaryFrom, mid);
+		} else {
+			select(index, keys, from, to, k);
+			select(index, keys, from, k, boundaries, boundaryFrom, mid);
+			select(index, keys, k, to, boundaries, mid + 1, boundaryTo);
+		}
+	}
+
+	/**
+	 * This method puts the k smallest keys at the front in sorted order and leaves the rest unordered.
+	 * @param index - the indexes to reorder.
+	 * @param keys - the values each index is ranked by.
+	 * @param from - first position (inclusive).
+	 * @param to - last position (exclusive).
+	 * @param k - how many of the smallest keys to sort.
+	 */
+	public static void partialSort(int index[], double keys[], int from, int to, int k) {
+		int end = Math.min(to, from + k);
+		select(index, keys, from, to, end);
+		sort(index, keys, from, end);
+	}
+
+	/**
+	 * This method partitions the range around a median of three pivot using Hoare's scheme, which
+	 * keeps splitting evenly even when lots of cells share the same affinity.
+	 * @return split - every key before the split is less than or equal to every key from the split onwards.
+	 * Both sides are guaranteed to be non-empty.
+	 */
+	static int partition(int index[], double keys[], int from, int to) {
+		int last = to - 1;
+		int mid = (from + last) >>> 1;
+		if(keys[index[mid]] < keys[index[from]]) {
+			swap(index, mid, from);
+		}
+		if(keys[index[last]] < keys[index[from]]) {
+			swap(index, last, from);
+		}
+		if(keys[index[last]] < keys[index[mid]]) {
+			swap(index, last, mid);
+		}
+		double pivot = keys[index[mid]];
+		int i = from - 1;
+		int j = to;
+		while(true) {
+			do {
+				i++;
+			} while(keys[index[i]] < pivot);
+			do {
+				j--;
+			} while(keys[index[j]] > pivot);
+			if(i >= j) {
+				return j + 1;
+			}
+			swap(index, i, j);
+		}
+	}
+
+	/**
+	 * This method sorts the range with a heapsort, which is O(n log n) whatever the keys, unlike the quicksort in sort.
+	 */
+	static void heapSort(int index[], double keys[], int from, int to) {
+		int n = to - from;
+		for(int i = n / 2 - 1; i >= 0; i--) {
+			siftDown(index, keys, from, i, n);
+		}
+		for(int end = n - 1; end > 0; end--) {
+			swap(index, from, from + end);
+			siftDown(index, keys, from, 0, end);
+		}
+	}
+
+	/**
+	 * This method moves the index at root down the max heap that starts at base and holds n indexes until neither
+	 * of its children has a bigger key.
+	 */
+	private static void siftDown(int index[], double keys[], int base, int root, int n) {
+		int current = index[base + root];
+		double key = keys[current];
+		while(true) {
+			int child = 2 * root + 1;
+			if(child >= n) {
+				break;
+			}
+			if(child + 1 < n && keys[index[base + child + 1]] > keys[index[base + child]]) {
+				child++;
+			}
+			if(keys[index[base + child]] <= key) {
+				break;
+			}
+			index[base + root] = index[base + child];
+			root = child;
+		}
+		index[base + root] = current;
+	}
+
+	static void insertionSort(int index[], double keys[], int from, int to) {
+		for(int i = from + 1; i < to; i++) {
+			int current = index[i];
+			double key = keys[current];
+			int j = i - 1;
+			while(j >= from && keys[index[j]] > key) {
+				index[j + 1] = index[j];
+				j--;
+			}
+			index[j + 1] = current;
+		}
+	}
+
+	static void swap(int index[], int i, int j) {
+		int temp = index[i];
+		index[i] = index[j];
+		index[j] = temp;
+	}
+}
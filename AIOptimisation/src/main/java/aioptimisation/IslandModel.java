@@ -0,0 +1,211 @@
+package aioptimisation;
+
+
+public class IslandModel {
+
+	private Population islands[];
+	private MigrationChannel channel;
+	//The id of the first island in this process and the amount of islands across every process.
+	private int firstIsland;
+	private int totalIslands;
+	private int migrationInterval = 25;
+	private int migrants = 5;
+	private int threads;
+	private long epoch;
+	private double sendInputs[][];
+	private double sendAffinities[][];
+	private double receiveInputs[];
+	private double receiveAffinities[];
+	private int generations;
+	private final ParallelEvaluator.RangeTask evolveTask = this::evolve;
+
+	/**
+	 * This constructor runs every island in this process, migrating through an InMemoryMigrationChannel.
+	 * @param islands - the populations, all over the same function.
+	 */
+	public IslandModel(Population islands[]) {
+		this(islands, null, 0, islands.length);
+	}
+
+	/**
+	 * This constructor runs some of the islands of a bigger ring. Every process running part of the ring uses
+	 * the same channel, eg a MappedFileMigrationChannel over the same file, and its own first island.
+	 * Island i sends its best cells to island i + 1 and the last island sends to the first.
+	 * @param islands - the populations run by this process, all over the same function.
+	 * @param channel - where the migrants are sent, null for an in memory channel sized for these islands.
+	 * @param firstIsland - the id of islands[0] in the ring.
+	 * @param totalIslands - the amount of islands in the ring across every process.
+	 */
+	public IslandModel(Population islands[], MigrationChannel channel, int firstIsland, int totalIslands) {
+		if(islands.length == 0 || firstIsland < 0 || firstIsland + islands.length > totalIslands) {
+			throw new IllegalArgumentException("islands " + firstIsland + " to " + (firstIsland + islands.length - 1)
+					+ " do not fit in a ring of " + totalIslands);
+		}
+		this.islands = islands.clone();
+		this.firstIsland = firstIsland;
+		this.totalIslands = totalIslands;
+		this.channel = channel;
+		this.threads = Math.min(islands.length, Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * This method creates islands that are all the same apart from their random numbers. Each island gets its own
+	 * stream of one RandomStreams, so the whole model can be repeated and an island draws the same numbers however
+	 * many islands there are.
+	 * @param objective - the function to minimise.
+	 * @param islands - how many populations.
+	 * @param cloneRate - see Population.
+	 * @param replaceRate - see Population.
+	 * @param populationSize - the amount of cells on each island.
+	 * @param iterations - the amount of generations each island will run.
+	 * @param seed - the seed of the model.
+	 * @return the seeded populations.
+	 */
+	public static Population[] createIslands(ObjectiveFunction objective, int islands, double cloneRate, double replaceRate,
+			int populationSize, int iterations, long seed) {
+		RandomStreams streams = new RandomStreams(seed);
+		Population populations[] = new Population[islands];
+		for(int i = 0; i < islands; i++) {
+			populations[i] = new Population(objective, cloneRate, replaceRate, populationSize, iterations);
+			populations[i].setRandom(streams.island(i));
+		}
+		return populations;
+	}
+
+	/**
+	 * This method evolves every island for a number of generations. The islands run on their own threads for
+	 * migrationInterval generations at a time without sharing anything, then each one sends its best cells on to
+	 * the next island in the ring and takes in the ones from the island before it in place of its worst cells.
+	 * Migration only copies a handful of cells so the throughput grows almost linearly with the amount of islands.
+	 * Every island is seeded on its own and migration happens at fixed generations, so the result does not depend on
+	 * the amount of threads.
+	 * @param generations - how many generations each island does.
+	 */
+	public void run(int generations) {
+		int dims = islands[0].getDimension();
+		if(channel == null) {
+			channel = new InMemoryMigrationChannel(totalIslands, migrants, dims);
+		}
+		sendInputs = new double[islands.length][migrants * dims];
+		sendAffinities = new double[islands.length][migrants];
+		receiveInputs = new double[migrants * dims];
+		receiveAffinities = new double[migrants];
+
+		ParallelEvaluator evaluator = new ParallelEvaluator(Math.max(1, threads), 1);
+		try {
+			this.generations = 0;
+			evaluator.forEach(islands.length, this::start);
+			int done = 0;
+			while(done < generations) {
+				this.generations = Math.min(migrationInterval, generations - done);
+				evaluator.forEach(islands.length, evolveTask);
+				done += this.generations;
+				if(done < generations) {
+					migrate();
+				}
+			}
+		} finally {
+			evaluator.shutdown();
+		}
+		for(Population island : islands) {
+			island.getMetricsSink().close();
+			if(island.getProgressPublisher() != null) {
+				island.getProgressPublisher().close();
+			}
+		}
+	}
+
+	private void start(int from, int to) {
+		for(int i = from; i < to; i++) {
+			islands[i].start();
+		}
+	}
+
+	private void evolve(int from, int to) {
+		for(int i = from; i < to; i++) {
+			for(int g = 0; g < generations; g++) {
+				islands[i].iterate();
+			}
+		}
+	}
+
+	/**
+	 * This method sends the best cells of every island before taking any in, so every island passes on the cells
+	 * it had at the end of the epoch rather than ones that just arrived from its neighbour.
+	 */
+	private void migrate() {
+		epoch++;
+		for(int i = 0; i < islands.length; i++) {
+			int count = islands[i].exportBest(migrants, sendInputs[i], sendAffinities[i]);
+			channel.send(firstIsland + i, epoch, sendInputs[i], sendAffinities[i], count);
+		}
+		for(int i = 0; i < islands.length; i++) {
+			int from = (firstIsland + i - 1 + totalIslands) % totalIslands;
+			int count = channel.receive(from, epoch, receiveInputs, receiveAffinities);
+			islands[i].importCells(receiveInputs, receiveAffinities, count);
+		}
+	}
+
+	/**
+	 * The island of this process whose best cell is the best, the best cell is cell 0 of it.
+	 */
+	public Population getBestIsland() {
+		Population best = islands[0];
+		for(Population island : islands) {
+			if(island.getBestAffinity() < best.getBestAffinity()) {
+				best = island;
+			}
+		}
+		return best;
+	}
+
+	public Population[] getIslands() {
+		return islands.clone();
+	}
+
+	public int getMigrationInterval() {
+		return migrationInterval;
+	}
+
+	/**
+	 * How many generations the islands run between migrations.
+	 */
+	public void setMigrationInterval(int migrationInterval) {
+		if(migrationInterval < 1) {
+			throw new IllegalArgumentException("migrationInterval must be at least 1");
+		}
+		this.migrationInterval = migrationInterval;
+	}
+
+	public int getMigrants() {
+		return migrants;
+	}
+
+	/**
+	 * How many of its best cells each island sends at every migration. It has to be set before run.
+	 */
+	public void setMigrants(int migrants) {
+		if(migrants < 1) {
+			throw new IllegalArgumentException("migrants must be at least 1");
+		}
+		this.migrants = migrants;
+	}
+
+	public int getThreads() {
+		return threads;
+	}
+
+	/**
+	 * How many threads the islands of this process are spread over, 1 runs them all on the calling thread.
+	 */
+	public void setThreads(int threads) {
+		if(threads < 1) {
+			throw new IllegalArgumentException("threads must be at least 1");
+		}
+		this.threads = threads;
+	}
+
+	public MigrationChannel getChannel() {
+		return channel;
+	}
+}
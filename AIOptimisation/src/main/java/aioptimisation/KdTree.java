@@ -0,0 +1,258 @@
+package aioptimisation;
+
+public class KdTree {
+
+	//A point added deeper than this many times log2 of the size triggers a rebuild of the whole tree,
+	//as long as at least 1 / REBUILD_FRACTION of the points have been added since the last one.
+	private static final int DEPTH_FACTOR = 3;
+	private static final int REBUILD_FRACTION = 8;
+
+	private int dimensions;
+	//Every point laid out one after another, point i starts at i * dimensions, in the order they were added.
+	private double points[];
+	private int left[];
+	private int right[];
+	private int split[];
+	private int root = -1;
+	private int size;
+	private int addedSinceRebuild;
+	//Scratch arrays for rebuilds, only reallocated when the tree has grown.
+	private int order[] = new int[0];
+	private double keys[] = new double[0];
+
+	/**
+	 * This constructor creates an empty k-d tree. Points are kept in one flat array and the tree is a set of index
+	 * arrays over it, so adding and searching allocate nothing once the tree has reached its size.
+	 * @param dimensions - how many coordinates each point has.
+	 * @param capacity - how many points to make room for up front, it grows past this if needed.
+	 */
+	public KdTree(int dimensions, int capacity) {
+		if(dimensions < 1) {
+			throw new IllegalArgumentException("dimensions must be at least 1");
+		}
+		this.dimensions = dimensions;
+		allocate(Math.max(1, capacity));
+	}
+
+	private void allocate(int capacity) {
+		double grownPoints[] = new double[capacity * dimensions];
+		int grownLeft[] = new int[capacity];
+		int grownRight[] = new int[capacity];
+		int grownSplit[] = new int[capacity];
+		if(points != null) {
+			System.arraycopy(points, 0, grownPoints, 0, size * dimensions);
+			System.arraycopy(left, 0, grownLeft, 0, size);
+			System.arraycopy(right, 0, grownRight, 0, size);
+			System.arraycopy(split, 0, grownSplit, 0, size);
+		}
+		points = grownPoints;
+		left = grownLeft;
+		right = grownRight;
+		split = grownSplit;
+	}
+
+	/**
+	 * This method replaces the points of the tree and builds it balanced, splitting each node at the median of the
+	 * coordinate the points are most spread along. O(n log n).
+	 * @param source - the points, one after another.
+	 * @param count - how many points to take from the source.
+	 */
+	public void build(double source[], int count) {
+		if(left.length < count) {
+			allocate(count);
+		}
+		System.arraycopy(source, 0, points, 0, count * dimensions);
+		size = count;
+		rebuild();
+	}
+
+	/**
+	 * This method adds a point below the leaf it falls into. If that leaf is far deeper than a balanced tree would
+	 * be the whole tree is rebuilt, at most once every size / 8 points so adding stays O(log n) amortised.
+	 * @param source - the array holding the point.
+	 * @param offset - where the point starts in it.
+	 * @return the index of the point, points are numbered in the order they were added.
+	 */
+	public int add(double source[], int offset) {
+		if(size == left.length) {
+			allocate(2 * size);
+		}
+		int index = size++;
+		System.arraycopy(source, offset, points, index * dimensions, dimensions);
+		left[index] = -1;
+		right[index] = -1;
+		if(root < 0) {
+			root = index;
+			split[index] = 0;
+			return index;
+		}
+		int node = root;
+		int depth = 1;
+		while(true) {
+			int d = split[node];
+			if(points[index * dimensions + d] < points[node * dimensions + d]) {
+				if(left[node] < 0) {
+					left[node] = index;
+					break;
+				}
+				node = left[node];
+			} else {
+				if(right[node] < 0) {
+					right[node] = index;
+					break;
+				}
+				node = right[node];
+			}
+			depth++;
+		}
+		split[index] = (split[node] + 1) % dimensions;
+		addedSinceRebuild++;
+		if(depth > DEPTH_FACTOR * (32 - Integer.numberOfLeadingZeros(size)) + 4 && addedSinceRebuild >= size / REBUILD_FRACTION) {
+			rebuild();
+		}
+		return index;
+	}
+
+	/**
+	 * This method empties the tree, the memory is kept.
+	 */
+	public void clear() {
+		size = 0;
+		root = -1;
+		addedSinceRebuild = 0;
+	}
+
+	/**
+	 * This method rebuilds the links of the tree balanced over the points it holds. The points keep their indexes.
+	 */
+	public void rebuild() {
+		if(order.length < size) {
+			order = new int[left.length];
+			keys = new double[left.length];
+		}
+		for(int i = 0; i < size; i++) {
+			order[i] = i;
+		}
+		root = build(0, size);
+		addedSinceRebuild = 0;
+	}
+
+	private int build(int from, int to) {
+		if(from >= to) {
+			return -1;
+		}
+		int d = widestDimension(from, to);
+		int median = (from + to) >>> 1;
+		for(int i = from; i < to; i++) {
+			keys[order[i]] = points[order[i] * dimensions + d];
+		}
+		IndexSort.select(order, keys, from, to, median);
+		//select only splits the range at the median, the node has to be the smallest key of the upper side.
+		int smallest = median;
+		for(int i = median + 1; i < to; i++) {
+			if(keys[order[i]] < keys[order[smallest]]) {
+				smallest = i;
+			}
+		}
+		IndexSort.swap(order, median, smallest);
+		int node = order[median];
+		split[node] = d;
+		left[node] = build(from, median);
+		right[node] = build(median + 1, to);
+		return node;
+	}
+
+	private int widestDimension(int from, int to) {
+		int widest = 0;
+		double widestSpread = -1;
+		for(int d = 0; d < dimensions; d++) {
+			double min = Double.POSITIVE_INFINITY;
+			double max = Double.NEGATIVE_INFINITY;
+			for(int i = from; i < to; i++) {
+				double value = points[order[i] * dimensions + d];
+				min = Math.min(min, value);
+				max = Math.max(max, value);
+			}
+			if(max - min > widestSpread) {
+				widestSpread = max - min;
+				widest = d;
+			}
+		}
+		return widest;
+	}
+
+	/**
+	 * This method finds the k points nearest to a query point by squared Euclidean distance.
+	 * @param query - the array holding the query point.
+	 * @param offset - where the query point starts in it.
+	 * @param k - how many neighbours to find.
+	 * @param indexes - receives the indexes of the neighbours, nearest first, at least k long.
+	 * @param distances - receives the squared distances of the neighbours, at least k long.
+	 * @return how many neighbours were found, less than k if the tree holds fewer points.
+	 */
+	public int nearest(double query[], int offset, int k, int indexes[], double distances[]) {
+		if(k < 1 || root < 0) {
+			return 0;
+		}
+		return search(root, query, offset, Math.min(k, size), indexes, distances, 0);
+	}
+
+	/**
+	 * This method visits the side of each node the query is on first and only crosses to the other side if the
+	 * splitting plane is closer than the furthest neighbour found so far.
+	 * @return how many neighbours have been found so far.
+	 */
+	private int search(int node, double query[], int offset, int k, int indexes[], double distances[], int found) {
+		while(node >= 0) {
+			int base = node * dimensions;
+			double distance = 0;
+			for(int d = 0; d < dimensions; d++) {
+				double delta = query[offset + d] - points[base + d];
+				distance += delta * delta;
+			}
+			if(found < k || distance < distances[found - 1]) {
+				//Insertion into the sorted neighbours, k is small.
+				int i = found < k ? found++ : found - 1;
+				while(i > 0 && distances[i - 1] > distance) {
+					distances[i] = distances[i - 1];
+					indexes[i] = indexes[i - 1];
+					i--;
+				}
+				distances[i] = distance;
+				indexes[i] = node;
+			}
+			double delta = query[offset + split[node]] - points[base + split[node]];
+			int near = delta < 0 ? left[node] : right[node];
+			int far = delta < 0 ? right[node] : left[node];
+			if(far >= 0) {
+				found = search(near, query, offset, k, indexes, distances, found);
+				if(found < k || delta * delta < distances[found - 1]) {
+					node = far;
+				} else {
+					return found;
+				}
+			} else {
+				node = near;
+			}
+		}
+		return found;
+	}
+
+	/**
+	 * How many points the tree holds.
+	 */
+	public int size() {
+		return size;
+	}
+
+	public int getDimensions() {
+		return dimensions;
+	}
+
+	/**
+	 * One coordinate of a point held by the tree.
+	 */
+	public double get(int point, int dimension) {
+		return points[point * dimensions + dimension];
+	}
+}
@@ -0,0 +1,77 @@
+package aioptimisation;
+
+public class LamCooling implements CoolingSchedule {
+
+	private long steps;
+	private double adjustment = 0.05;
+
+	/**
+	 * This constructor creates the adaptive schedule of Lam and Delosme, in the simplified form of Swartz. Instead of a
+	 * fixed cooling rate the temperature is pushed up or down every step so the acceptance ratio follows a target curve:
+	 * from 1 down to 0.44 over the first 15% of the run, held at 0.44 until 65% and then down towards 0 at the end.
+	 * The run is over after the given amount of steps whatever the temperature.
+	 * @param steps - the length of the run in temperature steps.
+	 */
+	public LamCooling(long steps) {
+		if(steps < 1) {
+			throw new IllegalArgumentException("steps must be at least 1");
+		}
+		this.steps = steps;
+	}
+
+	/**
+	 * The acceptance ratio the schedule aims for at a fraction of the way through the run.
+	 */
+	public static double targetAcceptance(double progress) {
+		if(progress < 0.15) {
+			return 0.44 + 0.56 * Math.pow(560, -progress / 0.15);
+		} else if(progress < 0.65) {
+			return 0.44;
+		}
+		return 0.44 * Math.pow(440, -(progress - 0.65) / 0.35);
+	}
+
+	/**
+	 * This method cools if more moves were accepted than the target and warms up if fewer were.
+	 */
+	@Override
+	public double next(double temp, AnnealingProgress progress) {
+		double target = targetAcceptance((double) progress.getStep() / steps);
+		if(progress.getAcceptanceRatio() > target) {
+			return temp * (1 - adjustment);
+		}
+		return temp / (1 - adjustment);
+	}
+
+	/**
+	 * The run ends after the amount of steps. The temperature is free to go below 1 since the schedule is
+	 * steered by the acceptance ratio, not by how hot it is.
+	 */
+	@Override
+	public boolean isFrozen(double temp, AnnealingProgress progress) {
+		return progress.getStep() >= steps;
+	}
+
+	public long getSteps() {
+		return steps;
+	}
+
+	public double getAdjustment() {
+		return adjustment;
+	}
+
+	/**
+	 * How much the temperature is moved each step, as a fraction.
+	 */
+	public void setAdjustment(double adjustment) {
+		if(!(adjustment > 0 && adjustment < 1)) {
+			throw new IllegalArgumentException("adjustment must be between 0 and 1");
+		}
+		this.adjustment = adjustment;
+	}
+
+	@Override
+	public String toString() {
+		return "lam(" + steps + ")";
+	}
+}
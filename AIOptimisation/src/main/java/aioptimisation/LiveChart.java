@@ -0,0 +1,102 @@
+package aioptimisation;
+
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
+
+import org.jfree.chart.JFreeChart;
+import org.jfree.chart.plot.XYPlot;
+
+public class LiveChart implements ProgressListener {
+
+	//How often the chart is redrawn while steps are coming in.
+	public static final int DEFAULT_REFRESH_MILLIS = 250;
+
+	private String title;
+	private String labels[];
+	private MetricsBuffer buffer = MetricsBuffer.forRun(MetricsBuffer.MAX_RUN_CAPACITY);
+	private JFreeChart chart;
+	private Timer timer;
+	private volatile boolean changed;
+
+	/**
+	 * This constructor creates a chart that follows a run while it goes, fed by a ProgressPublisher. The steps are
+	 * kept in a MetricsBuffer, which halves its resolution on long runs, and the chart is redrawn from it on the
+	 * Swing thread a few times a second, downsampled like ConvergenceChart, so a fast run does not flood the screen.
+	 * @param title - the title drawn above the chart.
+	 * @param labels - the name shown for each series, in the order they are recorded. If the run records a different
+	 * amount of series their own names are shown.
+	 */
+	public LiveChart(String title, String labels[]) {
+		this.title = title;
+		this.labels = labels.clone();
+		this.chart = new ConvergenceChart(title).createChart(ConvergenceChart.DEFAULT_POINT_BUDGET);
+		this.timer = new Timer(DEFAULT_REFRESH_MILLIS, e -> refresh());
+	}
+
+	@Override
+	public void started(String series[]) {
+		synchronized(buffer) {
+			buffer.start(labels.length == series.length ? labels : series);
+		}
+		changed = true;
+		timer.start();
+	}
+
+	@Override
+	public void progress(ProgressSnapshot snapshot) {
+		double values[] = new double[snapshot.getSeriesCount()];
+		for(int s = 0; s < values.length; s++) {
+			values[s] = snapshot.get(s);
+		}
+		synchronized(buffer) {
+			buffer.record(snapshot.getStep(), values);
+		}
+		changed = true;
+	}
+
+	/**
+	 * This method stops redrawing once the last step has been drawn.
+	 */
+	@Override
+	public void finished() {
+		timer.stop();
+		SwingUtilities.invokeLater(this::refresh);
+	}
+
+	/**
+	 * This method swaps the data of the chart for the latest steps, if there are new ones. Only the copy out of the
+	 * buffer is done under its lock, the downsampling and drawing are not.
+	 */
+	private void refresh() {
+		if(!changed) {
+			return;
+		}
+		changed = false;
+		ConvergenceChart latest;
+		synchronized(buffer) {
+			latest = ConvergenceChart.fromMetrics(title, buffer);
+		}
+		((XYPlot) chart.getPlot()).setDataset(latest.createDataset(ConvergenceChart.DEFAULT_POINT_BUDGET));
+	}
+
+	/**
+	 * The chart, eg to show in a ChartPanel. It is only changed on the Swing thread.
+	 */
+	public JFreeChart getChart() {
+		return chart;
+	}
+
+	/**
+	 * How often the chart is redrawn while steps are coming in.
+	 */
+	public void setRefreshMillis(int refreshMillis) {
+		if(refreshMillis < 1) {
+			throw new IllegalArgumentException("refreshMillis must be at least 1");
+		}
+		timer.setDelay(refreshMillis);
+	}
+
+	public int getRefreshMillis() {
+		return timer.getDelay();
+	}
+}
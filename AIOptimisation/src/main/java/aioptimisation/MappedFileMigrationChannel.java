@@ -0,0 +1,159 @@
+package aioptimisation;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.locks.LockSupport;
+
+public class MappedFileMigrationChannel implements MigrationChannel {
+
+	private static final int MAGIC = 0x41494d43;
+	private static final int VERSION = 1;
+	//magic, version, islands, capacity and dimensions, padded so the slots start on a cache line.
+	private static final int HEADER_BYTES = 64;
+	//sequence, epoch and count, the sequence is odd while the slot is being written.
+	private static final int SLOT_HEADER_BYTES = 24;
+	private static final VarHandle LONGS = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+
+	private FileChannel channel;
+	private MappedByteBuffer buffer;
+	private int islands;
+	private int capacity;
+	private int dimensions;
+	private int slotBytes;
+
+	/**
+	 * This constructor maps a file that several JVMs on the same machine can migrate cells through. Every process
+	 * opens the same file with the same sizes, the first one to open it writes the header under a file lock and the
+	 * others wait for it and check it.
+	 * Each island has two slots in the file, one for odd and one for even epochs, each guarded by a sequence number so a
+	 * reader never sees half written migrants and nobody takes a lock. With two slots an island can send the next epoch
+	 * before its neighbour in another process has read the last one, and in a ring it can never get two epochs ahead.
+	 * Use a new file for every run, the epochs of the last run are still in an old one.
+	 * @param path - the file, created if it does not exist.
+	 * @param islands - the amount of islands across all the processes.
+	 * @param capacity - the most cells an island sends at once.
+	 * @param dimensions - how many inputs each cell has.
+	 */
+	public MappedFileMigrationChannel(Path path, int islands, int capacity, int dimensions) {
+		this.islands = islands;
+		this.capacity = capacity;
+		this.dimensions = dimensions;
+		//Rounded up to a whole cache line so two islands never write to the same one.
+		this.slotBytes = (SLOT_HEADER_BYTES + capacity * (dimensions + 1) * Double.BYTES + 63) / 64 * 64;
+		try {
+			channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+			//Two processes opening a new file together would both see it empty, so the header is written under a lock
+			//on it. A file lock is held by the whole JVM, so channels opened in the same one take turns first.
+			boolean matches = true;
+			synchronized(MappedFileMigrationChannel.class) {
+				FileLock lock = channel.lock(0, HEADER_BYTES, false);
+				try {
+					boolean created = channel.size() == 0;
+					buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES + 2L * islands * slotBytes);
+					buffer.order(ByteOrder.nativeOrder());
+					if(created) {
+						buffer.putInt(0, MAGIC);
+						buffer.putInt(4, VERSION);
+						buffer.putInt(8, islands);
+						buffer.putInt(12, capacity);
+						buffer.putInt(16, dimensions);
+						buffer.force(0, HEADER_BYTES);
+					} else {
+						matches = buffer.getInt(0) == MAGIC && buffer.getInt(4) == VERSION && buffer.getInt(8) == islands
+								&& buffer.getInt(12) == capacity && buffer.getInt(16) == dimensions;
+					}
+				} finally {
+					lock.release();
+				}
+			}
+			if(!matches) {
+				channel.close();
+				throw new IllegalArgumentException(path + " was created for a different island model");
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private int slot(int island, long epoch) {
+		if(island < 0 || island >= islands) {
+			throw new IllegalArgumentException("island " + island + " is not between 0 and " + (islands - 1));
+		}
+		return HEADER_BYTES + (island * 2 + (int) (epoch & 1)) * slotBytes;
+	}
+
+	private DoubleBuffer doubles(int offset, int count) {
+		return buffer.slice(offset, count * Double.BYTES).order(ByteOrder.nativeOrder()).asDoubleBuffer();
+	}
+
+	/**
+	 * This method writes the migrants between two increments of the sequence number of the slot for the epoch.
+	 * Only the island that owns the slot writes to it.
+	 */
+	@Override
+	public void send(int island, long epoch, double inputs[], double affinities[], int count) {
+		int slot = slot(island, epoch);
+		int n = Math.min(count, capacity);
+		long sequence = (long) LONGS.getVolatile(buffer, slot);
+		LONGS.setVolatile(buffer, slot, sequence + 1);
+		VarHandle.storeStoreFence();
+		buffer.putLong(slot + 8, epoch);
+		buffer.putLong(slot + 16, n);
+		doubles(slot + SLOT_HEADER_BYTES, n * dimensions).put(inputs, 0, n * dimensions);
+		doubles(slot + SLOT_HEADER_BYTES + capacity * dimensions * Double.BYTES, n).put(affinities, 0, n);
+		LONGS.setVolatile(buffer, slot, sequence + 2);
+	}
+
+	/**
+	 * This method spins, then parks for a little longer each time, until the slot holds the epoch. It copies the
+	 * migrants out and reads the sequence number again, starting over if the island wrote to the slot meanwhile.
+	 */
+	@Override
+	public int receive(int island, long epoch, double inputs[], double affinities[]) {
+		int slot = slot(island, epoch);
+		long wait = 0;
+		while(true) {
+			long before = (long) LONGS.getVolatile(buffer, slot);
+			if((before & 1) == 0 && buffer.getLong(slot + 8) >= epoch) {
+				int n = (int) Math.max(0, Math.min(capacity, buffer.getLong(slot + 16)));
+				doubles(slot + SLOT_HEADER_BYTES, n * dimensions).get(inputs, 0, n * dimensions);
+				doubles(slot + SLOT_HEADER_BYTES + capacity * dimensions * Double.BYTES, n).get(affinities, 0, n);
+				VarHandle.loadLoadFence();
+				if((long) LONGS.getVolatile(buffer, slot) == before) {
+					return n;
+				}
+			}
+			if(Thread.currentThread().isInterrupted()) {
+				throw new IllegalStateException("interrupted waiting for island " + island);
+			}
+			if(wait < 100) {
+				Thread.onSpinWait();
+			} else {
+				LockSupport.parkNanos(Math.min(1_000_000, wait * 100));
+			}
+			wait++;
+		}
+	}
+
+	/**
+	 * This method closes the file. The mapping itself stays until the buffer is garbage collected.
+	 */
+	@Override
+	public void close() {
+		try {
+			buffer.force();
+			channel.close();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+}
@@ -0,0 +1,225 @@
+package aioptimisation;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+
+public class MetricsBuffer implements MetricsSink {
+
+	/**
+	 * What to do once the buffer is full. OVERWRITE_OLDEST keeps the last capacity records like a ring buffer.
+	 * HALVE_RESOLUTION throws away every other record and from then on only keeps every other one, so the
+	 * buffer always covers the whole run at a resolution that halves each time it fills up.
+	 */
+	public enum OverflowPolicy {
+		OVERWRITE_OLDEST, HALVE_RESOLUTION
+	}
+
+	//The largest buffer forRun creates, past this the resolution is halved instead.
+	public static final int MAX_RUN_CAPACITY = 1 << 16;
+
+	private int capacity;
+	private int decimation;
+	private OverflowPolicy policy;
+	private String series[] = new String[0];
+	//One primitive array per series plus the step of each record, so nothing is boxed.
+	private double values[][] = new double[0][];
+	private long steps[];
+	private int head;
+	private int size;
+	private long offered;
+	private long stride;
+
+	/**
+	 * This constructor keeps every record and halves the resolution if more than capacity records arrive.
+	 * @param capacity - the most records held at once.
+	 */
+	public MetricsBuffer(int capacity) {
+		this(capacity, 1, OverflowPolicy.HALVE_RESOLUTION);
+	}
+
+	/**
+	 * This constructor allocates a buffer whose memory stays the same however long the run is.
+	 * @param capacity - the most records held at once.
+	 * @param decimation - only every nth record is kept, 1 keeps them all.
+	 * @param policy - what to do once the buffer is full.
+	 */
+	public MetricsBuffer(int capacity, int decimation, OverflowPolicy policy) {
+		if(capacity < 2 || decimation < 1) {
+			throw new IllegalArgumentException("capacity must be at least 2 and decimation at least 1");
+		}
+		this.capacity = capacity;
+		this.decimation = decimation;
+		this.policy = policy;
+		this.steps = new long[capacity];
+	}
+
+	/**
+	 * This method creates the default buffer for a run. It has room for every record if the run is no longer
+	 * than MAX_RUN_CAPACITY records, past that it halves its resolution so memory stays the same.
+	 * @param expectedRecords - how many generations or temperature steps the run is expected to record.
+	 * @return the buffer.
+	 */
+	public static MetricsBuffer forRun(long expectedRecords) {
+		return new MetricsBuffer((int) Math.max(2, Math.min(MAX_RUN_CAPACITY, expectedRecords)));
+	}
+
+	/**
+	 * This method clears the buffer for a new run. The arrays are only reallocated if the amount of series changed.
+	 */
+	@Override
+	public void start(String series[]) {
+		if(values.length != series.length) {
+			values = new double[series.length][capacity];
+		}
+		this.series = series.clone();
+		head = 0;
+		size = 0;
+		offered = 0;
+		stride = decimation;
+	}
+
+	@Override
+	public void record(long step, double values[]) {
+		long index = offered++;
+		if(index % stride != 0) {
+			return;
+		}
+		if(size == capacity) {
+			if(policy == OverflowPolicy.HALVE_RESOLUTION) {
+				halve();
+				if(index % stride != 0) {
+					return;
+				}
+			} else {
+				head = (head + 1) % capacity;
+				size--;
+			}
+		}
+		int slot = (head + size) % capacity;
+		steps[slot] = step;
+		for(int s = 0; s < this.values.length; s++) {
+			this.values[s][slot] = values[s];
+		}
+		size++;
+	}
+
+	/**
+	 * This method keeps every other record and doubles the stride between kept records.
+	 * Only used by HALVE_RESOLUTION, where head is always 0.
+	 */
+	private void halve() {
+		int kept = 0;
+		for(int i = 0; i < size; i += 2) {
+			steps[kept] = steps[i];
+			for(int s = 0; s < values.length; s++) {
+				values[s][kept] = values[s][i];
+			}
+			kept++;
+		}
+		size = kept;
+		stride *= 2;
+	}
+
+	/**
+	 * This method writes the held records into a checkpoint, oldest first, with the position in the decimation so a
+	 * resumed run keeps and drops the same records it would have.
+	 */
+	void writeState(DataOutput out) throws IOException {
+		out.writeInt(series.length);
+		for(String name : series) {
+			out.writeUTF(name);
+		}
+		out.writeInt(size);
+		out.writeLong(offered);
+		out.writeLong(stride);
+		for(int i = 0; i < size; i++) {
+			out.writeLong(getStep(i));
+			for(int s = 0; s < series.length; s++) {
+				out.writeDouble(get(s, i));
+			}
+		}
+	}
+
+	/**
+	 * This method replaces the buffer with the records of a checkpoint, in place of start.
+	 */
+	void readState(DataInput in) throws IOException {
+		String series[] = new String[in.readInt()];
+		for(int s = 0; s < series.length; s++) {
+			series[s] = in.readUTF();
+		}
+		start(series);
+		int count = in.readInt();
+		if(count > capacity) {
+			throw new IOException("checkpoint holds " + count + " records, more than the capacity of " + capacity);
+		}
+		offered = in.readLong();
+		stride = in.readLong();
+		for(int i = 0; i < count; i++) {
+			steps[i] = in.readLong();
+			for(int s = 0; s < series.length; s++) {
+				values[s][i] = in.readDouble();
+			}
+		}
+		size = count;
+	}
+
+	/**
+	 * How many records are held.
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * The step of a held record, 0 is the oldest.
+	 */
+	public long getStep(int i) {
+		return steps[(head + i) % capacity];
+	}
+
+	/**
+	 * The value of one series for a held record, 0 is the oldest.
+	 */
+	public double get(int series, int i) {
+		return values[series][(head + i) % capacity];
+	}
+
+	/**
+	 * Index of a series by name, or -1 if there is no series with that name.
+	 */
+	public int seriesIndex(String name) {
+		for(int s = 0; s < series.length; s++) {
+			if(series[s].equals(name)) {
+				return s;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * This method copies one series out into an array list, eg for the charts.
+	 * @param name - the name of the series.
+	 * @return the held values, oldest first. Empty if there is no series with that name.
+	 */
+	public ArrayList<Double> toList(String name) {
+		int s = seriesIndex(name);
+		ArrayList<Double> list = new ArrayList<Double>(s < 0 ? 0 : size);
+		if(s >= 0) {
+			for(int i = 0; i < size; i++) {
+				list.add(get(s, i));
+			}
+		}
+		return list;
+	}
+
+	public String[] getSeries() {
+		return series.clone();
+	}
+
+	public int getCapacity() {
+		return capacity;
+	}
+}
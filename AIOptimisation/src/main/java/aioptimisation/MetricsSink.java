@@ -0,0 +1,60 @@
+package aioptimisation;
+
+/**
+ * Where an optimiser records its errors, once per generation or temperature step. A MetricsBuffer keeps them in
+ * memory. Use a smaller MetricsBuffer, a CsvMetricsWriter or a BinaryMetricsWriter to keep memory constant on long runs.
+ */
+public interface MetricsSink {
+
+	/**
+	 * Called once at the start of a run with the names of the values every record will hold.
+	 * @param series - the names of the series, in the same order as the values passed to record.
+	 */
+	void start(String series[]);
+
+	/**
+	 * Called once per generation or temperature step. The values array is reused by the caller,
+	 * so a sink that keeps the values has to copy them.
+	 * @param step - the generation or temperature step the values are for.
+	 * @param values - one value per series.
+	 */
+	void record(long step, double values[]);
+
+	/**
+	 * Called once the run is over.
+	 */
+	default void close() {
+	}
+
+	/**
+	 * This method creates a sink that passes everything on to several sinks, eg a buffer for the charts
+	 * and a file for the full run.
+	 * @param sinks - the sinks to pass the records to.
+	 * @return a sink that records to all of them.
+	 */
+	static MetricsSink tee(MetricsSink... sinks) {
+		MetricsSink copy[] = sinks.clone();
+		return new MetricsSink() {
+			@Override
+			public void start(String series[]) {
+				for(MetricsSink sink : copy) {
+					sink.start(series);
+				}
+			}
+
+			@Override
+			public void record(long step, double values[]) {
+				for(MetricsSink sink : copy) {
+					sink.record(step, values);
+				}
+			}
+
+			@Override
+			public void close() {
+				for(MetricsSink sink : copy) {
+					sink.close();
+				}
+			}
+		};
+	}
+}
@@ -0,0 +1,32 @@
+package aioptimisation;
+
+public interface MigrationChannel extends AutoCloseable {
+
+	/**
+	 * This method publishes the migrants of one island for an epoch, replacing the ones it sent before.
+	 * @param island - the island sending, its id across every process taking part.
+	 * @param epoch - the migration the cells are for, counting from 1.
+	 * @param inputs - the inputs of the cells, one cell after another.
+	 * @param affinities - the affinities of the cells.
+	 * @param count - how many cells to send.
+	 */
+	void send(int island, long epoch, double inputs[], double affinities[], int count);
+
+	/**
+	 * This method waits until an island has sent its migrants for an epoch and copies them out.
+	 * If the island has already moved on to a later epoch the newest migrants are copied instead.
+	 * @param island - the island to receive from.
+	 * @param epoch - the oldest epoch that will do.
+	 * @param inputs - where the inputs are written.
+	 * @param affinities - where the affinities are written.
+	 * @return how many cells were copied.
+	 */
+	int receive(int island, long epoch, double inputs[], double affinities[]);
+
+	/**
+	 * Releases anything the channel holds on to, eg a mapped file.
+	 */
+	@Override
+	default void close() {
+	}
+}
@@ -0,0 +1,86 @@
+package aioptimisation;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.random.RandomGenerator;
+
+public interface MoveGenerator {
+
+	/**
+	 * This method writes the next candidate into the candidate array. Every input has to be kept inside its bounds.
+	 * @param current - the current point, not changed.
+	 * @param candidate - where the candidate is written.
+	 * @param lowerBounds - lower bound of each input.
+	 * @param upperBounds - upper bound of each input.
+	 * @param temp - the temperature the candidate will be accepted or rejected at.
+	 * @param rnd - the random number generator of the chain.
+	 */
+	void move(double current[], double candidate[], double lowerBounds[], double upperBounds[], double temp, RandomGenerator rnd);
+
+	/**
+	 * Called once at the start of a run with the starting temperature, so steps can be scaled against it
+	 * and any adaptive state can be reset.
+	 */
+	default void start(double initialTemp) {
+	}
+
+	/**
+	 * Called after every move with whether the candidate was accepted.
+	 */
+	default void accepted(boolean accepted) {
+	}
+
+	/**
+	 * A generator for another chain. Generators that keep state return a new one so chains running at the
+	 * same time never share it, the others can return themselves.
+	 */
+	default MoveGenerator copy() {
+		return this;
+	}
+
+	/**
+	 * This method writes whatever the generator has learnt during a run into a checkpoint, eg the step size of an
+	 * adaptive generator. Generators without state write nothing.
+	 */
+	default void writeState(DataOutput out) throws IOException {
+	}
+
+	/**
+	 * This method reads back what writeState wrote, in place of start, when a run is resumed from a checkpoint.
+	 */
+	default void readState(DataInput in) throws IOException {
+	}
+
+	/**
+	 * Every candidate is drawn uniformly from the whole range, ignoring the current point. This is how
+	 * simulated annealing has always drawn its candidates.
+	 */
+	static MoveGenerator uniform() {
+		return UniformMoveGenerator.INSTANCE;
+	}
+
+	/**
+	 * Candidates are the current point plus Gaussian noise, see PerturbationMoveGenerator.
+	 * @param scale - the standard deviation at the starting temperature, as a fraction of the range of each input.
+	 */
+	static MoveGenerator gaussian(double scale) {
+		return new PerturbationMoveGenerator(PerturbationMoveGenerator.Distribution.GAUSSIAN, scale);
+	}
+
+	/**
+	 * Candidates are the current point plus Cauchy noise, see PerturbationMoveGenerator.
+	 * @param scale - the scale at the starting temperature, as a fraction of the range of each input.
+	 */
+	static MoveGenerator cauchy(double scale) {
+		return new PerturbationMoveGenerator(PerturbationMoveGenerator.Distribution.CAUCHY, scale);
+	}
+
+	/**
+	 * The step size of the perturbation is tuned during the run so that about targetAcceptance of the moves are accepted,
+	 * see AdaptiveMoveGenerator.
+	 */
+	static MoveGenerator adaptive(PerturbationMoveGenerator.Distribution distribution, double scale, double targetAcceptance) {
+		return new AdaptiveMoveGenerator(new PerturbationMoveGenerator(distribution, scale), targetAcceptance);
+	}
+}
@@ -0,0 +1,158 @@
+package aioptimisation;
+
+import java.util.random.RandomGenerator;
+
+public class Niching {
+
+	private double radius;
+	private int attempts = 10;
+	private KdTree tree;
+	//The inputs of the cells scaled to the unit box, cell i starts at i * dimensions.
+	private double scaled[] = new double[0];
+	private int nearest[] = new int[2];
+	private double distances[] = new double[2];
+	private long duplicates;
+	private long redraws;
+
+	/**
+	 * This constructor creates the niche control of a population. Each generation the cells are walked from best
+	 * to worst and put in a k-d tree, and any cell closer than the radius to a better one is a duplicate: it is replaced
+	 * at random like the worst cells are, so the best cells cannot collapse onto one point. The new random cells are
+	 * redrawn a few times if they land within the radius of a cell that is already there, so they go to empty niches.
+	 * Distances are measured with every input scaled to 0 to 1, so the radius is a fraction of the range.
+	 * A generation costs O(n log n) for n cells.
+	 * @param radius - how close two cells can be, as a fraction of the range of each input, eg 0.01. 0 only removes exact duplicates.
+	 */
+	public Niching(double radius) {
+		if(!(radius >= 0)) {
+			throw new IllegalArgumentException("radius must be at least 0");
+		}
+		this.radius = radius;
+	}
+
+	/**
+	 * This method replaces the duplicates among the cells before firstReplaced and every cell from firstReplaced on.
+	 * The cells have to be in rank order, best first, which they are after ranking apart from what mutation has
+	 * changed. The best cell is never replaced.
+	 * @param cells - the population.
+	 * @param firstReplaced - the first of the cells that are always replaced.
+	 * @param lowerBounds - lower bound of each input.
+	 * @param upperBounds - upper bound of each input.
+	 * @param rnd - the random number generator to draw new cells from.
+	 * @return how many duplicates were replaced, on top of the cells from firstReplaced on.
+	 */
+	public int replace(CellStore cells, int firstReplaced, double lowerBounds[], double upperBounds[], RandomGenerator rnd) {
+		int dims = cells.getDimensions();
+		prepare(cells.size(), dims);
+		double inputs[] = cells.getInputs();
+		double limit = radius * radius;
+		int replaced = 0;
+		for(int i = 0; i < cells.size(); i++) {
+			int offset = i * dims;
+			scale(inputs, offset, lowerBounds, upperBounds, scaled, offset);
+			if(i < firstReplaced) {
+				if(i == 0 || !occupied(scaled, offset, limit)) {
+					tree.add(scaled, offset);
+					continue;
+				}
+				replaced++;
+			}
+			for(int attempt = 0; attempt < attempts; attempt++) {
+				cells.randomInit(i, lowerBounds, upperBounds, rnd);
+				scale(inputs, offset, lowerBounds, upperBounds, scaled, offset);
+				if(!occupied(scaled, offset, limit)) {
+					break;
+				}
+				redraws++;
+			}
+			tree.add(scaled, offset);
+		}
+		duplicates += replaced;
+		return replaced;
+	}
+
+	/**
+	 * This method measures how spread out the population is: the mean distance from each cell to its nearest
+	 * neighbour, with the inputs scaled to 0 to 1. It drops towards 0 as the population collapses onto one point.
+	 * @param cells - the population.
+	 * @param lowerBounds - lower bound of each input.
+	 * @param upperBounds - upper bound of each input.
+	 * @return the mean nearest neighbour distance, 0 for fewer than two cells.
+	 */
+	public double diversity(CellStore cells, double lowerBounds[], double upperBounds[]) {
+		int size = cells.size();
+		int dims = cells.getDimensions();
+		if(size < 2) {
+			return 0;
+		}
+		prepare(size, dims);
+		double inputs[] = cells.getInputs();
+		for(int i = 0; i < size; i++) {
+			scale(inputs, i * dims, lowerBounds, upperBounds, scaled, i * dims);
+		}
+		tree.build(scaled, size);
+		double sum = 0;
+		for(int i = 0; i < size; i++) {
+			//The nearest point is the cell itself, or another cell in the same place.
+			tree.nearest(scaled, i * dims, 2, nearest, distances);
+			sum += Math.sqrt(distances[1]);
+		}
+		return sum / size;
+	}
+
+	private void prepare(int size, int dims) {
+		if(tree == null || tree.getDimensions() != dims) {
+			tree = new KdTree(dims, size);
+		}
+		if(scaled.length < size * dims) {
+			scaled = new double[size * dims];
+		}
+		tree.clear();
+	}
+
+	/**
+	 * True if a point already in the tree is within the radius, squared, of the point at the offset.
+	 */
+	private boolean occupied(double points[], int offset, double limit) {
+		return tree.nearest(points, offset, 1, nearest, distances) == 1 && distances[0] <= limit;
+	}
+
+	private static void scale(double from[], int fromOffset, double lowerBounds[], double upperBounds[], double to[], int toOffset) {
+		for(int d = 0; d < lowerBounds.length; d++) {
+			double range = upperBounds[d] - lowerBounds[d];
+			to[toOffset + d] = range > 0 ? (from[fromOffset + d] - lowerBounds[d]) / range : 0;
+		}
+	}
+
+	/**
+	 * How many duplicates have been replaced since the niching was created.
+	 */
+	public long getDuplicates() {
+		return duplicates;
+	}
+
+	/**
+	 * How many new random cells were drawn again because they landed too close to another cell.
+	 */
+	public long getRedraws() {
+		return redraws;
+	}
+
+	public double getRadius() {
+		return radius;
+	}
+
+	public int getAttempts() {
+		return attempts;
+	}
+
+	/**
+	 * How many times a new random cell is drawn at most to find an empty niche, the last draw is kept whatever.
+	 */
+	public void setAttempts(int attempts) {
+		if(attempts < 1) {
+			throw new IllegalArgumentException("attempts must be at least 1");
+		}
+		this.attempts = attempts;
+	}
+}
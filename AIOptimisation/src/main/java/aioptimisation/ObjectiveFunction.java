@@ -0,0 +1,82 @@
+package aioptimisation;
+
+public interface ObjectiveFunction {
+
+	/**
+	 * The name the function is registered under, eg "f1".
+	 */
+	String getName();
+
+	/**
+	 * How many inputs the function takes.
+	 */
+	int getDimensions();
+
+	/**
+	 * Lower bound of the search range for one input.
+	 * @param dimension - index of the input.
+	 */
+	double getLowerBound(int dimension);
+
+	/**
+	 * Upper bound of the search range for one input.
+	 * @param dimension - index of the input.
+	 */
+	double getUpperBound(int dimension);
+
+	/**
+	 * The known global minimum of the function, used to work out the error of a solution.
+	 */
+	double getOptimum();
+
+	/**
+	 * This method evaluates the function for one point stored in a larger array, so a whole
+	 * population can be held in one flat array and evaluated without copying each point out.
+	 * @param in - array holding the inputs.
+	 * @param offset - index of the first input of the point.
+	 * @return the output of the function.
+	 */
+	double evaluate(double in[], int offset);
+
+	default double evaluate(double in[]) {
+		return evaluate(in, 0);
+	}
+
+	/**
+	 * This method evaluates a run of points laid out one after another in a flat array, the way the cell store holds
+	 * them, point i starting at in[i * dimensions] with its output written to out[i]. By default it evaluates one point
+	 * at a time, functions that can do better for a batch, eg with SIMD, override it.
+	 * @param in - array holding the inputs of every point.
+	 * @param from - first point (inclusive).
+	 * @param to - point to stop at (exclusive).
+	 * @param out - where the outputs are written.
+	 */
+	default void evaluateBatch(double in[], int from, int to, double out[]) {
+		int dimensions = getDimensions();
+		for(int i = from; i < to; i++) {
+			out[i] = evaluate(in, i * dimensions);
+		}
+	}
+
+	/**
+	 * The lower bound of every input, one per dimension.
+	 */
+	default double[] getLowerBounds() {
+		double bounds[] = new double[getDimensions()];
+		for(int d = 0; d < bounds.length; d++) {
+			bounds[d] = getLowerBound(d);
+		}
+		return bounds;
+	}
+
+	/**
+	 * The upper bound of every input, one per dimension.
+	 */
+	default double[] getUpperBounds() {
+		double bounds[] = new double[getDimensions()];
+		for(int d = 0; d < bounds.length; d++) {
+			bounds[d] = getUpperBound(d);
+		}
+		return bounds;
+	}
+}
@@ -0,0 +1,181 @@
+package aioptimisation;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.IntFunction;
+
+public class ObjectiveFunctions {
+
+	//The amount of dimensions a scalable function is created with when it is looked up by name only.
+	public static final int DEFAULT_DIMENSIONS = 2;
+
+	private static final Map<String, ObjectiveFunction> REGISTRY = new LinkedHashMap<String, ObjectiveFunction>();
+	private static final Map<String, IntFunction<ObjectiveFunction>> SCALABLE = new LinkedHashMap<String, IntFunction<ObjectiveFunction>>();
+	//The two dimensional functions are evaluated in batches of this many points, split out into one array per input.
+	private static final int SLAB = 256;
+	private static final ThreadLocal<double[][]> SLABS = ThreadLocal.withInitial(() -> new double[3][SLAB]);
+
+	/**
+	 * One of the batch functions of ProblemFunctions that take a separate array for x and y.
+	 */
+	private interface PairFunction {
+		void evaluate(double xs[], double ys[], double out[], int from, int to);
+	}
+
+	static {
+		register(new AbstractObjectiveFunction("f1", 1, 0, 1.5, -1.43) {
+			@Override
+			public double evaluate(double in[], int offset) {
+				return ProblemFunctions.function1(in[offset]);
+			}
+
+			@Override
+			public void evaluateBatch(double in[], int from, int to, double out[]) {
+				ProblemFunctions.function1(in, out, from, to);
+			}
+		});
+		register(new AbstractObjectiveFunction("f2", 2, -5, 5, 0.0) {
+			@Override
+			public double evaluate(double in[], int offset) {
+				return ProblemFunctions.function2(in[offset], in[offset + 1]);
+			}
+
+			@Override
+			public void evaluateBatch(double in[], int from, int to, double out[]) {
+				evaluatePairs(in, from, to, out, ProblemFunctions::function2);
+			}
+		});
+		register(new AbstractObjectiveFunction("holder", 2, -10, 10, -19.2085) {
+			@Override
+			public double evaluate(double in[], int offset) {
+				return ProblemFunctions.holderTableFunction(in[offset], in[offset + 1]);
+			}
+
+			@Override
+			public void evaluateBatch(double in[], int from, int to, double out[]) {
+				evaluatePairs(in, from, to, out, ProblemFunctions::holderTableFunction);
+			}
+		});
+		register(new AbstractObjectiveFunction("egg", 2, -512, 512, -959.6407) {
+			@Override
+			public double evaluate(double in[], int offset) {
+				return ProblemFunctions.eggFunction(in[offset], in[offset + 1]);
+			}
+
+			@Override
+			public void evaluateBatch(double in[], int from, int to, double out[]) {
+				evaluatePairs(in, from, to, out, ProblemFunctions::eggFunction);
+			}
+		});
+		registerScalable("rastrigin", n -> new AbstractObjectiveFunction("rastrigin", n, -5.12, 5.12, 0.0) {
+			@Override
+			public double evaluate(double in[], int offset) {
+				return ProblemFunctions.rastrigin(in, offset, n);
+			}
+		});
+		registerScalable("rosenbrock", n -> new AbstractObjectiveFunction("rosenbrock", n, -5, 10, 0.0) {
+			@Override
+			public double evaluate(double in[], int offset) {
+				return ProblemFunctions.rosenbrock(in, offset, n);
+			}
+		});
+		registerScalable("ackley", n -> new AbstractObjectiveFunction("ackley", n, -32.768, 32.768, 0.0) {
+			@Override
+			public double evaluate(double in[], int offset) {
+				return ProblemFunctions.ackley(in, offset, n);
+			}
+		});
+		registerScalable("schwefel", n -> new AbstractObjectiveFunction("schwefel", n, -500, 500, 0.0) {
+			@Override
+			public double evaluate(double in[], int offset) {
+				return ProblemFunctions.schwefel(in, offset, n);
+			}
+		});
+	}
+
+	/**
+	 * This method splits interleaved x, y points into an array of xs and one of ys a slab at a time so a batch function
+	 * can read them with SIMD loads. The slabs are kept per thread so nothing is allocated.
+	 */
+	private static void evaluatePairs(double in[], int from, int to, double out[], PairFunction function) {
+		double slab[][] = SLABS.get();
+		double xs[] = slab[0];
+		double ys[] = slab[1];
+		double results[] = slab[2];
+		for(int start = from; start < to; start += SLAB) {
+			int count = Math.min(SLAB, to - start);
+			for(int k = 0, i = start * 2; k < count; k++, i += 2) {
+				xs[k] = in[i];
+				ys[k] = in[i + 1];
+			}
+			function.evaluate(xs, ys, results, 0, count);
+			System.arraycopy(results, 0, out, start, count);
+		}
+	}
+
+	/**
+	 * This method adds a function to the registry so it can be looked up by name, replacing any
+	 * function already registered under that name.
+	 * @param function - the function to add.
+	 */
+	public static synchronized void register(ObjectiveFunction function) {
+		REGISTRY.put(function.getName(), function);
+	}
+
+	/**
+	 * This method adds a function that works for any amount of dimensions, eg rastrigin.
+	 * @param name - the name used to look the function up.
+	 * @param factory - creates the function for a given amount of dimensions.
+	 */
+	public static synchronized void registerScalable(String name, IntFunction<ObjectiveFunction> factory) {
+		SCALABLE.put(name, factory);
+	}
+
+	/**
+	 * This method looks a function up by name. It should be done once before a run, not per evaluation.
+	 * Scalable functions are created with DEFAULT_DIMENSIONS.
+	 * @param name - the name of the function eg "f1", "f2", "holder", "egg" or "rastrigin".
+	 * @return the function.
+	 */
+	public static synchronized ObjectiveFunction get(String name) {
+		ObjectiveFunction function = REGISTRY.get(name);
+		if(function != null) {
+			return function;
+		}
+		return get(name, DEFAULT_DIMENSIONS);
+	}
+
+	/**
+	 * This method looks a function up by name for a given amount of dimensions. Fixed functions like f2
+	 * are only returned if they have that many dimensions.
+	 * @param name - the name of the function.
+	 * @param dimensions - how many inputs the function should take.
+	 * @return the function.
+	 */
+	public static synchronized ObjectiveFunction get(String name, int dimensions) {
+		ObjectiveFunction function = REGISTRY.get(name);
+		if(function != null) {
+			if(function.getDimensions() != dimensions) {
+				throw new IllegalArgumentException(name + " has " + function.getDimensions() + " dimensions, not " + dimensions);
+			}
+			return function;
+		}
+		IntFunction<ObjectiveFunction> factory = SCALABLE.get(name);
+		if(factory == null) {
+			throw new IllegalArgumentException("Unknown objective function: " + name);
+		}
+		if(dimensions < 1) {
+			throw new IllegalArgumentException("dimensions must be at least 1");
+		}
+		return factory.apply(dimensions);
+	}
+
+	public static synchronized Set<String> names() {
+		Set<String> names = new LinkedHashSet<String>(REGISTRY.keySet());
+		names.addAll(SCALABLE.keySet());
+		return Collections.unmodifiableSet(names);
+	}
+}
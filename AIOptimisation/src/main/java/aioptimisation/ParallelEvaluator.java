@@ -0,0 +1,96 @@
+package aioptimisation;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+public class ParallelEvaluator {
+
+	/**
+	 * A piece of work over a range of cells or solutions, from (inclusive) to (exclusive).
+	 */
+	public interface RangeTask {
+		void run(int from, int to);
+	}
+
+	private ForkJoinPool pool;
+	private int parallelism;
+	private int chunkSize;
+
+	/**
+	 * This constructor uses one thread per available processor and a chunk size of 256.
+	 */
+	public ParallelEvaluator() {
+		this(Runtime.getRuntime().availableProcessors(), 256);
+	}
+
+	/**
+	 * This constructor creates the fork join pool the evaluations run on.
+	 * @param parallelism - how many threads to evaluate on.
+	 * @param chunkSize - the amount of evaluations each task does before it stops splitting. Use a small number
+	 * for expensive objectives and a bigger one for cheap ones so the splitting does not cost more than the work.
+	 */
+	public ParallelEvaluator(int parallelism, int chunkSize) {
+		if(parallelism < 1 || chunkSize < 1) {
+			throw new IllegalArgumentException("parallelism and chunkSize must both be at least 1");
+		}
+		this.parallelism = parallelism;
+		this.chunkSize = chunkSize;
+		this.pool = new ForkJoinPool(parallelism);
+	}
+
+	/**
+	 * This method runs the task over 0 to count, split into chunks that are handed out across the pool.
+	 * Chunks always start on a multiple of the chunk size, so the same count is always split the same way
+	 * no matter how many threads there are. Each index is only ever touched by one chunk so as long as the
+	 * task only writes to its own indexes the results do not depend on the thread count.
+	 * It returns once every chunk is done.
+	 * @param count - the amount of items to evaluate.
+	 * @param task - the work to do for each range.
+	 */
+	public void forEach(int count, RangeTask task) {
+		if(count <= chunkSize || parallelism == 1) {
+			task.run(0, count);
+		} else {
+			pool.invoke(new ChunkAction(task, 0, count));
+		}
+	}
+
+	/**
+	 * This method stops the threads of the pool. The evaluator cannot be used afterwards.
+	 */
+	public void shutdown() {
+		pool.shutdown();
+	}
+
+	public int getParallelism() {
+		return parallelism;
+	}
+
+	public int getChunkSize() {
+		return chunkSize;
+	}
+
+	private class ChunkAction extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+		private final RangeTask task;
+		private final int from;
+		private final int to;
+
+		ChunkAction(RangeTask task, int from, int to) {
+			this.task = task;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute() {
+			int chunks = (to - from + chunkSize - 1) / chunkSize;
+			if(chunks <= 1) {
+				task.run(from, to);
+				return;
+			}
+			int mid = from + (chunks / 2) * chunkSize;
+			invokeAll(new ChunkAction(task, from, mid), new ChunkAction(task, mid, to));
+		}
+	}
+}
@@ -0,0 +1,409 @@
+package aioptimisation;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.IntFunction;
+import java.util.random.RandomGenerator;
+
+public class ParallelTempering {
+
+	/**
+	 * An immutable copy of the best point found by any chain. A new one is only created when a chain beats the
+	 * current one, and it is swapped in with compare and set so the chains never wait on a lock.
+	 */
+	public static final class Best {
+		private final double input[];
+		private final double value;
+		private final int chain;
+
+		Best(double input[], double value, int chain) {
+			this.input = input;
+			this.value = value;
+			this.chain = chain;
+		}
+
+		public double[] getInput() {
+			return input.clone();
+		}
+
+		public double getValue() {
+			return value;
+		}
+
+		/**
+		 * The chain that found it, 0 is the coldest.
+		 */
+		public int getChain() {
+			return chain;
+		}
+	}
+
+	private ObjectiveFunction objective;
+	private AnnealingChain chains[];
+	//The factor each chain's temperature is multiplied by, 1 for the coldest chain up to ladderRatio for the hottest.
+	private double ladder[];
+	private double ladderRatio = 10;
+	private int exchangeInterval = 10;
+	private int threads;
+	private MoveGenerator moves = MoveGenerator.uniform();
+	private RandomGenerator exchangeRandom;
+	private AtomicReference<Best> globalBest = new AtomicReference<Best>(new Best(new double[0], Double.POSITIVE_INFINITY, -1));
+	private long exchangeAttempts[];
+	private long exchangeAccepts[];
+
+	private StopCriterion stopCriterion;
+	private AnnealingProgress progress = new AnnealingProgress();
+	//Where the temperatures of the next round are planned, so the real progress is left alone.
+	private AnnealingProgress plan = new AnnealingProgress();
+
+	//The state of the current round, written before the chains are started and read by them.
+	private double roundTemps[];
+	private int roundSteps;
+	private double roundBest;
+	private long roundStep;
+	private int iterations;
+	private double optimum;
+	private MetricsSink sink;
+	private double metricValues[] = new double[SimulatedAnnealing.METRIC_SERIES.length];
+	//What the coldest chain saw at each step of the round, for the progress.
+	private double stepCurrentErrors[];
+	private double stepAverageErrors[];
+	private double stepAcceptance[];
+	//The best value of each chain after each step of the round, [chain][step].
+	private double stepBestValues[][];
+	private final ParallelEvaluator.RangeTask roundTask = this::runRound;
+	private double temperature;
+
+	/**
+	 * This constructor creates the chains, each with its own random number generator split from the one given,
+	 * so a seeded run gives the same result whatever the amount of threads.
+	 * @param objective - the function to minimise.
+	 * @param lowerBounds - lower bound of each input.
+	 * @param upperBounds - upper bound of each input.
+	 * @param chains - how many chains to run, at least 2.
+	 * @param rnd - the generator the chains are split from.
+	 */
+	public ParallelTempering(ObjectiveFunction objective, double lowerBounds[], double upperBounds[], int chains, SplittableRandom rnd) {
+		this(objective, lowerBounds, upperBounds, chains, k -> rnd.split());
+		this.exchangeRandom = rnd.split();
+	}
+
+	/**
+	 * This constructor gives chain k the stream streams.chain(k), so a chain draws the same numbers whatever the
+	 * amount of chains or threads, and the exchanges their own stream.
+	 * @param objective - the function to minimise.
+	 * @param lowerBounds - lower bound of each input.
+	 * @param upperBounds - upper bound of each input.
+	 * @param chains - how many chains to run, at least 2.
+	 * @param streams - the streams of the run.
+	 */
+	public ParallelTempering(ObjectiveFunction objective, double lowerBounds[], double upperBounds[], int chains, RandomStreams streams) {
+		this(objective, lowerBounds, upperBounds, chains, streams::chain);
+		this.exchangeRandom = streams.stream("exchange", 0);
+	}
+
+	private ParallelTempering(ObjectiveFunction objective, double lowerBounds[], double upperBounds[], int chains,
+			IntFunction<RandomGenerator> chainRandom) {
+		if(chains < 2) {
+			throw new IllegalArgumentException("parallel tempering needs at least 2 chains");
+		}
+		this.objective = objective;
+		this.chains = new AnnealingChain[chains];
+		for(int k = 0; k < chains; k++) {
+			this.chains[k] = new AnnealingChain(objective, lowerBounds, upperBounds, chainRandom.apply(k));
+		}
+		this.exchangeAttempts = new long[chains - 1];
+		this.exchangeAccepts = new long[chains - 1];
+		this.threads = Math.min(chains, Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * This method anneals every chain from the starting temperature down to 1 with the original geometric schedule,
+	 * see the other run method.
+	 */
+	public Best run(double temp, double coolingRate, int iterations, MetricsSink sink) {
+		return run(temp, CoolingSchedule.geometric(coolingRate), iterations, sink);
+	}
+
+	/**
+	 * This method anneals every chain following the cooling schedule, the same as SimulatedAnnealing
+	 * but with chain k running at the temperature times its step on the ladder. Every exchangeInterval temperatures
+	 * the chains stop and neighbouring chains try to swap their current points, so a good point found by a hot chain
+	 * can sink down to the cold ones and a cold chain stuck in a local minimum gets a way out. In between the chains run
+	 * on their own threads without any locking, only the global best is shared.
+	 * The temperatures of a round are planned before it starts, so inside a round a schedule that reacts to the run sees
+	 * the progress of the coldest chain as of the last exchange, and the planned steps do not count as steps without
+	 * improvement. The step that ends a round is cooled from the real progress of the round. Set the exchange interval
+	 * to 1 to give the schedule every step. The stop criterion is checked at every exchange.
+	 * The errors recorded each temperature are those of the coldest chain, with the best error taken over all chains as
+	 * of that temperature. They are recorded at each exchange, once the round is over.
+	 * @param temp - starting temperature of the coldest chain.
+	 * @param schedule - how the temperature drops, it is used as it is so pass a copy of one that keeps state.
+	 * @param iterations - the amount of iterations each chain does at each temperature.
+	 * @param sink - where the errors are recorded, already started.
+	 * @return the best point found by any chain.
+	 */
+	public Best run(double temp, CoolingSchedule schedule, int iterations, MetricsSink sink) {
+		this.iterations = iterations;
+		this.optimum = objective.getOptimum();
+		this.sink = sink;
+		globalBest.set(new Best(new double[0], Double.POSITIVE_INFINITY, -1));
+		buildLadder();
+		for(AnnealingChain chain : chains) {
+			MoveGenerator chainMoves = moves.copy();
+			chainMoves.start(temp);
+			chain.setMoveGenerator(chainMoves);
+			chain.randomStart();
+		}
+		for(int k = 0; k < chains.length; k++) {
+			offer(k);
+		}
+		roundTemps = new double[exchangeInterval];
+		stepCurrentErrors = new double[exchangeInterval];
+		stepAverageErrors = new double[exchangeInterval];
+		stepAcceptance = new double[exchangeInterval];
+		stepBestValues = new double[chains.length][exchangeInterval];
+		schedule.start(temp);
+		progress.start(temp);
+
+		ParallelEvaluator evaluator = new ParallelEvaluator(Math.max(1, threads), 1);
+		try {
+			double t = temp;
+			int round = 0;
+			while(!schedule.isFrozen(t, progress)) {
+				//Only the steps inside the round are planned, the one that ends it is cooled from the real progress.
+				int steps = 0;
+				boolean frozen = false;
+				roundTemps[steps++] = t;
+				plan.copyFrom(progress);
+				long evaluations = progress.getEvaluations();
+				while(steps < exchangeInterval) {
+					evaluations += (long) chains.length * iterations;
+					plan.advance(t, evaluations);
+					t = schedule.next(t, plan);
+					if(schedule.isFrozen(t, plan)) {
+						frozen = true;
+						break;
+					}
+					roundTemps[steps++] = t;
+				}
+				roundSteps = steps;
+				roundStep = progress.getStep();
+				roundBest = globalBest.get().value;
+				evaluator.forEach(chains.length, roundTask);
+				for(int s = 0; s < steps; s++) {
+					double best = roundBest;
+					for(int k = 0; k < chains.length; k++) {
+						best = Math.min(best, stepBestValues[k][s]);
+					}
+					double bestError = Math.abs(optimum - best);
+					if(sink != null) {
+						metricValues[0] = stepCurrentErrors[s];
+						metricValues[1] = stepAverageErrors[s];
+						metricValues[2] = bestError;
+						sink.record(roundStep + s, metricValues);
+					}
+					progress.update(roundTemps[s], progress.getEvaluations() + (long) chains.length * iterations,
+							stepCurrentErrors[s], bestError, stepAcceptance[s]);
+				}
+				if(!frozen) {
+					t = schedule.next(roundTemps[steps - 1], progress);
+				}
+				exchange(t, round++);
+				if(stopCriterion != null && stopCriterion.shouldStop(progress)) {
+					break;
+				}
+			}
+			temperature = t;
+		} finally {
+			evaluator.shutdown();
+		}
+		return globalBest.get();
+	}
+
+	private void buildLadder() {
+		ladder = new double[chains.length];
+		for(int k = 0; k < chains.length; k++) {
+			ladder[k] = Math.pow(ladderRatio, (double) k / (chains.length - 1));
+		}
+	}
+
+	/**
+	 * This method runs one round for the chains from (inclusive) to (exclusive), on whichever thread it is handed to.
+	 * Each chain keeps its best value after every step, and chain 0 its errors, so they can be recorded once the round
+	 * is over with the best taken over all the chains at each step.
+	 */
+	private void runRound(int from, int to) {
+		for(int k = from; k < to; k++) {
+			AnnealingChain chain = chains[k];
+			for(int s = 0; s < roundSteps; s++) {
+				double chainTemp = roundTemps[s] * ladder[k];
+				double sum = 0.0;
+				long accepted = chain.getAccepted();
+				for(int i = 0; i < iterations; i++) {
+					sum += Math.abs(optimum - chain.step(chainTemp));
+				}
+				stepBestValues[k][s] = chain.getBestValue();
+				if(k == 0) {
+					stepCurrentErrors[s] = Math.abs(optimum - chain.getCurrentValue());
+					stepAverageErrors[s] = sum / iterations;
+					stepAcceptance[s] = (double) (chain.getAccepted() - accepted) / iterations;
+				}
+			}
+			offer(k);
+		}
+	}
+
+	/**
+	 * This method publishes the best point of a chain if it beats the global best. If another chain got there
+	 * first the compare and set fails and it tries again against the new global best. Ties go to the colder chain
+	 * so the result does not depend on which thread was quicker.
+	 */
+	private void offer(int k) {
+		AnnealingChain chain = chains[k];
+		double value = chain.getBestValue();
+		Best current = globalBest.get();
+		while(value < current.value || (value == current.value && k < current.chain)) {
+			Best next = new Best(chain.getBest().clone(), value, k);
+			if(globalBest.compareAndSet(current, next)) {
+				return;
+			}
+			current = globalBest.get();
+		}
+	}
+
+	/**
+	 * This method tries to swap the current points of neighbouring chains, the even pairs on even rounds and the odd
+	 * pairs on odd rounds. A swap between a colder chain k and a hotter chain k + 1 is accepted with probability
+	 * min(1, exp((1 / Tk - 1 / Tk+1) * (Ek - Ek+1))), so it always happens if the hotter chain has the better point.
+	 * @param t - the temperature of the coldest chain at the end of the round.
+	 * @param round - which round just finished.
+	 */
+	private void exchange(double t, int round) {
+		for(int k = round % 2; k + 1 < chains.length; k += 2) {
+			double coldBeta = 1 / (t * ladder[k]);
+			double hotBeta = 1 / (t * ladder[k + 1]);
+			double delta = (coldBeta - hotBeta) * (chains[k].getCurrentValue() - chains[k + 1].getCurrentValue());
+			exchangeAttempts[k]++;
+			if(delta >= 0 || Math.exp(delta) > exchangeRandom.nextDouble()) {
+				chains[k].exchange(chains[k + 1]);
+				exchangeAccepts[k]++;
+			}
+		}
+	}
+
+	/**
+	 * The fraction of swaps accepted between chain k and k + 1, for each k. Around 20 to 40 percent is usually a
+	 * good ladder, much lower means the ladder ratio is too big for the amount of chains.
+	 */
+	public double[] getExchangeAcceptance() {
+		double acceptance[] = new double[exchangeAttempts.length];
+		for(int k = 0; k < acceptance.length; k++) {
+			acceptance[k] = exchangeAttempts[k] == 0 ? 0 : (double) exchangeAccepts[k] / exchangeAttempts[k];
+		}
+		return acceptance;
+	}
+
+	public Best getGlobalBest() {
+		return globalBest.get();
+	}
+
+	/**
+	 * The coldest chain, the one whose errors are recorded.
+	 */
+	public AnnealingChain getColdestChain() {
+		return chains[0];
+	}
+
+	public int getChains() {
+		return chains.length;
+	}
+
+	public long getEvaluations() {
+		long evaluations = 0;
+		for(AnnealingChain chain : chains) {
+			evaluations += chain.getEvaluations();
+		}
+		return evaluations;
+	}
+
+	/**
+	 * The temperature of the coldest chain when the last run finished.
+	 */
+	public double getTemperature() {
+		return temperature;
+	}
+
+	public StopCriterion getStopCriterion() {
+		return stopCriterion;
+	}
+
+	/**
+	 * Ends the run early, checked at every exchange. Null to always run until the schedule is frozen.
+	 */
+	public void setStopCriterion(StopCriterion stopCriterion) {
+		this.stopCriterion = stopCriterion;
+	}
+
+	/**
+	 * How the last run went, as seen by the coldest chain.
+	 */
+	public AnnealingProgress getProgress() {
+		return progress;
+	}
+
+	public double getLadderRatio() {
+		return ladderRatio;
+	}
+
+	/**
+	 * How much hotter the hottest chain is than the coldest, the chains in between are spaced evenly on a log scale.
+	 */
+	public void setLadderRatio(double ladderRatio) {
+		if(ladderRatio < 1) {
+			throw new IllegalArgumentException("ladderRatio must be at least 1");
+		}
+		this.ladderRatio = ladderRatio;
+	}
+
+	public int getExchangeInterval() {
+		return exchangeInterval;
+	}
+
+	/**
+	 * How many temperatures the chains run for between exchanges. Each exchange makes the threads wait for each
+	 * other, so cheap functions want a bigger interval.
+	 */
+	public void setExchangeInterval(int exchangeInterval) {
+		if(exchangeInterval < 1) {
+			throw new IllegalArgumentException("exchangeInterval must be at least 1");
+		}
+		this.exchangeInterval = exchangeInterval;
+	}
+
+	public MoveGenerator getMoveGenerator() {
+		return moves;
+	}
+
+	/**
+	 * Sets how the chains draw candidates, every chain gets its own copy. The hotter chains take bigger steps
+	 * with a temperature scaled generator since they all scale against the starting temperature of the coldest chain.
+	 */
+	public void setMoveGenerator(MoveGenerator moves) {
+		this.moves = moves;
+	}
+
+	public int getThreads() {
+		return threads;
+	}
+
+	/**
+	 * How many threads the chains are spread over, 1 runs them all on the calling thread. The result is the same either way.
+	 */
+	public void setThreads(int threads) {
+		if(threads < 1) {
+			throw new IllegalArgumentException("threads must be at least 1");
+		}
+		this.threads = threads;
+	}
+}
@@ -0,0 +1,92 @@
+package aioptimisation;
+
+import java.util.random.RandomGenerator;
+
+public class ParameterRange {
+
+	private String name;
+	private double low;
+	private double high;
+	private boolean logScale;
+	private boolean integer;
+
+	/**
+	 * This constructor describes the values a parameter of an ExperimentJob can take when it is tuned, see Tuner.
+	 * @param name - the name of the parameter, eg coolingRate.
+	 * @param low - the lowest value.
+	 * @param high - the highest value.
+	 * @param logScale - true to sample evenly across orders of magnitude, eg for a cooling rate from 0.0001 to 0.05.
+	 * @param integer - true to round the samples, eg for a population size.
+	 */
+	public ParameterRange(String name, double low, double high, boolean logScale, boolean integer) {
+		if(!(low <= high)) {
+			throw new IllegalArgumentException(name + " has low " + low + " above high " + high);
+		}
+		if(logScale && !(low > 0)) {
+			throw new IllegalArgumentException(name + " needs a low above 0 to be sampled on a log scale");
+		}
+		this.name = name;
+		this.low = low;
+		this.high = high;
+		this.logScale = logScale;
+		this.integer = integer;
+	}
+
+	public static ParameterRange uniform(String name, double low, double high) {
+		return new ParameterRange(name, low, high, false, false);
+	}
+
+	public static ParameterRange logUniform(String name, double low, double high) {
+		return new ParameterRange(name, low, high, true, false);
+	}
+
+	public static ParameterRange integer(String name, int low, int high, boolean logScale) {
+		return new ParameterRange(name, low, high, logScale, true);
+	}
+
+	/**
+	 * This method draws a value of the parameter.
+	 * @param rnd - the generator to draw from.
+	 * @return a value from low to high, both included.
+	 */
+	public double sample(RandomGenerator rnd) {
+		double value;
+		if(integer) {
+			//Widened by half a step each side so the end values are drawn as often as the others.
+			double from = logScale ? Math.log(low - 0.5 > 0 ? low - 0.5 : low) : low - 0.5;
+			double to = logScale ? Math.log(high + 0.5) : high + 0.5;
+			double u = from + (to - from) * rnd.nextDouble();
+			value = Math.rint(logScale ? Math.exp(u) : u);
+		} else if(logScale) {
+			value = Math.exp(Math.log(low) + (Math.log(high) - Math.log(low)) * rnd.nextDouble());
+		} else {
+			value = low + (high - low) * rnd.nextDouble();
+		}
+		return Math.max(low, Math.min(high, value));
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public double getLow() {
+		return low;
+	}
+
+	public double getHigh() {
+		return high;
+	}
+
+	public boolean isLogScale() {
+		return logScale;
+	}
+
+	public boolean isInteger() {
+		return integer;
+	}
+
+	@Override
+	public String toString() {
+		return name + " " + (logScale ? "log " : "") + (integer ? "integer " : "") + low + " to " + high;
+	}
+}
@@ -0,0 +1,137 @@
+package aioptimisation;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.random.RandomGenerator;
+
+public class PerturbationMoveGenerator implements MoveGenerator {
+
+	/**
+	 * GAUSSIAN moves are mostly small. CAUCHY has heavy tails so every so often it jumps a long way,
+	 * which helps on functions with lots of local minima like egg.
+	 */
+	public enum Distribution {
+		GAUSSIAN, CAUCHY
+	}
+
+	private Distribution distribution;
+	private double scale;
+	private double multiplier = 1.0;
+	private boolean temperatureScaled = true;
+	private double initialTemp = 1.0;
+
+	/**
+	 * This constructor creates a generator that moves every input of the current point by a random step.
+	 * @param distribution - what the steps are drawn from.
+	 * @param scale - the size of the steps at the starting temperature, as a fraction of the range of each input,
+	 * eg 0.1 for steps of about a tenth of the range.
+	 */
+	public PerturbationMoveGenerator(Distribution distribution, double scale) {
+		if(!(scale > 0)) {
+			throw new IllegalArgumentException("scale must be above 0");
+		}
+		this.distribution = distribution;
+		this.scale = scale;
+	}
+
+	@Override
+	public void start(double initialTemp) {
+		this.initialTemp = initialTemp > 0 ? initialTemp : 1.0;
+	}
+
+	/**
+	 * This method moves every input by a step drawn from the distribution. The step size is the scale times the range of
+	 * the input, times the square root of how far the temperature has dropped from the start if it is temperature scaled,
+	 * so the search narrows in as the run cools. A step that leaves the range is reflected back off the bound.
+	 */
+	@Override
+	public void move(double current[], double candidate[], double lowerBounds[], double upperBounds[], double temp, RandomGenerator rnd) {
+		double step = scale * multiplier;
+		if(temperatureScaled) {
+			step *= Math.sqrt(Math.max(0, temp) / initialTemp);
+		}
+		for(int d = 0; d < candidate.length; d++) {
+			double lower = lowerBounds[d];
+			double upper = upperBounds[d];
+			double range = upper - lower;
+			double noise = distribution == Distribution.GAUSSIAN ? rnd.nextGaussian() : Math.tan(Math.PI * (rnd.nextDouble() - 0.5));
+			candidate[d] = reflect(current[d] + noise * step * range, lower, upper, range);
+		}
+	}
+
+	/**
+	 * This method folds a value back into the range as if the bounds were mirrors. Very long Cauchy jumps can
+	 * fold several times, anything still out after that is clamped.
+	 */
+	private static double reflect(double value, double lower, double upper, double range) {
+		if(value >= lower && value <= upper) {
+			return value;
+		}
+		if(range > 0 && Math.abs(value) < 1e300) {
+			double period = 2 * range;
+			double folded = (value - lower) % period;
+			if(folded < 0) {
+				folded += period;
+			}
+			value = folded <= range ? lower + folded : upper - (folded - range);
+		}
+		return Math.max(lower, Math.min(upper, value));
+	}
+
+	@Override
+	public void writeState(DataOutput out) throws IOException {
+		out.writeDouble(initialTemp);
+		out.writeDouble(multiplier);
+	}
+
+	@Override
+	public void readState(DataInput in) throws IOException {
+		initialTemp = in.readDouble();
+		multiplier = in.readDouble();
+	}
+
+	@Override
+	public MoveGenerator copy() {
+		PerturbationMoveGenerator copy = new PerturbationMoveGenerator(distribution, scale);
+		copy.multiplier = multiplier;
+		copy.temperatureScaled = temperatureScaled;
+		copy.initialTemp = initialTemp;
+		return copy;
+	}
+
+	public Distribution getDistribution() {
+		return distribution;
+	}
+
+	public double getScale() {
+		return scale;
+	}
+
+	public double getMultiplier() {
+		return multiplier;
+	}
+
+	/**
+	 * Multiplies the step size on top of the scale, used by AdaptiveMoveGenerator to tune the steps during a run.
+	 */
+	public void setMultiplier(double multiplier) {
+		this.multiplier = multiplier;
+	}
+
+	public boolean isTemperatureScaled() {
+		return temperatureScaled;
+	}
+
+	/**
+	 * Turn off to keep the step size the same at every temperature.
+	 */
+	public void setTemperatureScaled(boolean temperatureScaled) {
+		this.temperatureScaled = temperatureScaled;
+	}
+
+	@Override
+	public String toString() {
+		return distribution.name().toLowerCase() + "(" + scale + ")";
+	}
+}
@@ -0,0 +1,963 @@
+package aioptimisation;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.random.RandomGenerator;
+
+public class Population {
+	
+	/**
+	 * FULL sorts the whole population every generation. PARTIAL only orders the parts the algorithm reads:
+	 * the best cell, the top 10 and top 50, the cloned cells, the replaced cells and a number of rank buckets
+	 * across the mutated cells, so it costs O(n log buckets) instead of O(n log n).
+	 */
+	public enum RankingMode {
+		FULL, PARTIAL
+	}
+	
+	private int populationSize; 
+	private int dimensions;
+	private double replaceRate;
+	private double cloneRate;
+	private double  minRange, maxRange;
+	//The range of each input, every mutated or replaced input is kept inside it.
+	private double lowerBounds[];
+	private double upperBounds[];
+	private int iterations;
+	private ObjectiveFunction objective;
+	private CellStore cells;
+	private ParallelEvaluator evaluator;
+	//Only set once the population has been seeded or checkpoints are on, otherwise ThreadLocalRandom is used.
+	private RandomGenerator random;
+	private RankingMode rankingMode = RankingMode.FULL;
+	//Null for the original mutation, see setClonalExpansion.
+	private ClonalExpansion clonalExpansion;
+	private SurrogateModel surrogate;
+	private Niching niching;
+	//Only measures getDiversity when no niching is set, created on the first call so its buffers are reused.
+	private Niching diversityNiching;
+	//The random numbers of one generation of mutation.
+	private double uniforms[] = new double[0];
+	//The mutated inputs of one cell while the surrogate screens them, and the cells evaluated by runProblem.
+	private double candidate[];
+	private int evaluatedCells[];
+	private int rankBuckets = 32;
+	private int rankBoundaries[];
+	//The names of the errors recorded every generation by default, see PopulationStatistics for the others.
+	public static final String METRIC_SERIES[] = {"top10MeanError", "top50MeanError", "averageError", "topSolutionError"};
+	private MetricsSink metricsSink;
+	private ProgressPublisher progressPublisher;
+	private PopulationStatistics statistics = new PopulationStatistics();
+	private double metricValues[] = new double[METRIC_SERIES.length];
+	private long generation;
+	private long evaluations;
+	private Path checkpointPath;
+	private int checkpointInterval;
+    
+	/**
+	 * This constructor creates a population of cells by setting all the necessary attributes below.
+	 * It also initialises a cell store big enough for the whole population. It does this by looping from 0 to the
+	 * population size, randomly initialising each cell in the store.
+	 * @param minRange - minimum range of the function.
+	 * @param maxRange - maximum range of the function.
+	 * @param dimensions - how many inputs for the function. 1 = x, 2 = x, y
+	 * @param cloneRate - a decimal number below one eg. 0.1 which would mean 10% is cloned in the population.
+	 * @param initialMutateMultiplier - value used as part of the mutation process.
+	 * @param replaceRate - a decimal number below one eg. 0.1 which would mean 10% of the population is replaced.
+	 * @param populationSize - the amount of cells in the population.
+	 * @param iterations - the amount of iterations to do to find the minimum.
+	 * @param funcName - name of the function to minimise, looked up once in ObjectiveFunctions with the given dimensions.
+	 */
+    public Population(double minRange, double maxRange, int dimensions,
+    				  double cloneRate, double replaceRate, int populationSize, int iterations, String funcName){
+    	this(minRange, maxRange, dimensions, cloneRate, replaceRate, populationSize, iterations, ObjectiveFunctions.get(funcName, dimensions));
+    }
+    
+	/**
+	 * This constructor creates a population for a function, taking the range and dimensions from the function itself.
+	 * @param objective - the function to minimise.
+	 * @param cloneRate - a decimal number below one eg. 0.1 which would mean 10% is cloned in the population.
+	 * @param replaceRate - a decimal number below one eg. 0.1 which would mean 10% of the population is replaced.
+	 * @param populationSize - the amount of cells in the population.
+	 * @param iterations - the amount of iterations to do to find the minimum.
+	 */
+    public Population(ObjectiveFunction objective, double cloneRate, double replaceRate, int populationSize, int iterations){
+    	this(objective.getLowerBounds(), objective.getUpperBounds(), cloneRate, replaceRate, populationSize, iterations, objective);
+    }
+    
+	/**
+	 * This constructor creates a population of cells for any objective function, see the first constructor.
+	 * @param objective - the function to minimise.
+	 */
+    public Population(double minRange, double maxRange, int dimensions,
+    				  double cloneRate, double replaceRate, int populationSize, int iterations, ObjectiveFunction objective){
+    	this(AbstractObjectiveFunction.uniform(dimensions, minRange), AbstractObjectiveFunction.uniform(dimensions, maxRange),
+    			cloneRate, replaceRate, populationSize, iterations, objective);
+    }
+    
+	/**
+	 * This constructor creates a population where every input has its own range. The amount of dimensions is
+	 * the length of the bounds, so it works the same for 2 or 1000 dimensional problems.
+	 * @param lowerBounds - lower bound of each input.
+	 * @param upperBounds - upper bound of each input.
+	 * @param cloneRate - a decimal number below one eg. 0.1 which would mean 10% is cloned in the population.
+	 * @param replaceRate - a decimal number below one eg. 0.1 which would mean 10% of the population is replaced.
+	 * @param populationSize - the amount of cells in the population.
+	 * @param iterations - the amount of iterations to do to find the minimum.
+	 * @param objective - the function to minimise, it has to take as many inputs as there are bounds.
+	 */
+    public Population(double lowerBounds[], double upperBounds[],
+    				  double cloneRate, double replaceRate, int populationSize, int iterations, ObjectiveFunction objective){
+    	if(lowerBounds.length != upperBounds.length) {
+    		throw new IllegalArgumentException("lowerBounds and upperBounds must have the same length");
+    	}
+    	if(lowerBounds.length != objective.getDimensions()) {
+    		//The cells are evaluated in batches laid out with the dimensions of the function.
+    		throw new IllegalArgumentException(objective.getName() + " takes " + objective.getDimensions() + " inputs, not " + lowerBounds.length);
+    	}
+    	int dimensions = lowerBounds.length;
+    	this.lowerBounds = lowerBounds.clone();
+    	this.upperBounds = upperBounds.clone();
+    	this.minRange = Arrays.stream(lowerBounds).min().orElse(0);
+    	this.maxRange = Arrays.stream(upperBounds).max().orElse(0);
+    	this.setDimension(dimensions);
+    	this.setCloneRate(cloneRate);
+    	this.setReplaceRate(replaceRate);
+    	this.setPopulationSize(populationSize);
+    	this.setIterations(iterations);
+    	this.objective = objective;
+    	this.metricsSink = MetricsBuffer.forRun(iterations);
+    	
+    	this.cells = new CellStore(populationSize, dimensions);
+    	cells.randomInit(this.lowerBounds, this.upperBounds, ThreadLocalRandom.current());
+    }
+    
+    /**
+     * This method is the main one that runs all the elements of the clonal selection
+     * algorithm together. It starts by running the problem over all cells in the population to get
+     * an output for each cell. Then the cells are ranked in descending order as we want to find the find
+     * minimum and therefore cell 0 in the store is the best cell in the population. 
+     * The method will loop n amount of iterations. For each loop I mutate the last 90 cells in population, mutating
+     * cells further away from the minimum more than cells closer to it. I do not touch the first 10 cells in the
+     * population as they are the cloned ones. The bottom 10 cells are replaced with randomly generated cells so the population
+     * size stays the same. I then run the problem again and re-evaluation by ranking them. After printing the cells to the
+     * terminal it will keep repeating starting with the mutation.
+     * If a checkpoint has been set the whole state is saved every so many generations, see resume.
+     * @param pop - the population object.
+     */
+    public void run(Population pop) {
+    	pop.start();
+    	pop.runRemaining();
+    }
+    
+    /**
+     * This method carries on a run that was stopped, from the last checkpoint written to the file. The population
+     * has to be created with the same parameters, function, statistics and settings as the one that wrote it. The cells,
+     * their affinities, the random number generator, the counters, the archive of the surrogate and, if the metrics sink is a MetricsBuffer, the recorded
+     * errors are all put back, so the run carries on exactly as if it had never stopped and ends with the same result.
+     * Any other metrics sink is started again so it only gets the generations from here on.
+     * @param path - the checkpoint file.
+     * @throws IOException if the checkpoint cannot be read or is for a different population.
+     */
+    public void resume(Path path) throws IOException {
+    	DataInput in = Checkpoint.read(path, "population");
+    	int size = in.readInt();
+    	int dims = in.readInt();
+    	if(size != cells.size() || dims != getDimension()) {
+    		throw new IOException(path + " is for a population of " + size + " cells with " + dims + " dimensions");
+    	}
+    	generation = in.readLong();
+    	evaluations = in.readLong();
+    	long clones = in.readLong();
+    	if(clonalExpansion != null) {
+    		clonalExpansion.setEvaluations(clones);
+    	}
+    	random = Checkpoint.readRandom(in);
+    	cells.readState(in);
+    	if(in.readBoolean() != (surrogate != null)) {
+    		throw new IOException(path + (surrogate != null ? " was written without a surrogate" : " was written with a surrogate"));
+    	}
+    	if(surrogate != null) {
+    		surrogate.readState(in);
+    	}
+    	if(metricValues.length != statistics.getSeriesCount()) {
+    		metricValues = new double[statistics.getSeriesCount()];
+    	}
+    	//The recorded errors are the last thing in the checkpoint, so they can be left unread.
+    	if(in.readBoolean() && metricsSink instanceof MetricsBuffer) {
+    		((MetricsBuffer) metricsSink).readState(in);
+    	} else {
+    		metricsSink.start(statistics.getSeries());
+    	}
+    	if(progressPublisher != null) {
+    		progressPublisher.start(statistics.getSeries());
+    	}
+    	runRemaining();
+    }
+    
+    /**
+     * This method iterates until the amount of iterations is reached, writing a checkpoint when one is due.
+     */
+    private void runRemaining() {
+    	while(generation < getIterations()) {
+    		iterate();
+    		if(checkpointPath != null && generation % checkpointInterval == 0) {
+    			writeCheckpoint();
+    		}
+    	}
+    	metricsSink.close();
+    	if(progressPublisher != null) {
+    		progressPublisher.close();
+    	}
+    }
+    
+    /**
+     * This method saves the whole state of the run to the checkpoint file, see Checkpoint.write.
+     */
+    private void writeCheckpoint() {
+    	try {
+    		Checkpoint.write(checkpointPath, "population", this::writeState);
+    	} catch (IOException e) {
+    		throw new UncheckedIOException("Could not write checkpoint " + checkpointPath, e);
+    	}
+    }
+    
+    private void writeState(DataOutput out) throws IOException {
+    	out.writeInt(cells.size());
+    	out.writeInt(getDimension());
+    	out.writeLong(generation);
+    	out.writeLong(evaluations);
+    	out.writeLong(clonalExpansion != null ? clonalExpansion.getEvaluations() : 0);
+    	Checkpoint.writeRandom(out, random);
+    	cells.writeState(out);
+    	out.writeBoolean(surrogate != null);
+    	if(surrogate != null) {
+    		surrogate.writeState(out);
+    	}
+    	out.writeBoolean(metricsSink instanceof MetricsBuffer);
+    	if(metricsSink instanceof MetricsBuffer) {
+    		((MetricsBuffer) metricsSink).writeState(out);
+    	}
+    }
+    
+    /**
+     * This method evaluates and ranks the starting population and starts the metrics sink.
+     * It has to be called once before iterate.
+     */
+    public void start() {
+    	if(checkpointPath != null && random == null) {
+    		random = new SplitMixRandom();
+    	}
+    	if(metricValues.length != statistics.getSeriesCount()) {
+    		metricValues = new double[statistics.getSeriesCount()];
+    	}
+    	metricsSink.start(statistics.getSeries());
+    	if(progressPublisher != null) {
+    		progressPublisher.start(statistics.getSeries());
+    	}
+    	generation = 0;
+    	runProblem();
+    	rankPopulation();
+    }
+    
+    /**
+     * This method does one generation of the algorithm: mutate, replace, evaluate and rank,
+     * then record the errors for this generation in the metrics sink. The population wide errors are worked out
+     * while the cells are evaluated, only the top k errors are read after ranking, from the front of the population.
+     * The errors go into one reused array so recording them does not box or allocate anything.
+     */
+    public void iterate() {
+    	if(clonalExpansion != null) {
+    		evaluations += clonalExpansion.expand(cells, Math.max(1, clonedCells()), objective, lowerBounds, upperBounds, random(), evaluator);
+    	} else {
+    		mutatePopulation();
+    	}
+    	removeAndReplace();
+    	runProblem();
+    	rankPopulation();
+    	
+    	statistics.fill(cells.getAffinities(), cells.size(), objective.getOptimum(), metricValues);
+    	if(progressPublisher != null) {
+    		progressPublisher.record(generation, metricValues);
+    	}
+    	metricsSink.record(generation++, metricValues);
+    }
+    
+	/**
+	 * This method runs the objective function over every cell whose inputs have changed since it was last evaluated.
+	 * The cells that were kept as they are, eg the cloned ones, are not dirty and keep their affinity, which matters
+	 * when the objective is an expensive simulation.
+	 * The affinity (output) of the function is written straight into the affinities array of the cell store,
+	 * reading each cell's inputs from its slot in the flat inputs array.
+	 * If a parallel evaluator has been set the cells are split into chunks and evaluated across its threads.
+	 * Every cell is evaluated on its own so the affinities are the same whatever the thread count.
+	 * The errors for the metrics are gathered in the same pass, one partial per chunk, see PopulationStatistics.
+	 */
+    public void runProblem() {
+    	statistics.reset(cells.size(), evaluator != null ? evaluator.getChunkSize() : PopulationStatistics.DEFAULT_BLOCK_SIZE);
+    	int dirty = cells.countDirty();
+    	evaluations += dirty;
+    	if(surrogate != null) {
+    		dirty = dirtyCells(dirty);
+    	}
+    	if(evaluator != null) {
+    		evaluator.forEach(cells.size(), this::runProblem);
+    	} else {
+    		runProblem(0, cells.size());
+    	}
+    	if(surrogate != null) {
+    		//Archived afterwards on this thread, the surrogate is not shared between the evaluator's threads.
+    		double inputs[] = cells.getInputs();
+    		double affinities[] = cells.getAffinities();
+    		int dims = getDimension();
+    		for(int i = 0; i < dirty; i++) {
+    			int cell = evaluatedCells[i];
+    			surrogate.add(inputs, cell * dims, affinities[cell]);
+    		}
+    	}
+    }
+    
+    /**
+     * This method lists the cells runProblem is about to evaluate, so they can be archived by the surrogate.
+     * @return how many there are.
+     */
+    private int dirtyCells(int count) {
+    	if(evaluatedCells == null || evaluatedCells.length < count) {
+    		evaluatedCells = new int[cells.size()];
+    	}
+    	int listed = 0;
+    	for(int i = 0; i < cells.size(); i++) {
+    		if(cells.isDirty(i)) {
+    			evaluatedCells[listed++] = i;
+    		}
+    	}
+    	return listed;
+    }
+    
+    /**
+     * This method evaluates one range of cells, from (inclusive) to (exclusive), a block at a time. Each run of dirty
+     * cells next to each other is handed to the objective as one batch, see ObjectiveFunction.evaluateBatch. The statistics
+     * of each block are gathered straight after it is evaluated while its affinities are still in the cache.
+     * The range has to start on a block boundary, which the chunks of the evaluator always do.
+     * @param from - first cell to evaluate.
+     * @param to - cell to stop at.
+     */
+    public void runProblem(int from, int to) {
+    	double inputs[] = cells.getInputs();
+    	double affinities[] = cells.getAffinities();
+    	ObjectiveFunction function = objective;
+    	PopulationStatistics stats = statistics;
+    	double optimum = function.getOptimum();
+    	int blockSize = stats.getBlockSize();
+    	CellStore store = cells;
+    	for (int start = from; start < to; start += blockSize) {
+    		int end = Math.min(to, start + blockSize);
+    		int i = start;
+    		while (i < end) {
+    			if(!store.isDirty(i)) {
+    				i++;
+    				continue;
+    			}
+    			int run = i;
+    			while (i < end && store.isDirty(i)) {
+    				store.markClean(i++);
+    			}
+    			function.evaluateBatch(inputs, run, i, affinities);
+    		}
+    		stats.accumulate(affinities, start, end, optimum);
+    	}
+    }
+    
+    /**
+     * This method marks every cell as changed so the next runProblem evaluates the whole population again,
+     * eg if the objective is noisy or has changed.
+     */
+    public void markAllDirty() {
+    	cells.markAllDirty();
+    }
+    
+    /**
+     * How many of the best cells are kept as they are, or cloned with CLONALG. It scales with the population size.
+     */
+    private int clonedCells() {
+    	return Math.max(0, Math.min(cells.size(), (int) (getCloneRate() * cells.size())));
+    }
+    
+    /**
+     * The first cell that is replaced at random every generation, every cell from here to the end is replaced.
+     */
+    private int firstReplacedCell() {
+    	int size = cells.size();
+    	return Math.max(0, Math.min(size, (int) Math.floor(size - getReplaceRate() * size) + 1));
+    }
+    
+    /**
+     * The cell the original mutation stops at, the cells from here on are either left alone or replaced.
+     */
+    private int mutatedCellsEnd() {
+    	return Math.max(clonedCells(), Math.min(cells.size(), (int) (cells.size() - getReplaceRate() * cells.size())));
+    }
+    
+    /**
+     * This method ranks the cells in descending order based on their affinity (output) scores.
+     * First cell in the store will be the best with low affinity. Only an index array is sorted,
+     * then the cells are moved into place in one pass.
+     * In PARTIAL ranking mode the index array is only selected at the boundaries the algorithm uses, see rankBoundaries.
+     */
+    public void rankPopulation() {
+    	if(rankingMode == RankingMode.PARTIAL) {
+    		int count = rankBoundaries();
+    		cells.rankAt(rankBoundaries, count);
+    	} else {
+    		cells.sortByAffinity();
+    	}
+    }
+    
+    /**
+     * This method works out where the population has to be split for partial ranking. The best cell and each top k
+     * of the statistics are needed for the errors, the clone and replace bounds decide which cells are kept, mutated and replaced.
+     * The mutated cells in between are split into rank buckets since the mutation gets bigger the further down a cell is,
+     * so a cell is never more than one bucket away from where a full sort would put it.
+     * @return how many boundaries were written into rankBoundaries.
+     */
+    private int rankBoundaries() {
+    	int size = cells.size();
+    	int lowerBound = clonedCells();
+    	int upperBound = mutatedCellsEnd();
+    	int buckets = Math.max(1, Math.min(rankBuckets, upperBound - lowerBound));
+    	int topK[] = statistics.topK();
+    	if(rankBoundaries == null || rankBoundaries.length < buckets + topK.length + 3) {
+    		rankBoundaries = new int[buckets + topK.length + 3];
+    	}
+    	int count = 0;
+    	rankBoundaries[count++] = 1;
+    	for(int k : topK) {
+    		rankBoundaries[count++] = Math.min(size, k);
+    	}
+    	for(int b = 0; b < buckets; b++) {
+    		rankBoundaries[count++] = lowerBound + (int) ((long) (upperBound - lowerBound) * b / buckets);
+    	}
+    	rankBoundaries[count++] = upperBound;
+    	Arrays.sort(rankBoundaries, 0, count);
+    	return count;
+    }
+    
+    /**
+     * This method is responsible for mutating the population. I firstly calculate the range we are
+     * going to loop through the population using the replace and clone rates, as I do not need to mutate
+     * them because they will either be cloned or replaced. There is no cloning process really we just do
+     * not mutate the first N elements in the population depending on the clone rate, see setClonalExpansion
+     * for real cloning. Both bounds are a fraction of the population size so it works for any size.
+     * For each cell in the loop we calculate new min and max ranges for the random number generation. I use
+     * the index / population size to increase and decrease the ranges. The higher the index,
+     * the more of a change in ranges for random number. The cells with higher indexes need to be mutated more
+     * since the population is ordered so it works out.
+     * I then write the new input/inputs straight back into the cell's slot in the store, kept inside the range of
+     * each input. It is one tight loop over the flat inputs array so the cost grows linearly with the dimensions.
+     * If a surrogate has been set each mutated cell is only kept if the surrogate predicts it could beat the cell it
+     * came from, otherwise the cell is left as it was and keeps its affinity, so the evaluation is saved.
+     */
+    public void mutatePopulation() {
+    	if(surrogate != null) {
+    		mutateScreened();
+    		return;
+    	}
+    	RandomGenerator rnd = random();
+    	double inputs[] = cells.getInputs();
+    	int dims = getDimension();
+    	int size = cells.size();
+    	int upperBound = mutatedCellsEnd();
+    	//This will ensure we do not mutate the first n many cells as then they are essentially cloned.
+    	int lowerBound = clonedCells();
+    	double uniforms[] = uniforms(rnd, lowerBound, upperBound);
+    	//Number one is not mutated
+    	for(int i = lowerBound; i < upperBound; i++) {
+    		double range = (double) i / size;
+    		int offset = i * dims;
+    		int u = (i - lowerBound) * dims;
+    		for(int d = 0; d < dims; d++) {
+    			double minRangeD = inputs[offset + d] - range;
+    			double maxRangeD = inputs[offset + d] + range;
+    			double newInput = minRangeD + (maxRangeD - minRangeD) * uniforms[u + d];
+    			inputs[offset + d] = Math.max(lowerBounds[d], Math.min(upperBounds[d], newInput));
+    		}
+    		cells.markDirty(i);
+    	}
+    }
+    
+    /**
+     * This method is mutatePopulation with the surrogate. The random numbers drawn are the same whether or not a
+     * mutation is kept.
+     */
+    private void mutateScreened() {
+    	RandomGenerator rnd = random();
+    	double inputs[] = cells.getInputs();
+    	double affinities[] = cells.getAffinities();
+    	int dims = getDimension();
+    	int size = cells.size();
+    	if(candidate == null || candidate.length != dims) {
+    		candidate = new double[dims];
+    	}
+    	int lowerBound = clonedCells();
+    	double uniforms[] = uniforms(rnd, lowerBound, mutatedCellsEnd());
+    	for(int i = lowerBound; i < mutatedCellsEnd(); i++) {
+    		double range = (double) i / size;
+    		int offset = i * dims;
+    		int u = (i - lowerBound) * dims;
+    		for(int d = 0; d < dims; d++) {
+    			double minRangeD = inputs[offset + d] - range;
+    			double maxRangeD = inputs[offset + d] + range;
+    			double newInput = minRangeD + (maxRangeD - minRangeD) * uniforms[u + d];
+    			candidate[d] = Math.max(lowerBounds[d], Math.min(upperBounds[d], newInput));
+    		}
+    		if(cells.isDirty(i) || surrogate.screen(candidate, 0, affinities[i])) {
+    			System.arraycopy(candidate, 0, inputs, offset, dims);
+    			cells.markDirty(i);
+    		}
+    	}
+    }
+    
+    /**
+     * This method draws the random numbers for mutating cells from to to in one go, in the order the cells use them.
+     * The array is reused from one generation to the next.
+     */
+    private double[] uniforms(RandomGenerator rnd, int from, int to) {
+    	int count = Math.max(0, to - from) * getDimension();
+    	if(uniforms.length < count) {
+    		uniforms = new double[count];
+    	}
+    	RandomStreams.fill(rnd, uniforms, 0, count);
+    	return uniforms;
+    }
+    
+    /**
+     * This method loops backwards through the cells as we want to replace the last N cells depending 
+     * on the replace rate. I then randomly initialise that cell's slot in the store again.
+     * If niching has been set the cells that are too close to a better one are replaced as well, see Niching.
+     */
+    public void removeAndReplace() {
+    	RandomGenerator rnd = random();
+    	if(niching != null) {
+    		niching.replace(cells, firstReplacedCell(), lowerBounds, upperBounds, rnd);
+    		return;
+    	}
+    	for(int i = cells.size() - 1; i >= firstReplacedCell(); i--) {
+    		cells.randomInit(i, lowerBounds, upperBounds, rnd);
+    	}	
+    }
+    
+    /**
+     * This method copies the best cells out of the population so they can migrate to another one, see IslandModel.
+     * The population has to be ranked, which it always is after start or iterate.
+     * @param count - how many cells to copy.
+     * @param inputs - where the inputs are written, one cell after another, at least count * dimensions long.
+     * @param affinities - where the affinities are written, at least count long.
+     * @return how many cells were copied, less than count if the population is smaller.
+     */
+    public int exportBest(int count, double inputs[], double affinities[]) {
+    	int n = Math.min(count, cells.size());
+    	int dims = getDimension();
+    	System.arraycopy(cells.getInputs(), 0, inputs, 0, n * dims);
+    	System.arraycopy(cells.getAffinities(), 0, affinities, 0, n);
+    	return n;
+    }
+    
+    /**
+     * This method brings cells in from another population in place of the worst cells, then ranks the population again
+     * so the new cells are kept, mutated or replaced by how good they are. The cells have already been evaluated so
+     * their affinities are taken as they are.
+     * @param inputs - the inputs of the cells, one cell after another.
+     * @param affinities - the affinities of the cells.
+     * @param count - how many cells to bring in.
+     */
+    public void importCells(double inputs[], double affinities[], int count) {
+    	int n = Math.min(count, cells.size());
+    	int dims = getDimension();
+    	int first = cells.size() - n;
+    	System.arraycopy(inputs, 0, cells.getInputs(), first * dims, n * dims);
+    	System.arraycopy(affinities, 0, cells.getAffinities(), first, n);
+    	for(int i = first; i < first + n; i++) {
+    		cells.markClean(i);
+    	}
+    	rankPopulation();
+    }
+    
+    /**
+     * This method returns a copy of a cell for printing or reporting. Cell 0 is the best cell once the
+     * population has been ranked.
+     * @param index - position of the cell in the ranked population.
+     * @return a cell holding a copy of the inputs and affinity.
+     */
+    public Cell getCell(int index) {
+    	return cells.toCell(index);
+    }
+    
+    /**
+     * How many times the objective has been run, counting clones. Cells that did not change are not counted
+     * since they are not evaluated again.
+     */
+    public long getEvaluations() {
+    	return evaluations;
+    }
+    
+    /**
+     * The affinity of the best cell, without copying the cell out of the store.
+     */
+    public double getBestAffinity() {
+    	return cells.getAffinity(0);
+    }
+    
+	/**
+	 * This method seeds the random number generator of the population and randomly initialises every cell again
+	 * from it, so two populations with the same seed and parameters do exactly the same run.
+	 * @param seed - the seed.
+	 */
+	public void setSeed(long seed) {
+		setRandom(new SplitMixRandom(seed));
+	}
+	
+	/**
+	 * This method sets the random number generator of the population and randomly initialises every cell again
+	 * from it, eg to give each island its own stream of a RandomStreams. Only a SplitMixRandom can be checkpointed.
+	 * @param random - the generator.
+	 */
+	public void setRandom(RandomGenerator random) {
+		this.random = random;
+		cells.randomInit(lowerBounds, upperBounds, random);
+	}
+	
+	private RandomGenerator random() {
+		return random != null ? random : ThreadLocalRandom.current();
+	}
+	
+	public Path getCheckpointPath() {
+		return checkpointPath;
+	}
+
+	public int getCheckpointInterval() {
+		return checkpointInterval;
+	}
+
+	/**
+	 * Saves the state of the run to a file every interval generations so it can be resumed after a crash, see resume.
+	 * Each checkpoint replaces the last one. Set the path to null to turn it off.
+	 * @param path - the checkpoint file.
+	 * @param interval - how many generations between checkpoints.
+	 */
+	public void setCheckpoint(Path path, int interval) {
+		if(path != null && interval < 1) {
+			throw new IllegalArgumentException("interval must be at least 1");
+		}
+		this.checkpointPath = path;
+		this.checkpointInterval = interval;
+	}
+	
+	public RankingMode getRankingMode() {
+		return rankingMode;
+	}
+
+	public void setRankingMode(RankingMode rankingMode) {
+		this.rankingMode = rankingMode;
+	}
+	
+	public int getRankBuckets() {
+		return rankBuckets;
+	}
+
+	/**
+	 * How many buckets the mutated cells are ranked into in PARTIAL mode. More buckets follow the full sort
+	 * more closely but cost more.
+	 */
+	public void setRankBuckets(int rankBuckets) {
+		this.rankBuckets = rankBuckets;
+	}
+	
+	public ClonalExpansion getClonalExpansion() {
+		return clonalExpansion;
+	}
+
+	/**
+	 * Switches the population from the original mutation to CLONALG. The best cloneRate of the cells are cloned and
+	 * hypermutated by the expansion and replaced by their best clone, the rest are left as they are apart from the
+	 * worst replaceRate which are still replaced at random. Only the clones and the replaced cells are evaluated.
+	 * Set to null to go back to the original mutation.
+	 */
+	public void setClonalExpansion(ClonalExpansion clonalExpansion) {
+		this.clonalExpansion = clonalExpansion;
+	}
+	
+	public SurrogateModel getSurrogate() {
+		return surrogate;
+	}
+
+	/**
+	 * Sets a model that screens the mutated cells before they are evaluated, for when the objective is expensive,
+	 * see SurrogateModel and mutatePopulation. Every cell evaluated by runProblem is archived in it. It is not used
+	 * by CLONALG. See SurrogateModel for how it affects resuming from a checkpoint.
+	 * null, the default, evaluates every mutated cell.
+	 */
+	public void setSurrogate(SurrogateModel surrogate) {
+		this.surrogate = surrogate;
+	}
+	
+	public Niching getNiching() {
+		return niching;
+	}
+
+	/**
+	 * Sets how the population is kept spread out, see Niching. null, the default, only replaces the worst cells.
+	 */
+	public void setNiching(Niching niching) {
+		this.niching = niching;
+	}
+	
+	/**
+	 * This method measures how spread out the cells are, the mean distance from each cell to its nearest neighbour
+	 * with every input scaled to 0 to 1, see Niching.diversity. It takes O(n log n) so it can be called every generation.
+	 */
+	public double getDiversity() {
+		if(niching != null) {
+			return niching.diversity(cells, lowerBounds, upperBounds);
+		}
+		if(diversityNiching == null) {
+			diversityNiching = new Niching(0);
+		}
+		return diversityNiching.diversity(cells, lowerBounds, upperBounds);
+	}
+	
+	public ObjectiveFunction getObjective() {
+		return objective;
+	}
+	
+	public ParallelEvaluator getEvaluator() {
+		return evaluator;
+	}
+
+	/**
+	 * Set to null to evaluate on the calling thread.
+	 */
+	public void setEvaluator(ParallelEvaluator evaluator) {
+		this.evaluator = evaluator;
+	}
+	
+	public int getPopulationSize() {
+		return populationSize;
+	}
+
+	public void setPopulationSize(int populationSize) {
+		this.populationSize = populationSize;
+	}
+
+	public double getCloneRate() {
+		return cloneRate;
+	}
+
+	public void setCloneRate(double cloneRate) {
+		this.cloneRate = cloneRate;
+	}
+
+	public double getMinRange() {
+		return minRange;
+	}
+
+	/**
+	 * Sets the lower bound of every input to the same value.
+	 */
+	public void setMinRange(double minRange) {
+		this.minRange = minRange;
+		Arrays.fill(lowerBounds, minRange);
+	}
+
+	public double getMaxRange() {
+		return maxRange;
+	}
+
+	/**
+	 * Sets the upper bound of every input to the same value.
+	 */
+	public void setMaxRange(double maxRange) {
+		this.maxRange = maxRange;
+		Arrays.fill(upperBounds, maxRange);
+	}
+	
+	public double[] getLowerBounds() {
+		return lowerBounds.clone();
+	}
+	
+	public double[] getUpperBounds() {
+		return upperBounds.clone();
+	}
+
+	public double getReplaceRate() {
+		return replaceRate;
+	}
+
+	public void setReplaceRate(double replaceRate) {
+		this.replaceRate = replaceRate;
+	}
+	
+	public int getDimension() {
+		return dimensions;
+	}
+
+	public void setDimension(int dimensions) {
+		this.dimensions = dimensions;
+	}
+	
+	public int getIterations() {
+		return iterations;
+	}
+
+	public void setIterations(int iterations) {
+		this.iterations = iterations;
+	}
+	
+	/**
+	 * Empty unless the statistics record the top 10, which the default ones do.
+	 */
+	public ArrayList<Double> getTop10MeanPerIteration() {
+		return metricSeries(METRIC_SERIES[0]);
+	}
+	
+	public ArrayList<Double> getAverageErrorPerIteration() {
+		return metricSeries(METRIC_SERIES[2]);
+	}
+	
+	public ArrayList<Double> getTop50MeanErrorPerIteration() {
+		return metricSeries(METRIC_SERIES[1]);
+	}
+	
+	public ArrayList<Double> getTopSolutionError() {
+		return metricSeries(METRIC_SERIES[3]);
+	}
+	
+	/**
+	 * This method copies one of the recorded errors out for the charts. It only has values if the
+	 * metrics sink is a MetricsBuffer, otherwise the errors have been streamed somewhere else.
+	 * @param name - one of the series of the statistics.
+	 * @return the recorded values, oldest first.
+	 */
+	public ArrayList<Double> metricSeries(String name) {
+		if(metricsSink instanceof MetricsBuffer) {
+			return ((MetricsBuffer) metricsSink).toList(name);
+		}
+		return new ArrayList<Double>();
+	}
+	
+	public PopulationStatistics getStatistics() {
+		return statistics;
+	}
+
+	/**
+	 * Picks which errors are recorded every generation, eg new PopulationStatistics(new int[] {5, 20}, true, new double[] {0.5, 0.9}).
+	 * It has to be set before the run starts since the names of the series are passed to the sink at the start.
+	 */
+	public void setStatistics(PopulationStatistics statistics) {
+		this.statistics = statistics;
+	}
+	
+	public MetricsSink getMetricsSink() {
+		return metricsSink;
+	}
+
+	/**
+	 * Replaces where the errors of each generation are recorded. By default they go into a MetricsBuffer
+	 * from MetricsBuffer.forRun, which halves its resolution rather than growing if the run goes on longer.
+	 * See MetricsSink for the alternatives.
+	 */
+	public void setMetricsSink(MetricsSink metricsSink) {
+		this.metricsSink = metricsSink;
+	}
+	
+	public ProgressPublisher getProgressPublisher() {
+		return progressPublisher;
+	}
+
+	/**
+	 * Sets where the errors of each generation are published while the run goes, eg to a live chart or a log.
+	 * Unlike the metrics sink the publisher never slows the run down, see ProgressPublisher. null, the default, publishes nothing.
+	 */
+	public void setProgressPublisher(ProgressPublisher progressPublisher) {
+		this.progressPublisher = progressPublisher;
+	}
+	
+	/**
+	 * This method adds a listener to the progress publisher, creating a default one first if there is none.
+	 */
+	public void addProgressListener(ProgressListener listener) {
+		if(progressPublisher == null) {
+			progressPublisher = new ProgressPublisher();
+		}
+		progressPublisher.addListener(listener);
+	}
+	
+    public static void main(String[] args){
+    	Population newPop1 = new Population(0, 1.5, 1, 0.1, 0.1, 100, 500, "f1");
+    	newPop1.run(newPop1);
+    	
+    	System.out.println("The best cell for function 1 is when X = " + newPop1.getCell(0).getInput()[0] + ", with a min of " + newPop1.getCell(0).getAffinity());
+    	
+        XYLineChartCell.display("Clonal Selection Algorithm - Function 1", newPop1.getTop10MeanPerIteration(), newPop1.getTop50MeanErrorPerIteration(), newPop1.getAverageErrorPerIteration(), newPop1.getTopSolutionError());
+        
+        long startTime2 = System.nanoTime();
+        
+    	Population newPop2 = new Population(-5, 5, 2, 0.1, 0.1, 100, 500, "f2");
+    	newPop2.run(newPop2);
+    	long endTime2 = System.nanoTime();
+    	long duration2 = (endTime2 - startTime2);
+    	System.out.println("Clonal Selection Algorithm (function 2) took " + TimeUnit.MILLISECONDS.convert(duration2, TimeUnit.NANOSECONDS) + "milliseconds.");
+    	
+        XYLineChartCell.display("Clonal Selection Algorithm - Function 2", newPop2.getTop10MeanPerIteration(), newPop2.getTop50MeanErrorPerIteration(), newPop2.getAverageErrorPerIteration(), newPop2.getTopSolutionError());
+    	
+    	System.out.println("The best cell for function 2 is when X = " + newPop2.getCell(0).getInput()[0] + " and Y = " + newPop2.getCell(0).getInput()[1] + ", with a min of " + newPop2.getCell(0).getAffinity());
+    
+    	//Used throughout the project to compare or test but didnt end up using, ran and visualised holder table and egg functions
+    	
+    	/*Population newPop3 = new Population(-10, 10, 2, 0.1, 0.1, 100, 250, "holder");
+    	newPop3.run(newPop3);
+    	
+    	System.out.println("The best cell for holder function is when X = " + newPop3.getCell(0).getInput()[0] + ", with a min of " + newPop3.getCell(0).getAffinity());
+    	
+        XYLineChartCell.display("Clonal Selection Algorithm - Holder", newPop3.getTop10MeanPerIteration(), newPop3.getTop50MeanErrorPerIteration(), newPop3.getAverageErrorPerIteration(), newPop3.getTopSolutionError());
+        
+    	Population newPop4 = new Population(-512, 512, 2, 0.1, 0.1, 100, 250, "egg");
+    	newPop4.run(newPop4);
+    	
+    	System.out.println("The best cell for holder function is when X = " + newPop4.getCell(0).getInput()[0] + ", with a min of " + newPop4.getCell(0).getAffinity());
+    	
+        XYLineChartCell.display("Clonal Selection Algorithm - Egg", newPop4.getTop10MeanPerIteration(), newPop4.getTop50MeanErrorPerIteration(), newPop4.getAverageErrorPerIteration(), newPop4.getTopSolutionError());*/
+    	
+    	
+        /**
+         * The rest of this main is responsible for the reliability score by
+         * generating populations and comparing the best cell 
+         * to see if its within a limit of the minimum.
+         * Every run is independent so they are all handed to an experiment runner and spread across the cores,
+         * each with its own seed so the scores can be repeated.
+         */
+        int iterations = 20;
+        List<ExperimentJob> jobs = new ArrayList<ExperimentJob>();
+        long seed = 0;
+        for(int i = 0; i < 5 * iterations; i++) {
+        	jobs.add(ExperimentJob.clonalSelection("f1", 0.1, 0.1, 100, 500, seed++, 0.0000025));
+        	jobs.add(ExperimentJob.clonalSelection("f2", 0.1, 0.1, 100, 500, seed++, 0.0008));
+        	jobs.add(ExperimentJob.clonalSelection("holder", 0.1, 0.1, 100, 250, seed++, 0.2));
+        	jobs.add(ExperimentJob.clonalSelection("egg", 0.1, 0.1, 100, 250, seed++, 5));
+        }
+        ExperimentRunner runner = new ExperimentRunner();
+        List<ConfigurationSummary> summaries = runner.runAndSummarise(jobs);
+        runner.shutdown();
+        String labels[] = {"F1", "F2", "Holder", "Egg"};
+        for(int i = 0; i < summaries.size(); i++) {
+        	System.out.println(labels[i] + " Reliability: " + summaries.get(i).getReliability() * iterations + "/" + iterations);
+        }
+    }
+}
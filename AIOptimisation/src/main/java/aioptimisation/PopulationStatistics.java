@@ -0,0 +1,302 @@
+package aioptimisation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class PopulationStatistics {
+
+	//The block size used when there is no parallel evaluator, the same as the default chunk size of ParallelEvaluator.
+	public static final int DEFAULT_BLOCK_SIZE = 256;
+	//Percentiles come from a histogram with 8 buckets per power of two between 2^-40 and 2^40, about 1e-12 to 1e12.
+	private static final int MIN_EXPONENT = -40;
+	private static final int MAX_EXPONENT = 40;
+	private static final int SUB_BUCKET_BITS = 3;
+	private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+	//Bucket 0 holds everything below 2^MIN_EXPONENT (including 0) and the last bucket everything above the range.
+	private static final int BUCKETS = (MAX_EXPONENT - MIN_EXPONENT) * SUB_BUCKETS + 2;
+
+	private int topK[];
+	private boolean spread;
+	private double percentiles[];
+	private String series[];
+
+	private int blockSize = DEFAULT_BLOCK_SIZE;
+	private int blocks;
+	//One partial per block, each block is only ever written by the thread that evaluated it.
+	private double blockSum[] = new double[0];
+	private double blockM2[] = new double[0];
+	private double blockMin[] = new double[0];
+	private double blockMax[] = new double[0];
+	private int blockCount[] = new int[0];
+	private int blockHistogram[] = new int[0];
+	private int histogram[] = new int[0];
+
+	/**
+	 * This constructor records the mean error of the top 10 and top 50 cells, the average error and the
+	 * error of the top solution, the same errors the charts have always shown.
+	 */
+	public PopulationStatistics() {
+		this(new int[] {10, 50}, false, new double[0]);
+	}
+
+	/**
+	 * This constructor picks which errors are recorded every generation.
+	 * @param topK - record the mean error of the best k cells for each k, eg {10, 50}.
+	 * @param spread - also record the smallest and largest error and the variance of the errors across the population.
+	 * @param percentiles - also record these percentiles of the errors, eg {0.5, 0.9}. They are read from a histogram
+	 * with 8 buckets per power of two so they are within about 12% of the exact value.
+	 */
+	public PopulationStatistics(int topK[], boolean spread, double percentiles[]) {
+		for(int k : topK) {
+			if(k < 1) {
+				throw new IllegalArgumentException("every top k must be at least 1");
+			}
+		}
+		for(double p : percentiles) {
+			if(!(p >= 0 && p <= 1)) {
+				throw new IllegalArgumentException("percentiles must be between 0 and 1");
+			}
+		}
+		this.topK = topK.clone();
+		this.spread = spread;
+		this.percentiles = percentiles.clone();
+
+		List<String> names = new ArrayList<String>();
+		for(int k : topK) {
+			names.add("top" + k + "MeanError");
+		}
+		names.add("averageError");
+		names.add("topSolutionError");
+		if(spread) {
+			names.add("minError");
+			names.add("maxError");
+			names.add("errorVariance");
+		}
+		for(double p : percentiles) {
+			names.add("p" + percentileName(p) + "Error");
+		}
+		this.series = names.toArray(new String[0]);
+	}
+
+	private static String percentileName(double p) {
+		String name = Double.toString(p * 100);
+		return name.endsWith(".0") ? name.substring(0, name.length() - 2) : name;
+	}
+
+	/**
+	 * This method sizes the partials for a population before it is evaluated. They are only reallocated when the
+	 * amount of blocks grows.
+	 * @param cells - the amount of cells that will be evaluated.
+	 * @param blockSize - the amount of cells in each block, the chunk size of the evaluator so each block is only
+	 * evaluated by one thread.
+	 */
+	public void reset(int cells, int blockSize) {
+		this.blockSize = blockSize;
+		this.blocks = (cells + blockSize - 1) / blockSize;
+		if(blockSum.length < blocks) {
+			blockSum = new double[blocks];
+			blockM2 = new double[blocks];
+			blockMin = new double[blocks];
+			blockMax = new double[blocks];
+			blockCount = new int[blocks];
+		}
+		if(percentiles.length > 0 && blockHistogram.length < blocks * BUCKETS) {
+			blockHistogram = new int[blocks * BUCKETS];
+			histogram = new int[BUCKETS];
+		}
+	}
+
+	public int getBlockSize() {
+		return blockSize;
+	}
+
+	/**
+	 * This method works out the partials of every block in from to to from the affinities that have just been
+	 * written. It is called straight after each block is evaluated so the affinities are still in the cache and the
+	 * statistics cost no extra pass over memory. The range has to start on a block boundary.
+	 * @param affinities - the affinities of the whole population.
+	 * @param from - first cell, a multiple of the block size.
+	 * @param to - cell to stop at.
+	 * @param optimum - the known minimum of the function, the error of a cell is its distance from it.
+	 */
+	public void accumulate(double affinities[], int from, int to, double optimum) {
+		for(int start = from; start < to; start += blockSize) {
+			accumulateBlock(start / blockSize, affinities, start, Math.min(to, start + blockSize), optimum);
+		}
+	}
+
+	private void accumulateBlock(int block, double affinities[], int from, int to, double optimum) {
+		double sum = 0.0;
+		double min = Double.POSITIVE_INFINITY;
+		double max = Double.NEGATIVE_INFINITY;
+		for(int i = from; i < to; i++) {
+			double error = Math.abs(optimum - affinities[i]);
+			sum += error;
+			min = Math.min(min, error);
+			max = Math.max(max, error);
+		}
+		int count = to - from;
+		blockSum[block] = sum;
+		blockCount[block] = count;
+		blockMin[block] = min;
+		blockMax[block] = max;
+		if(spread) {
+			//Two passes over a block that is still in the cache, more accurate than summing squares.
+			double mean = sum / count;
+			double m2 = 0.0;
+			for(int i = from; i < to; i++) {
+				double d = Math.abs(optimum - affinities[i]) - mean;
+				m2 += d * d;
+			}
+			blockM2[block] = m2;
+		}
+		if(percentiles.length > 0) {
+			int base = block * BUCKETS;
+			Arrays.fill(blockHistogram, base, base + BUCKETS, 0);
+			for(int i = from; i < to; i++) {
+				blockHistogram[base + bucket(Math.abs(optimum - affinities[i]))]++;
+			}
+		}
+	}
+
+	/**
+	 * This method finds the histogram bucket of an error from the bits of the double, no logarithm needed.
+	 */
+	private static int bucket(double error) {
+		if(!(error >= 0x1p-40)) {
+			return error < 0x1p-40 ? 0 : BUCKETS - 1;
+		}
+		int exponent = Math.getExponent(error);
+		if(exponent >= MAX_EXPONENT) {
+			return BUCKETS - 1;
+		}
+		int sub = (int) (Double.doubleToRawLongBits(error) >>> (52 - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+		return 1 + (exponent - MIN_EXPONENT) * SUB_BUCKETS + sub;
+	}
+
+	private static double bucketLower(int bucket) {
+		if(bucket == 0) {
+			return 0.0;
+		}
+		int exponent = (bucket - 1) / SUB_BUCKETS + MIN_EXPONENT;
+		int sub = (bucket - 1) % SUB_BUCKETS;
+		return Math.scalb(1.0 + (double) sub / SUB_BUCKETS, exponent);
+	}
+
+	/**
+	 * This method writes the errors of a generation into values, in the order of getSeries. The partials are
+	 * combined in block order so the results are the same whatever the thread count. The top k errors are read from
+	 * the front of the ranked population, which is only as many cells as the biggest k.
+	 * @param affinities - the affinities after ranking, the best cell first.
+	 * @param size - the amount of cells.
+	 * @param optimum - the known minimum of the function.
+	 * @param values - where to write the errors, at least getSeries().length long.
+	 */
+	public void fill(double affinities[], int size, double optimum, double values[]) {
+		int v = 0;
+		for(int k : topK) {
+			int n = Math.min(k, size);
+			double sum = 0.0;
+			for(int i = 0; i < n; i++) {
+				sum += Math.abs(optimum - affinities[i]);
+			}
+			values[v++] = sum / n;
+		}
+
+		double sum = 0.0;
+		double mean = 0.0;
+		double m2 = 0.0;
+		double min = Double.POSITIVE_INFINITY;
+		double max = Double.NEGATIVE_INFINITY;
+		long count = 0;
+		for(int b = 0; b < blocks; b++) {
+			int n = blockCount[b];
+			sum += blockSum[b];
+			min = Math.min(min, blockMin[b]);
+			max = Math.max(max, blockMax[b]);
+			if(spread) {
+				//Chan et al. pairwise combination of the block variances.
+				double blockMean = blockSum[b] / n;
+				double delta = blockMean - mean;
+				long total = count + n;
+				mean += delta * n / total;
+				m2 += blockM2[b] + delta * delta * count * n / total;
+			}
+			count += n;
+		}
+		values[v++] = sum / size;
+		//Kept as it always was, the distance of the best affinity from 0 rather than from the optimum.
+		values[v++] = Math.abs(affinities[0]);
+		if(spread) {
+			values[v++] = min;
+			values[v++] = max;
+			values[v++] = m2 / count;
+		}
+		if(percentiles.length > 0) {
+			Arrays.fill(histogram, 0);
+			for(int b = 0; b < blocks; b++) {
+				int base = b * BUCKETS;
+				for(int i = 0; i < BUCKETS; i++) {
+					histogram[i] += blockHistogram[base + i];
+				}
+			}
+			for(double p : percentiles) {
+				values[v++] = percentile(p, count, min, max);
+			}
+		}
+	}
+
+	/**
+	 * This method reads a percentile from the combined histogram, interpolating inside the bucket it falls in
+	 * and clamping to the smallest and largest error.
+	 */
+	private double percentile(double p, long count, double min, double max) {
+		double rank = p * (count - 1);
+		long seen = 0;
+		for(int i = 0; i < BUCKETS; i++) {
+			int n = histogram[i];
+			if(n > 0 && seen + n > rank) {
+				if(i == BUCKETS - 1) {
+					return max;
+				}
+				double lower = Math.max(min, bucketLower(i));
+				double upper = Math.min(max, bucketLower(i + 1));
+				return lower + (upper - lower) * Math.min(1.0, (rank - seen + 0.5) / n);
+			}
+			seen += n;
+		}
+		return max;
+	}
+
+	/**
+	 * The names of the errors, in the order fill writes them.
+	 */
+	public String[] getSeries() {
+		return series.clone();
+	}
+
+	public int getSeriesCount() {
+		return series.length;
+	}
+
+	/**
+	 * The top k values, partial ranking has to put a boundary at each of them.
+	 */
+	public int[] getTopK() {
+		return topK.clone();
+	}
+
+	//Not copied, for ranking every generation without allocating.
+	int[] topK() {
+		return topK;
+	}
+
+	public boolean isSpread() {
+		return spread;
+	}
+
+	public double[] getPercentiles() {
+		return percentiles.clone();
+	}
+}
@@ -0,0 +1,191 @@
+package aioptimisation;
+
+public class ProblemFunctions {
+	
+	//The batch kernels, vectorised if the jdk.incubator.vector module was added to the JVM, see loadKernels.
+	private static final BatchKernels KERNELS = loadKernels();
+	
+	public static void main(String[] args){
+		System.out.println(function1(0.9));
+		System.out.println(function2(0,0));
+	}
+    
+	/**
+	 * This method replicates the function 1 given in the coursework.
+	 * @param x - input x to be run the function.
+	 * @return value - the value output from function 1 with x
+	 */
+    public static double function1(double x){
+    	double t = x - 0.75;
+    	double t2 = t * t;
+    	double part1 = 3 * (t2 * t2);
+    	double part2 = Math.sin((5 * Math.PI * x) - (0.4 * Math.PI)) - 0.43;
+    	double value = part1 + part2;
+    	return value;
+    }
+    
+    /**
+     * 
+     * @param x - input x to be run the function.
+     * @param y - input y to be run the function.
+     * @return value - the value output from function 2 with x and y
+     */
+    public static double function2(double x, double y){  	
+    	double s1 = Math.sin(3 * Math.PI * x);
+    	double s2 = Math.sin(3 * Math.PI * y);
+    	double s3 = Math.sin(2 * Math.PI * y);
+    	double dx = x - 1;
+    	double dy = y - 1;
+    	double part1 = s1 * s1;
+    	double part2 = (dx * dx) * (1 + s2 * s2);
+    	double part3 = (dy * dy) * (1 + s3 * s3);
+    	double value = part1 + part2 + part3;
+    	return value;
+    }
+    
+    public static double holderTableFunction(double x, double y) {
+		double x1 = x;
+		double x2 = y;
+		
+		double part1 = Math.sin(x1) * Math.cos(x2);
+		double part2 = Math.exp(Math.abs(1 - (Math.sqrt(x1 * x1 + x2 * x2)) / Math.PI));
+		
+		double f = -Math.abs(part1 * part2);
+		
+		return f;
+    }
+    
+    public static double eggFunction(double x, double y) {
+    	return -(y+47)*Math.sin(Math.sqrt(Math.abs((x/2)+(y+47))))-x*Math.sin(Math.sqrt(Math.abs(x-(y+47))));
+    }
+    
+    /**
+     * Rastrigin function, minimum of 0 when every input is 0. Usual range is -5.12 to 5.12.
+     * @param in - array holding the inputs.
+     * @param offset - index of the first input.
+     * @param n - how many inputs (dimensions).
+     * @return value - the value output from the function.
+     */
+    public static double rastrigin(double in[], int offset, int n) {
+    	double sum = 10.0 * n;
+    	for(int i = offset; i < offset + n; i++) {
+    		double x = in[i];
+    		sum += x * x - 10.0 * Math.cos(2 * Math.PI * x);
+    	}
+    	return sum;
+    }
+    
+    /**
+     * Rosenbrock function, minimum of 0 when every input is 1. Usual range is -5 to 10.
+     * @param in - array holding the inputs.
+     * @param offset - index of the first input.
+     * @param n - how many inputs (dimensions).
+     * @return value - the value output from the function.
+     */
+    public static double rosenbrock(double in[], int offset, int n) {
+    	double sum = 0.0;
+    	for(int i = offset; i < offset + n - 1; i++) {
+    		double x = in[i];
+    		double a = in[i + 1] - x * x;
+    		double b = 1 - x;
+    		sum += 100 * a * a + b * b;
+    	}
+    	return sum;
+    }
+    
+    /**
+     * Ackley function, minimum of 0 when every input is 0. Usual range is -32.768 to 32.768.
+     * @param in - array holding the inputs.
+     * @param offset - index of the first input.
+     * @param n - how many inputs (dimensions).
+     * @return value - the value output from the function.
+     */
+    public static double ackley(double in[], int offset, int n) {
+    	double sumSquares = 0.0;
+    	double sumCos = 0.0;
+    	for(int i = offset; i < offset + n; i++) {
+    		double x = in[i];
+    		sumSquares += x * x;
+    		sumCos += Math.cos(2 * Math.PI * x);
+    	}
+    	return -20 * Math.exp(-0.2 * Math.sqrt(sumSquares / n)) - Math.exp(sumCos / n) + 20 + Math.E;
+    }
+    
+    /**
+     * Schwefel function, minimum of about 0 when every input is 420.9687. Usual range is -500 to 500.
+     * @param in - array holding the inputs.
+     * @param offset - index of the first input.
+     * @param n - how many inputs (dimensions).
+     * @return value - the value output from the function.
+     */
+    public static double schwefel(double in[], int offset, int n) {
+    	double sum = 0.0;
+    	for(int i = offset; i < offset + n; i++) {
+    		double x = in[i];
+    		sum += x * Math.sin(Math.sqrt(Math.abs(x)));
+    	}
+    	return 418.9828872724338 * n - sum;
+    }
+    
+    /**
+     * This method evaluates function 1 for a whole slab of points at once, see function2(double[], double[], double[], int, int).
+     * @param xs - input x of each point.
+     * @param out - where the output of each point is written.
+     * @param from - first point (inclusive).
+     * @param to - point to stop at (exclusive).
+     */
+    public static void function1(double xs[], double out[], int from, int to) {
+    	KERNELS.function1(xs, out, from, to);
+    }
+    
+    /**
+     * This method evaluates function 2 for a whole slab of points at once, point i being xs[i], ys[i] with its output
+     * written to out[i]. If the JVM was started with --add-modules jdk.incubator.vector the points are evaluated
+     * several at a time in SIMD lanes, otherwise it is a loop over function2(x, y) with exactly the same outputs.
+     * @param xs - input x of each point.
+     * @param ys - input y of each point.
+     * @param out - where the output of each point is written.
+     * @param from - first point (inclusive).
+     * @param to - point to stop at (exclusive).
+     */
+    public static void function2(double xs[], double ys[], double out[], int from, int to) {
+    	KERNELS.function2(xs, ys, out, from, to);
+    }
+    
+    /**
+     * The batch version of the holder table function, see function2(double[], double[], double[], int, int).
+     */
+    public static void holderTableFunction(double xs[], double ys[], double out[], int from, int to) {
+    	KERNELS.holderTableFunction(xs, ys, out, from, to);
+    }
+    
+    /**
+     * The batch version of the egg function, see function2(double[], double[], double[], int, int).
+     */
+    public static void eggFunction(double xs[], double ys[], double out[], int from, int to) {
+    	KERNELS.eggFunction(xs, ys, out, from, to);
+    }
+    
+    /**
+     * Whether the batch functions run on the Vector API.
+     */
+    public static boolean isVectorised() {
+    	return !(KERNELS instanceof ScalarBatchKernels);
+    }
+    
+    /**
+     * This method picks the batch kernels. The vector ones are only loaded by name if the incubator module is in the
+     * boot layer, so the class is never linked without it and the scalar ones are used instead. They can also be turned
+     * off with -Daioptimisation.scalar=true, eg to get exactly the same outputs as the scalar functions.
+     */
+    private static BatchKernels loadKernels() {
+    	if(ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent() && !Boolean.getBoolean("aioptimisation.scalar")) {
+    		try {
+    			return (BatchKernels) Class.forName("aioptimisation.VectorBatchKernels").getDeclaredConstructor().newInstance();
+    		} catch (ReflectiveOperationException | LinkageError e) {
+    			//Falls through to the scalar kernels.
+    		}
+    	}
+    	return new ScalarBatchKernels();
+    }
+}
@@ -0,0 +1,24 @@
+package aioptimisation;
+
+public interface ProgressListener {
+
+	/**
+	 * Called at the start of a run with the names of the values every snapshot will hold.
+	 * @param series - the names of the series, in the same order as the values of each snapshot.
+	 */
+	default void started(String series[]) {
+	}
+
+	/**
+	 * Called with the errors of a generation or temperature step, on the thread of the ProgressPublisher, never on
+	 * the thread running the optimiser. Not every step is seen if the listener falls behind, see ProgressPublisher.
+	 * @param snapshot - the errors of the step, it is not reused so it can be kept.
+	 */
+	void progress(ProgressSnapshot snapshot);
+
+	/**
+	 * Called once the run is over and every snapshot that was kept has been passed on.
+	 */
+	default void finished() {
+	}
+}
@@ -0,0 +1,117 @@
+package aioptimisation;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+public class ProgressLogWriter implements ProgressListener {
+
+	private String name;
+	private Writer writer;
+	private Path path;
+	private long intervalMillis;
+	private StringBuilder line = new StringBuilder(128);
+	private long startNanos;
+	private long lastLogged;
+	private ProgressSnapshot unlogged;
+
+	/**
+	 * This constructor writes a line per step to a writer, eg new OutputStreamWriter(System.out), which is flushed
+	 * after every line and never closed.
+	 * @param name - put at the start of every line, eg the function being optimised.
+	 * @param writer - where the lines go.
+	 */
+	public ProgressLogWriter(String name, Writer writer) {
+		this.name = name;
+		this.writer = writer;
+	}
+
+	/**
+	 * This constructor writes a line per step to a file, which is opened at the start of the run and closed at the end.
+	 * @param name - put at the start of every line, eg the function being optimised.
+	 * @param path - the file to write, it is replaced if it already exists.
+	 */
+	public ProgressLogWriter(String name, Path path) {
+		this.name = name;
+		this.path = path;
+	}
+
+	@Override
+	public void started(String series[]) {
+		if(path != null) {
+			try {
+				writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8);
+			} catch (IOException e) {
+				throw new UncheckedIOException("Could not open " + path, e);
+			}
+		}
+		startNanos = System.nanoTime();
+		lastLogged = Long.MIN_VALUE;
+		unlogged = null;
+	}
+
+	/**
+	 * This method writes a line like "egg step 120 after 3.2s: averageError=1.5, bestError=0.02", unless the last
+	 * line was written less than the interval ago.
+	 */
+	@Override
+	public void progress(ProgressSnapshot snapshot) {
+		if(lastLogged != Long.MIN_VALUE && snapshot.getNanos() - lastLogged < intervalMillis * 1_000_000) {
+			unlogged = snapshot;
+			return;
+		}
+		write(snapshot);
+	}
+
+	/**
+	 * This method writes the last step if the interval held it back, and closes the file.
+	 */
+	@Override
+	public void finished() {
+		if(unlogged != null) {
+			write(unlogged);
+		}
+		if(path != null && writer != null) {
+			try {
+				writer.close();
+			} catch (IOException e) {
+				throw new UncheckedIOException("Could not close " + path, e);
+			}
+		}
+	}
+
+	private void write(ProgressSnapshot snapshot) {
+		lastLogged = snapshot.getNanos();
+		unlogged = null;
+		line.setLength(0);
+		line.append(name).append(" step ").append(snapshot.getStep()).append(" after ")
+				.append((snapshot.getNanos() - startNanos) / 100_000_000 / 10.0).append("s:");
+		for(int s = 0; s < snapshot.getSeriesCount(); s++) {
+			line.append(s == 0 ? " " : ", ").append(snapshot.getSeriesName(s)).append('=').append(snapshot.get(s));
+		}
+		line.append(System.lineSeparator());
+		try {
+			writer.append(line);
+			writer.flush();
+		} catch (IOException e) {
+			throw new UncheckedIOException("Could not write the progress of " + name, e);
+		}
+	}
+
+	public long getIntervalMillis() {
+		return intervalMillis;
+	}
+
+	/**
+	 * The least time between two lines, the steps in between are skipped. 0, the default, writes every step passed on.
+	 */
+	public void setIntervalMillis(long intervalMillis) {
+		if(intervalMillis < 0) {
+			throw new IllegalArgumentException("intervalMillis must be at least 0");
+		}
+		this.intervalMillis = intervalMillis;
+	}
+}
@@ -0,0 +1,259 @@
+package aioptimisation;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class ProgressPublisher implements MetricsSink {
+
+	/**
+	 * What happens to a step recorded while the queue is full. DROP throws it away, so the listeners see every step
+	 * up to the point they fell behind and then gaps. COALESCE keeps only the latest of the steps that did not fit,
+	 * so the listeners always catch up to where the run is now, which is what a live chart wants.
+	 */
+	public enum Backpressure {
+		DROP, COALESCE
+	}
+
+	public static final int DEFAULT_CAPACITY = 256;
+
+	//How long the publisher thread waits for a step before it checks whether the run has ended.
+	private static final long IDLE_MILLIS = 20;
+
+	private int capacity;
+	private Backpressure backpressure;
+	private List<ProgressListener> listeners = new CopyOnWriteArrayList<ProgressListener>();
+	private volatile Run run;
+	//Only written by the thread recording the steps.
+	private volatile long published;
+	private volatile long dropped;
+	private volatile long coalesced;
+	private volatile RuntimeException listenerError;
+
+	/**
+	 * This constructor uses a queue of DEFAULT_CAPACITY steps that coalesces once it is full.
+	 */
+	public ProgressPublisher() {
+		this(DEFAULT_CAPACITY, Backpressure.COALESCE);
+	}
+
+	/**
+	 * This constructor creates a sink that hands every step of a run to listeners on a thread of its own, so a slow
+	 * listener, eg a chart or a log on a network drive, never slows the optimiser down. Recording a step copies
+	 * its values into a bounded queue without ever waiting; if the listeners have fallen so far behind that the queue
+	 * is full the step is dropped or coalesced instead. A publisher passes on one run at a time, in order: the
+	 * listeners only see the start of the next run once every kept step of the last one has been passed on.
+	 * Only one thread may record steps at a time, which is how Population and SimulatedAnnealing record them.
+	 * @param capacity - the most steps waiting to be passed on.
+	 * @param backpressure - what to do with a step when the queue is full.
+	 */
+	public ProgressPublisher(int capacity, Backpressure backpressure) {
+		if(capacity < 1) {
+			throw new IllegalArgumentException("capacity must be at least 1");
+		}
+		this.capacity = capacity;
+		this.backpressure = backpressure;
+	}
+
+	public void addListener(ProgressListener listener) {
+		listeners.add(listener);
+	}
+
+	public void removeListener(ProgressListener listener) {
+		listeners.remove(listener);
+	}
+
+	/**
+	 * This method starts a thread that passes the steps of a new run on to the listeners. If the last run is still
+	 * being passed on the new thread waits for it first, the optimiser does not.
+	 */
+	@Override
+	public void start(String series[]) {
+		Run previous = run;
+		if(previous != null) {
+			previous.closed = true;
+		}
+		Run next = new Run(series.clone(), previous);
+		Thread thread = new Thread(next, "progress-publisher");
+		thread.setDaemon(true);
+		next.thread = thread;
+		run = next;
+		published = 0;
+		dropped = 0;
+		coalesced = 0;
+		thread.start();
+	}
+
+	/**
+	 * This method queues a copy of the values without waiting. Nothing is allocated for a step that is dropped.
+	 */
+	@Override
+	public void record(long step, double values[]) {
+		Run current = run;
+		if(current == null) {
+			return;
+		}
+		published++;
+		if(current.overflow.get() == null && current.queue.remainingCapacity() > 0
+				&& current.queue.offer(snapshot(current, step, values))) {
+			return;
+		}
+		if(backpressure == Backpressure.DROP) {
+			dropped++;
+			return;
+		}
+		//Once a step has overflowed nothing more goes in the queue until it has been taken, so the steps stay in order.
+		if(current.overflow.getAndSet(snapshot(current, step, values)) != null) {
+			coalesced++;
+		}
+	}
+
+	private static ProgressSnapshot snapshot(Run run, long step, double values[]) {
+		return new ProgressSnapshot(step, run.series, values.clone(), System.nanoTime());
+	}
+
+	/**
+	 * This method ends the run. It returns straight away, the steps still queued are passed on afterwards and then
+	 * the listeners are told the run has finished, see awaitFinished.
+	 */
+	@Override
+	public void close() {
+		Run current = run;
+		if(current != null) {
+			current.closed = true;
+		}
+	}
+
+	/**
+	 * This method waits until every kept step of the last run has been passed on and the listeners told it finished.
+	 * @param timeout - the longest to wait.
+	 * @param unit - the unit of the timeout.
+	 * @return true if the run has been passed on, false if the time ran out first.
+	 * @throws InterruptedException if the thread is interrupted while waiting.
+	 */
+	public boolean awaitFinished(long timeout, TimeUnit unit) throws InterruptedException {
+		Run current = run;
+		if(current == null) {
+			return true;
+		}
+		current.thread.join(Math.max(1, unit.toMillis(timeout)));
+		return !current.thread.isAlive();
+	}
+
+	/**
+	 * How many steps have been recorded in the current run.
+	 */
+	public long getPublished() {
+		return published;
+	}
+
+	/**
+	 * How many steps of the current run were thrown away because the queue was full, with Backpressure.DROP.
+	 */
+	public long getDropped() {
+		return dropped;
+	}
+
+	/**
+	 * How many steps of the current run were replaced by a later one before being passed on, with Backpressure.COALESCE.
+	 */
+	public long getCoalesced() {
+		return coalesced;
+	}
+
+	/**
+	 * The first exception thrown by a listener, or null. A listener that throws does not stop the others or the run.
+	 */
+	public RuntimeException getListenerError() {
+		return listenerError;
+	}
+
+	public int getCapacity() {
+		return capacity;
+	}
+
+	public Backpressure getBackpressure() {
+		return backpressure;
+	}
+
+	/**
+	 * The queue of one run and the thread passing it on.
+	 */
+	private class Run implements Runnable {
+		private final String series[];
+		private final Run previous;
+		private final ArrayBlockingQueue<ProgressSnapshot> queue = new ArrayBlockingQueue<ProgressSnapshot>(capacity);
+		private final AtomicReference<ProgressSnapshot> overflow = new AtomicReference<ProgressSnapshot>();
+		private volatile boolean closed;
+		private Thread thread;
+
+		Run(String series[], Run previous) {
+			this.series = series;
+			this.previous = previous;
+		}
+
+		@Override
+		public void run() {
+			if(previous != null) {
+				joinPrevious();
+			}
+			for(ProgressListener listener : listeners) {
+				deliver(() -> listener.started(series.clone()));
+			}
+			while(true) {
+				ProgressSnapshot snapshot = next();
+				if(snapshot == null) {
+					//Every step is queued before the run is closed, so once it is closed one last look finds them all.
+					if(closed && (snapshot = next()) == null) {
+						break;
+					}
+					if(snapshot == null) {
+						try {
+							snapshot = queue.poll(IDLE_MILLIS, TimeUnit.MILLISECONDS);
+						} catch (InterruptedException e) {
+							return;
+						}
+						if(snapshot == null) {
+							continue;
+						}
+					}
+				}
+				for(ProgressListener listener : listeners) {
+					ProgressSnapshot passed = snapshot;
+					deliver(() -> listener.progress(passed));
+				}
+			}
+			for(ProgressListener listener : listeners) {
+				deliver(listener::finished);
+			}
+		}
+
+		/**
+		 * The oldest queued step, or the overflowed one once the queue is empty.
+		 */
+		private ProgressSnapshot next() {
+			ProgressSnapshot snapshot = queue.poll();
+			return snapshot != null ? snapshot : overflow.getAndSet(null);
+		}
+
+		private void joinPrevious() {
+			try {
+				previous.thread.join();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+
+		private void deliver(Runnable call) {
+			try {
+				call.run();
+			} catch (RuntimeException e) {
+				if(listenerError == null) {
+					listenerError = e;
+				}
+			}
+		}
+	}
+}
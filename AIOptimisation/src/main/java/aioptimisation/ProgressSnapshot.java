@@ -0,0 +1,62 @@
+package aioptimisation;
+
+public class ProgressSnapshot {
+
+	private final long step;
+	private final String series[];
+	private final double values[];
+	private final long nanos;
+
+	/**
+	 * This constructor creates the errors of one generation or temperature step as they were when it was recorded.
+	 * The arrays are kept, not copied.
+	 * @param step - the generation or temperature step.
+	 * @param series - the name of each value.
+	 * @param values - one value per series.
+	 * @param nanos - System.nanoTime when the step was recorded.
+	 */
+	public ProgressSnapshot(long step, String series[], double values[], long nanos) {
+		this.step = step;
+		this.series = series;
+		this.values = values;
+		this.nanos = nanos;
+	}
+
+	public long getStep() {
+		return step;
+	}
+
+	/**
+	 * The value of the series at an index, in the order of getSeries.
+	 */
+	public double get(int series) {
+		return values[series];
+	}
+
+	/**
+	 * The value of a series by name, or NaN if there is no series with that name.
+	 */
+	public double get(String name) {
+		for(int s = 0; s < series.length; s++) {
+			if(series[s].equals(name)) {
+				return values[s];
+			}
+		}
+		return Double.NaN;
+	}
+
+	public int getSeriesCount() {
+		return values.length;
+	}
+
+	public String getSeriesName(int series) {
+		return this.series[series];
+	}
+
+	/**
+	 * System.nanoTime when the step was recorded, so a listener can tell how far behind it is.
+	 */
+	public long getNanos() {
+		return nanos;
+	}
+}
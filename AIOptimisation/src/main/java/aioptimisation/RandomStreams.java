@@ -0,0 +1,143 @@
+package aioptimisation;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
+
+public class RandomStreams {
+
+	private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+	private long masterSeed;
+
+	/**
+	 * This constructor creates the source of every random number of a run. Each island, chain or worker takes its own
+	 * stream from it by name and index, and a stream only depends on the master seed, its name and its index, not on
+	 * how many other streams there are or in which order they were taken. So a seeded run gives the same result
+	 * whatever the amount of threads, and island 3 draws the same numbers whether the model has 4 islands or 8.
+	 * The streams are SplitMixRandom, so they can be checkpointed.
+	 * @param masterSeed - the seed every stream is derived from.
+	 */
+	public RandomStreams(long masterSeed) {
+		this.masterSeed = masterSeed;
+	}
+
+	/**
+	 * This constructor draws a master seed at random, it can be read with getMasterSeed to repeat the run.
+	 */
+	public RandomStreams() {
+		this(ThreadLocalRandom.current().nextLong());
+	}
+
+	/**
+	 * This method creates a stream. Both the seed and the gamma of the generator are mixed from the master seed, the
+	 * name and the index the way SplittableRandom.split mixes them, so different streams do not overlap.
+	 * @param name - what the stream is for, eg "island".
+	 * @param index - which one of them.
+	 * @return a new generator, the same one every time for the same master seed, name and index.
+	 */
+	public SplitMixRandom stream(String name, long index) {
+		long key = SplitMixRandom.mix64(masterSeed + GOLDEN_GAMMA * name.hashCode());
+		key = SplitMixRandom.mix64(key + GOLDEN_GAMMA * (index + 1));
+		return new SplitMixRandom(SplitMixRandom.mix64(key), SplitMixRandom.mixGamma(key + GOLDEN_GAMMA));
+	}
+
+	/**
+	 * The stream of one island of an IslandModel.
+	 */
+	public SplitMixRandom island(int island) {
+		return stream("island", island);
+	}
+
+	/**
+	 * The stream of one chain of a ParallelTempering run.
+	 */
+	public SplitMixRandom chain(int chain) {
+		return stream("chain", chain);
+	}
+
+	/**
+	 * The stream of one worker thread, eg of a ParallelEvaluator task that needs random numbers.
+	 */
+	public SplitMixRandom worker(int worker) {
+		return stream("worker", worker);
+	}
+
+	public long getMasterSeed() {
+		return masterSeed;
+	}
+
+	/**
+	 * This method fills part of an array with random numbers from 0 (inclusive) to 1 (exclusive), the same numbers
+	 * as calling nextDouble for each in turn. A SplitMixRandom fills the whole range without going through its fields.
+	 * @param rnd - the generator to draw from.
+	 * @param out - the array to fill.
+	 * @param from - the first index to fill.
+	 * @param to - one past the last index to fill.
+	 */
+	public static void fill(RandomGenerator rnd, double out[], int from, int to) {
+		if(rnd instanceof SplitMixRandom) {
+			((SplitMixRandom) rnd).nextDoubles(out, from, to);
+			return;
+		}
+		for(int i = from; i < to; i++) {
+			out[i] = rnd.nextDouble();
+		}
+	}
+
+	/**
+	 * This method fills part of an array with random numbers between lo (inclusive) and hi (exclusive), the same
+	 * numbers as calling nextDouble(lo, hi) for each in turn.
+	 * @param rnd - the generator to draw from.
+	 * @param out - the array to fill.
+	 * @param from - the first index to fill.
+	 * @param to - one past the last index to fill.
+	 * @param lo - the lower bound.
+	 * @param hi - the upper bound, it has to be above lo.
+	 */
+	public static void fill(RandomGenerator rnd, double out[], int from, int to, double lo, double hi) {
+		checkRange(lo, hi);
+		fill(rnd, out, from, to);
+		for(int i = from; i < to; i++) {
+			out[i] = scale(out[i], lo, hi);
+		}
+	}
+
+	/**
+	 * This method fills points one after another, each input between its own bounds, eg to initialise a whole
+	 * population in one go. The numbers are the same as calling nextDouble(lowerBounds[d], upperBounds[d]) for every
+	 * input of every point in turn.
+	 * @param rnd - the generator to draw from.
+	 * @param out - the array to fill.
+	 * @param offset - where the first point starts.
+	 * @param count - how many points to fill.
+	 * @param lowerBounds - lower bound of each input, the length is the amount of inputs of a point.
+	 * @param upperBounds - upper bound of each input, each has to be above its lower bound.
+	 */
+	public static void fill(RandomGenerator rnd, double out[], int offset, int count, double lowerBounds[], double upperBounds[]) {
+		int dims = lowerBounds.length;
+		for(int d = 0; d < dims; d++) {
+			checkRange(lowerBounds[d], upperBounds[d]);
+		}
+		fill(rnd, out, offset, offset + count * dims);
+		for(int p = 0; p < count; p++) {
+			int base = offset + p * dims;
+			for(int d = 0; d < dims; d++) {
+				out[base + d] = scale(out[base + d], lowerBounds[d], upperBounds[d]);
+			}
+		}
+	}
+
+	private static void checkRange(double lo, double hi) {
+		if(!(lo < hi) || !Double.isFinite(hi - lo)) {
+			throw new IllegalArgumentException("bounds " + lo + " to " + hi + " are not a finite range");
+		}
+	}
+
+	/**
+	 * Moves a number from 0 to 1 into the range, the same way RandomGenerator.nextDouble(lo, hi) does.
+	 */
+	private static double scale(double r, double lo, double hi) {
+		r = r * (hi - lo) + lo;
+		return r >= hi ? Math.nextDown(hi) : r;
+	}
+}
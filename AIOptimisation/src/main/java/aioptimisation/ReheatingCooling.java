@@ -0,0 +1,108 @@
+package aioptimisation;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+public class ReheatingCooling implements CoolingSchedule {
+
+	//Without a limit a run that has converged would be reheated for ever and never freeze.
+	public static final int DEFAULT_MAX_REHEATS = 10;
+
+	private CoolingSchedule base;
+	private int stagnationSteps;
+	private double reheatFactor;
+	private int maxReheats = DEFAULT_MAX_REHEATS;
+	private double initialTemp;
+	private long lastReheat;
+	private int reheats;
+
+	/**
+	 * This constructor wraps another schedule and heats the run back up when it gets stuck. If the best solution has
+	 * not improved for stagnationSteps temperature steps the temperature is multiplied by reheatFactor, never above the
+	 * starting temperature, so the run can climb out of the local minimum it is stuck in. After maxReheats reheats
+	 * the base schedule is followed down to the end, so the run still freezes once it has converged.
+	 * @param base - the schedule to follow between reheats.
+	 * @param stagnationSteps - how many steps without a better best solution before reheating.
+	 * @param reheatFactor - how much to heat up by, eg 10.
+	 */
+	public ReheatingCooling(CoolingSchedule base, int stagnationSteps, double reheatFactor) {
+		if(stagnationSteps < 1 || !(reheatFactor > 1)) {
+			throw new IllegalArgumentException("stagnationSteps must be at least 1 and reheatFactor above 1");
+		}
+		this.base = base;
+		this.stagnationSteps = stagnationSteps;
+		this.reheatFactor = reheatFactor;
+	}
+
+	@Override
+	public void start(double initialTemp) {
+		base.start(initialTemp);
+		this.initialTemp = initialTemp;
+		this.lastReheat = 0;
+		this.reheats = 0;
+	}
+
+	@Override
+	public double next(double temp, AnnealingProgress progress) {
+		double next = base.next(temp, progress);
+		long stuckSince = Math.max(lastReheat, progress.getStep() - progress.getStepsSinceImprovement());
+		if(reheats < maxReheats && progress.getStep() - stuckSince >= stagnationSteps) {
+			lastReheat = progress.getStep();
+			reheats++;
+			return Math.min(initialTemp, next * reheatFactor);
+		}
+		return next;
+	}
+
+	@Override
+	public boolean isFrozen(double temp, AnnealingProgress progress) {
+		return base.isFrozen(temp, progress);
+	}
+
+	@Override
+	public void writeState(DataOutput out) throws IOException {
+		base.writeState(out);
+		out.writeDouble(initialTemp);
+		out.writeLong(lastReheat);
+		out.writeInt(reheats);
+	}
+
+	@Override
+	public void readState(DataInput in) throws IOException {
+		base.readState(in);
+		initialTemp = in.readDouble();
+		lastReheat = in.readLong();
+		reheats = in.readInt();
+	}
+
+	@Override
+	public CoolingSchedule copy() {
+		ReheatingCooling copy = new ReheatingCooling(base.copy(), stagnationSteps, reheatFactor);
+		copy.maxReheats = maxReheats;
+		return copy;
+	}
+
+	public int getReheats() {
+		return reheats;
+	}
+
+	public int getMaxReheats() {
+		return maxReheats;
+	}
+
+	/**
+	 * The most times a run is reheated, so it always ends. DEFAULT_MAX_REHEATS by default.
+	 */
+	public void setMaxReheats(int maxReheats) {
+		if(maxReheats < 0) {
+			throw new IllegalArgumentException("maxReheats must be at least 0");
+		}
+		this.maxReheats = maxReheats;
+	}
+
+	@Override
+	public String toString() {
+		return "reheating " + base + " after " + stagnationSteps + " by " + reheatFactor;
+	}
+}
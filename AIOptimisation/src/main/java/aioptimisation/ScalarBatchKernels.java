@@ -0,0 +1,36 @@
+package aioptimisation;
+
+/**
+ * The batch kernels as plain loops over the scalar functions, so they give exactly the same outputs as evaluating
+ * one point at a time. Used when the Vector API is not available.
+ */
+class ScalarBatchKernels implements BatchKernels {
+
+	@Override
+	public void function1(double xs[], double out[], int from, int to) {
+		for(int i = from; i < to; i++) {
+			out[i] = ProblemFunctions.function1(xs[i]);
+		}
+	}
+
+	@Override
+	public void function2(double xs[], double ys[], double out[], int from, int to) {
+		for(int i = from; i < to; i++) {
+			out[i] = ProblemFunctions.function2(xs[i], ys[i]);
+		}
+	}
+
+	@Override
+	public void holderTableFunction(double xs[], double ys[], double out[], int from, int to) {
+		for(int i = from; i < to; i++) {
+			out[i] = ProblemFunctions.holderTableFunction(xs[i], ys[i]);
+		}
+	}
+
+	@Override
+	public void eggFunction(double xs[], double ys[], double out[], int from, int to) {
+		for(int i = from; i < to; i++) {
+			out[i] = ProblemFunctions.eggFunction(xs[i], ys[i]);
+		}
+	}
+}
@@ -0,0 +1,927 @@
+package aioptimisation;
+
+import java.io.DataInput;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.random.RandomGenerator;
+
+public class SimulatedAnnealing {
+	
+	private double temp;
+	private double coolingRate;
+	private int iterations;
+	private int dimensions;
+	private double minRange;
+	private double maxRange;
+	//The range of each input, solutions are drawn inside these bounds.
+	private double lowerBounds[];
+	private double upperBounds[];
+	private String functionName;
+	private ObjectiveFunction objective;
+	private Solution bestSolution;
+	private Solution currentSolution;
+	//The names of the errors recorded every temperature, in the order they are passed to the metrics sink.
+	public static final String METRIC_SERIES[] = {"currentError", "averageError", "bestError"};
+	private MetricsSink metricsSink;
+	private ProgressPublisher progressPublisher;
+	private SurrogateModel surrogate;
+	private double metricValues[] = new double[METRIC_SERIES.length];
+	private ParallelEvaluator evaluator;
+	private boolean allocationFree;
+	private boolean seeded;
+	private long seed;
+	//The generator of the one at a time loop once the run is seeded, otherwise ThreadLocalRandom is used.
+	private RandomGenerator random;
+	private int chains = 1;
+	private int chainThreads;
+	private MoveGenerator moveGenerator = MoveGenerator.uniform();
+	//Null uses the geometric schedule with the cooling rate, the way it always has.
+	private CoolingSchedule coolingSchedule;
+	private StopCriterion stopCriterion;
+	private AnnealingProgress progress = new AnnealingProgress();
+	private Path checkpointPath;
+	private int checkpointInterval;
+	
+	/**
+	 * The constructor that sets a lot of the variables and creates a random value between the range.
+	 * We set the current and best solutions initially to the first random solution.
+	 * @param temp - starting temperature.
+	 * @param coolingRate - small number to reduce temperature.
+	 * @param iterations - the amount of iterations for each temperature.
+	 * @param dimensions - this decides which function to use. eg 1 would be the function with x as input.
+	 * @param minRange - lower bound of range.
+	 * @param maxRange - upper bound of range.
+	 * @param functionName - name of the function to minimise, looked up once in ObjectiveFunctions with the given dimensions.
+	 */
+	public SimulatedAnnealing(double temp, double coolingRate, int iterations, int dimensions, double minRange, double maxRange, String functionName) {
+		this(temp, coolingRate, iterations, dimensions, minRange, maxRange, ObjectiveFunctions.get(functionName, dimensions));
+	}
+	
+	/**
+	 * This constructor anneals a function, taking the range and dimensions from the function itself.
+	 * @param temp - starting temperature.
+	 * @param coolingRate - small number to reduce temperature.
+	 * @param iterations - the amount of iterations for each temperature.
+	 * @param objective - the function to minimise.
+	 */
+	public SimulatedAnnealing(double temp, double coolingRate, int iterations, ObjectiveFunction objective) {
+		this(temp, coolingRate, iterations, objective.getLowerBounds(), objective.getUpperBounds(), objective);
+	}
+	
+	/**
+	 * This constructor anneals any objective function, see the first constructor.
+	 * @param objective - the function to minimise.
+	 */
+	public SimulatedAnnealing(double temp, double coolingRate, int iterations, int dimensions, double minRange, double maxRange, ObjectiveFunction objective) {
+		this(temp, coolingRate, iterations, AbstractObjectiveFunction.uniform(dimensions, minRange),
+				AbstractObjectiveFunction.uniform(dimensions, maxRange), objective);
+	}
+	
+	/**
+	 * This constructor anneals a function where every input has its own range. The amount of dimensions
+	 * is the length of the bounds.
+	 * @param temp - starting temperature.
+	 * @param coolingRate - small number to reduce temperature.
+	 * @param iterations - the amount of iterations for each temperature.
+	 * @param lowerBounds - lower bound of each input.
+	 * @param upperBounds - upper bound of each input.
+	 * @param objective - the function to minimise, it has to take as many inputs as there are bounds.
+	 */
+	public SimulatedAnnealing(double temp, double coolingRate, int iterations, double lowerBounds[], double upperBounds[], ObjectiveFunction objective) {
+		if(lowerBounds.length != upperBounds.length) {
+			throw new IllegalArgumentException("lowerBounds and upperBounds must have the same length");
+		}
+		if(lowerBounds.length != objective.getDimensions()) {
+			throw new IllegalArgumentException(objective.getName() + " takes " + objective.getDimensions() + " inputs, not " + lowerBounds.length);
+		}
+		this.setTemp(temp);
+		this.setCoolingRate(coolingRate);
+		this.setIterations(iterations);
+		this.setDimensions(lowerBounds.length);
+		this.lowerBounds = lowerBounds.clone();
+		this.upperBounds = upperBounds.clone();
+		this.minRange = Arrays.stream(lowerBounds).min().orElse(0);
+		this.maxRange = Arrays.stream(upperBounds).max().orElse(0);
+		this.setObjective(objective);
+		this.currentSolution = new Solution(this.lowerBounds, this.upperBounds);
+		this.bestSolution = currentSolution;
+		this.metricsSink = MetricsBuffer.forRun(temperatureSteps());
+		
+		runProblem(currentSolution);
+		runProblem(bestSolution);
+	}
+	
+	/**
+	 * This method brings all the elements together to create the process.
+	 * This is my main loop which will iterate until the temperature is low.
+	 * Each temperature it will loop N times, creating a solution with random inputs in the range of the problem function.
+	 * The new solution is compared to the current solution to see which output is closer to the minimum.
+	 * If the new solution is closer we set that as the current solution and check if its closer to the minimum than the best solution.
+	 * If it is the best solution is also set to the new solution.
+	 * Otherwise we calculate the acceptance probability and compare to a random number between 0 and 1.
+	 * If its greater than the random number we accept the new solution and otherwise repeat to get another new solution.
+	 * If a parallel evaluator has been set, all the solutions for one temperature are generated first and evaluated
+	 * together across its threads, then accepted or rejected one after another in the same order as before.
+	 * With the default uniform move generator the new solutions never depend on the current one, so this gives the
+	 * same kind of run as the one at a time loop. With any other move generator every new solution is a move away from
+	 * the current solution, in a batch they are all moves from the current solution at the start of the temperature.
+	 * If allocation free mode is on the run is handed to runInPlace instead.
+	 * The temperature follows the cooling schedule until it is frozen, and after every temperature the stop criterion,
+	 * if there is one, can end the run early.
+	 * @param sa - the simulated annealing object created in main.
+	 */
+	public void run(SimulatedAnnealing sa) {
+		int count = 0;
+		
+    	double meanError = 0.0;
+    	double minOptimalSolution = objective.getOptimum();
+    	if(checkpointPath != null && (!allocationFree || chains > 1)) {
+    		throw new IllegalStateException("checkpoints are only written by the allocation free engine with one chain");
+    	}
+    	startRecording();
+    	MoveGenerator moves = moveGenerator.copy();
+    	moves.start(temp);
+    	CoolingSchedule schedule = coolingSchedule();
+    	schedule.start(temp);
+    	progress.start(temp);
+    	if(chains > 1) {
+    		runTempering(schedule);
+    		stopRecording();
+    		return;
+    	}
+    	if(allocationFree) {
+    		runInPlace(minOptimalSolution, moves, schedule);
+    		stopRecording();
+    		return;
+    	}
+		
+		random = seeded ? new SplitMixRandom(seed) : null;
+		if(seeded) {
+			currentSolution = new Solution(lowerBounds, upperBounds, random);
+			runProblem(currentSolution);
+			bestSolution = currentSolution;
+		}
+		long evaluations = 0;
+		while(!schedule.isFrozen(temp, progress)) {
+			double sumCurrSolution = 0.0;
+			int evaluated = 0;
+			int accepted = 0;
+			long screened = surrogate != null ? surrogate.getScreened() : 0;
+			if(evaluator != null) {
+				Solution batch[] = new Solution[getIterations()];
+				for(int i = 0; i < batch.length; i++) {
+					batch[i] = newSolution(moves);
+				}
+				runProblem(batch);
+				for(int i = 0; i < batch.length; i++) {
+					boolean accept = acceptOrReject(batch[i]);
+					moves.accepted(accept);
+					accepted += accept ? 1 : 0;
+					sumCurrSolution += Math.sqrt(Math.pow(minOptimalSolution - batch[i].getOutput(), 2));
+				}
+				evaluated = batch.length;
+			} else {
+				for(int i = 0; i < getIterations(); i++) {
+					Solution newSolution = newSolution(moves);
+					boolean accept;
+					if(surrogate != null) {
+						accept = screenedAcceptOrReject(newSolution);
+					} else {
+						runProblem(newSolution);
+						accept = acceptOrReject(newSolution);
+					}
+					moves.accepted(accept);
+					accepted += accept ? 1 : 0;
+					//A screened out candidate only has a prediction, which would pull the average down.
+					if(!Double.isNaN(newSolution.getOutput())) {
+						sumCurrSolution += Math.sqrt(Math.pow(minOptimalSolution - newSolution.getOutput(), 2));
+						evaluated++;
+					}
+				}
+			}
+			
+			meanError = evaluated > 0 ? sumCurrSolution / evaluated : Double.NaN;
+			double currentError = Math.sqrt(Math.pow(minOptimalSolution - currentSolution.getOutput(), 2));
+			double bestError = Math.sqrt(Math.pow(minOptimalSolution - bestSolution.getOutput(), 2));
+			recordErrors(count, currentError, meanError, bestError);
+			count++;
+			
+			evaluations += getIterations() - (surrogate != null ? surrogate.getScreened() - screened : 0);
+			if(endOfTemperature(schedule, evaluations, currentError, bestError, (double) accepted / getIterations())) {
+				break;
+			}
+		}
+		stopRecording();
+	}
+	
+	/**
+	 * This method creates the next candidate. The uniform move generator keeps drawing a new random solution the way
+	 * it always has, the others move away from the current solution.
+	 */
+	private Solution newSolution(MoveGenerator moves) {
+		if(moves == MoveGenerator.uniform()) {
+			return new Solution(lowerBounds, upperBounds, random());
+		}
+		Solution solution = new Solution(currentSolution.getInput(), 0);
+		moves.move(currentSolution.getInput(), solution.getInput(), lowerBounds, upperBounds, temp, random());
+		return solution;
+	}
+	
+	/**
+	 * This method updates the progress after a temperature and either cools to the next one or ends the run.
+	 * @return true if the stop criterion ended the run, the temperature is left where it was.
+	 */
+	private boolean endOfTemperature(CoolingSchedule schedule, long evaluations, double currentError, double bestError,
+			double acceptanceRatio) {
+		progress.update(temp, evaluations, currentError, bestError, acceptanceRatio);
+		if(stopCriterion != null && stopCriterion.shouldStop(progress)) {
+			return true;
+		}
+		temp = schedule.next(temp, progress);
+		return false;
+	}
+	
+	private CoolingSchedule coolingSchedule() {
+		return coolingSchedule != null ? coolingSchedule.copy() : CoolingSchedule.geometric(getCoolingRate());
+	}
+	
+	/**
+	 * This method passes the errors of one temperature to the metrics sink through one reused array.
+	 */
+	private void recordErrors(long step, double currentError, double averageError, double bestError) {
+		metricValues[0] = currentError;
+		metricValues[1] = averageError;
+		metricValues[2] = bestError;
+		if(progressPublisher != null) {
+			progressPublisher.record(step, metricValues);
+		}
+		metricsSink.record(step, metricValues);
+	}
+	
+	private void startRecording() {
+		metricsSink.start(METRIC_SERIES);
+		if(progressPublisher != null) {
+			progressPublisher.start(METRIC_SERIES);
+		}
+	}
+	
+	private void stopRecording() {
+		metricsSink.close();
+		if(progressPublisher != null) {
+			progressPublisher.close();
+		}
+	}
+	
+	/**
+	 * This method is the allocation free version of run. Instead of a new Solution for every candidate it uses an
+	 * AnnealingChain, which writes each candidate into a fixed buffer and swaps it with the current buffer when it is
+	 * accepted. One SplitMixRandom is created for the run (seeded if setSeed was called) instead of a new Random
+	 * for every number. If the run is seeded the chain also starts from a point drawn from that generator, so the
+	 * whole run can be repeated. Otherwise it starts from the current solution. The errors for each temperature go
+	 * straight to the metrics sink as primitives, so with the default MetricsBuffer the loop allocates nothing.
+	 * @param minOptimalSolution - the known minimum of the function.
+	 * @param moves - the move generator for this run, already started.
+	 * @param schedule - the cooling schedule for this run, already started.
+	 */
+	private void runInPlace(double minOptimalSolution, MoveGenerator moves, CoolingSchedule schedule) {
+		SplitMixRandom rnd = seeded ? new SplitMixRandom(seed) : new SplitMixRandom();
+		AnnealingChain chain = new AnnealingChain(objective, lowerBounds, upperBounds, rnd);
+		chain.setMoveGenerator(moves);
+		chain.setSurrogate(surrogate);
+		if(seeded) {
+			chain.randomStart();
+		} else {
+			chain.start(currentSolution.getInput(), currentSolution.getOutput());
+		}
+		anneal(minOptimalSolution, chain, rnd, moves, schedule, 0, chain.getEvaluations());
+	}
+	
+	/**
+	 * This method is the loop of runInPlace, from a given temperature step on so it can also carry on from a checkpoint.
+	 * If a checkpoint has been set the state is saved every so many temperature steps.
+	 * @param count - the temperature step to start from.
+	 * @param startEvaluations - the evaluations the chain had done before the first step.
+	 */
+	private void anneal(double minOptimalSolution, AnnealingChain chain, SplitMixRandom rnd, MoveGenerator moves,
+			CoolingSchedule schedule, int count, long startEvaluations) {
+		while(!schedule.isFrozen(temp, progress)) {
+			double sumCurrSolution = 0.0;
+			int evaluated = 0;
+			long accepted = chain.getAccepted();
+			for(int i = 0; i < getIterations(); i++) {
+				double value = chain.step(temp);
+				if(!Double.isNaN(value)) {
+					sumCurrSolution += Math.abs(minOptimalSolution - value);
+					evaluated++;
+				}
+			}
+			double currentError = Math.abs(minOptimalSolution - chain.getCurrentValue());
+			double bestError = Math.abs(minOptimalSolution - chain.getBestValue());
+			recordErrors(count, currentError, evaluated > 0 ? sumCurrSolution / evaluated : Double.NaN, bestError);
+			count++;
+			if(endOfTemperature(schedule, chain.getEvaluations() - startEvaluations, currentError, bestError,
+					(double) (chain.getAccepted() - accepted) / getIterations())) {
+				break;
+			}
+			if(checkpointPath != null && count % checkpointInterval == 0) {
+				writeCheckpoint(chain, rnd, moves, schedule, count, startEvaluations);
+			}
+		}
+		
+		currentSolution = new Solution(chain.getCurrent(), chain.getCurrentValue());
+		bestSolution = new Solution(chain.getBest(), chain.getBestValue());
+	}
+	
+	/**
+	 * This method carries on a run that was stopped, from the last checkpoint written to the file. It has to be created
+	 * with the same parameters, function, move generator and cooling schedule as the one that wrote it, in allocation free
+	 * mode with one chain. The point, temperature, random number generator, the state of the move generator and cooling
+	 * schedule, the progress, the archive of the surrogate and, if the metrics sink is a MetricsBuffer, the recorded errors are all put back, so the
+	 * run carries on exactly as if it had never stopped. Any other metrics sink is started again.
+	 * @param path - the checkpoint file.
+	 * @throws IOException if the checkpoint cannot be read or is for a different problem.
+	 */
+	public void resume(Path path) throws IOException {
+		DataInput in = Checkpoint.read(path, "annealing");
+		int dims = in.readInt();
+		if(dims != lowerBounds.length) {
+			throw new IOException(path + " is for a function with " + dims + " dimensions");
+		}
+		temp = in.readDouble();
+		int count = in.readInt();
+		long startEvaluations = in.readLong();
+		SplitMixRandom rnd = Checkpoint.readRandom(in);
+		MoveGenerator moves = moveGenerator.copy();
+		AnnealingChain chain = new AnnealingChain(objective, lowerBounds, upperBounds, rnd);
+		chain.setMoveGenerator(moves);
+		chain.setSurrogate(surrogate);
+		chain.readState(in);
+		moves.readState(in);
+		CoolingSchedule schedule = coolingSchedule();
+		schedule.readState(in);
+		progress.readState(in);
+		if(in.readBoolean() != (surrogate != null)) {
+			throw new IOException(path + (surrogate != null ? " was written without a surrogate" : " was written with a surrogate"));
+		}
+		if(surrogate != null) {
+			surrogate.readState(in);
+		}
+		//The recorded errors are the last thing in the checkpoint, so they can be left unread.
+		if(in.readBoolean() && metricsSink instanceof MetricsBuffer) {
+			((MetricsBuffer) metricsSink).readState(in);
+		} else {
+			metricsSink.start(METRIC_SERIES);
+		}
+		if(progressPublisher != null) {
+			progressPublisher.start(METRIC_SERIES);
+		}
+		anneal(objective.getOptimum(), chain, rnd, moves, schedule, count, startEvaluations);
+		stopRecording();
+	}
+	
+	/**
+	 * This method saves everything the allocation free loop needs to carry on, see Checkpoint.write.
+	 */
+	private void writeCheckpoint(AnnealingChain chain, SplitMixRandom rnd, MoveGenerator moves, CoolingSchedule schedule,
+			int count, long startEvaluations) {
+		try {
+			Checkpoint.write(checkpointPath, "annealing", out -> {
+				out.writeInt(lowerBounds.length);
+				out.writeDouble(temp);
+				out.writeInt(count);
+				out.writeLong(startEvaluations);
+				Checkpoint.writeRandom(out, rnd);
+				chain.writeState(out);
+				moves.writeState(out);
+				schedule.writeState(out);
+				progress.writeState(out);
+				out.writeBoolean(surrogate != null);
+				if(surrogate != null) {
+					surrogate.writeState(out);
+				}
+				out.writeBoolean(metricsSink instanceof MetricsBuffer);
+				if(metricsSink instanceof MetricsBuffer) {
+					((MetricsBuffer) metricsSink).writeState(out);
+				}
+			});
+		} catch (IOException e) {
+			throw new UncheckedIOException("Could not write checkpoint " + checkpointPath, e);
+		}
+	}
+	
+	/**
+	 * This method is the multi chain version of run, see ParallelTempering. Each chain has its own stream of one
+	 * RandomStreams, seeded if setSeed was called, so a seeded run gives the same result whatever the amount of threads. Afterwards the
+	 * current solution is the one of the coldest chain and the best solution the best of all the chains.
+	 */
+	private void runTempering(CoolingSchedule schedule) {
+		RandomStreams streams = seeded ? new RandomStreams(seed) : new RandomStreams();
+		ParallelTempering tempering = new ParallelTempering(objective, lowerBounds, upperBounds, chains, streams);
+		if(chainThreads > 0) {
+			tempering.setThreads(chainThreads);
+		}
+		tempering.setMoveGenerator(moveGenerator);
+		tempering.setStopCriterion(stopCriterion);
+		MetricsSink sink = progressPublisher != null ? MetricsSink.tee(progressPublisher, metricsSink) : metricsSink;
+		ParallelTempering.Best best = tempering.run(temp, schedule, getIterations(), sink);
+		temp = tempering.getTemperature();
+		progress.copyFrom(tempering.getProgress());
+		
+		AnnealingChain coldest = tempering.getColdestChain();
+		currentSolution = new Solution(coldest.getCurrent(), coldest.getCurrentValue());
+		bestSolution = new Solution(best.getInput(), best.getValue());
+	}
+	
+	/**
+	 * This method works out how many times the temperature will be cooled before it drops to 1.
+	 * @return the amount of temperature steps left in a run.
+	 */
+	public int temperatureSteps() {
+		if(getCoolingRate() <= 0) {
+			return Integer.MAX_VALUE;
+		}
+		int steps = 0;
+		double t = temp;
+		while(t > 1) {
+			t *= 1 - getCoolingRate();
+			steps++;
+		}
+		return steps;
+	}
+	
+	/**
+	 * This method compares a new solution that has already been evaluated with the current and best solutions.
+	 * If it is better it becomes the current solution, and the best too if it beats that. Otherwise it is
+	 * accepted with the acceptance probability.
+	 * @param newSolution - the evaluated candidate.
+	 * @return whether it became the current solution.
+	 */
+	private boolean acceptOrReject(Solution newSolution) {
+		double distance = calculateDistance(currentSolution.getOutput(), newSolution.getOutput());
+		if (distance > 0) {
+			currentSolution = newSolution;
+			distance = calculateDistance(bestSolution.getOutput(), newSolution.getOutput());
+			if (distance > 0) {
+				bestSolution = newSolution;
+			}
+			return true;
+		} else if(acceptanceProbability(-distance) > generateRandNum(0, 1)) {
+			currentSolution = newSolution; 
+			return true;
+		}
+		return false;
+	}
+	
+	/**
+	 * This method is acceptOrReject with the surrogate. The random number the acceptance probability is compared with
+	 * is drawn first, which gives the highest output the candidate can have and still be accepted. The candidate is
+	 * only evaluated if the surrogate predicts it could come in under that, otherwise it is rejected and left with NaN
+	 * as its output, so no evaluation is spent on it.
+	 * @param newSolution - the candidate, not yet evaluated.
+	 * @return true if the candidate was accepted.
+	 */
+	private boolean screenedAcceptOrReject(Solution newSolution) {
+		double threshold = currentSolution.getOutput() - getTemp() * Math.log(generateRandNum(0, 1));
+		if(!surrogate.screen(newSolution.getInput(), 0, threshold)) {
+			newSolution.setOutput(Double.NaN);
+			return false;
+		}
+		runProblem(newSolution);
+		surrogate.add(newSolution.getInput(), 0, newSolution.getOutput());
+		if(newSolution.getOutput() >= threshold) {
+			return false;
+		}
+		if(calculateDistance(bestSolution.getOutput(), newSolution.getOutput()) > 0) {
+			bestSolution = newSolution;
+		}
+		currentSolution = newSolution;
+		return true;
+	}
+	
+	/**
+	 * This method evaluates several solutions at once. With a parallel evaluator set they are spread across its
+	 * threads, otherwise they are evaluated one after another on the calling thread.
+	 * @param batch - the solutions to evaluate, each output is set on its own solution.
+	 */
+	public void runProblem(Solution batch[]) {
+		if(evaluator != null) {
+			evaluator.forEach(batch.length, (from, to) -> {
+				for(int i = from; i < to; i++) {
+					runProblem(batch[i]);
+				}
+			});
+		} else {
+			for(Solution sol : batch) {
+				runProblem(sol);
+			}
+		}
+	}
+	
+	/**
+	 * This method runs the objective function on a solution.
+	 * The output of the function is stored as output in solution object.
+	 * @param sol - the solution that contains an input.
+	 */
+	public void runProblem(Solution sol) {
+		sol.setOutput(objective.evaluate(sol.getInput(), 0));
+	}
+	
+	/**
+	 * This method calculates the distance by subtracting the new solution output from the original solution.
+	 * A positive number will always mean the second one is better.
+	 * @param bestSolutionCost - the output for best solution
+	 * @param newSolutionCost - the output for the new solution.
+	 * @return distance - A pos or neg number. Dont care exactly the value for this, only whether its pos or neg.
+	 */
+	public double calculateDistance(double originalSolutionCost, double newSolutionCost) {
+		double distance = originalSolutionCost - newSolutionCost;
+		return distance;
+	}
+	
+	/**
+	 * This method calculates the acceptance probability.
+	 * @param distance - the distance calculated between two solutions.
+	 * @return probability - the chance the new solution will be accepted to get out of local minima.
+	 */
+	public double acceptanceProbability(double distance) {
+		//Not sure if its meant to be distance or -distance.
+		double probability = Math.exp(-distance / getTemp());
+		return probability;
+	}
+	
+	/**
+	 * This method generates a random number between two range.
+	 * @param minRange - lower bound
+	 * @param maxRange - upper bound
+	 * @return newRandomNum - the random number that has been generated.
+	 */
+	public double generateRandNum(double minRange, double maxRange) {
+		double newRandomNum = minRange + (maxRange - minRange) * random().nextDouble();
+		return newRandomNum;	
+	}
+	
+	private RandomGenerator random() {
+		return random != null ? random : ThreadLocalRandom.current();
+	}
+	
+	public ArrayList<Double> getcurrentValueErrorPerTemp() {
+		return metricSeries(METRIC_SERIES[0]);
+	}
+	
+	public ArrayList<Double> getBestValuePerTemp() {
+		return metricSeries(METRIC_SERIES[2]);
+	}
+	
+	/**
+	 * This method copies one of the recorded errors out for the charts. It only has values if the
+	 * metrics sink is a MetricsBuffer, otherwise the errors have been streamed somewhere else.
+	 * @param name - one of METRIC_SERIES.
+	 * @return the recorded values, oldest first.
+	 */
+	private ArrayList<Double> metricSeries(String name) {
+		if(metricsSink instanceof MetricsBuffer) {
+			return ((MetricsBuffer) metricsSink).toList(name);
+		}
+		return new ArrayList<Double>();
+	}
+	
+	public MetricsSink getMetricsSink() {
+		return metricsSink;
+	}
+
+	/**
+	 * Replaces where the errors of each temperature are recorded. By default they go into a MetricsBuffer
+	 * from MetricsBuffer.forRun, which halves its resolution rather than growing if the run goes on longer.
+	 * See MetricsSink for the alternatives.
+	 */
+	public void setMetricsSink(MetricsSink metricsSink) {
+		this.metricsSink = metricsSink;
+	}
+	
+	public SurrogateModel getSurrogate() {
+		return surrogate;
+	}
+
+	/**
+	 * Sets a model that screens candidates before they are evaluated, for when the objective is expensive, see
+	 * SurrogateModel. Each candidate is only evaluated if the model predicts it could pass the acceptance test, the
+	 * rest are rejected without an evaluation. It is used by the one at a time loop and the allocation free engine,
+	 * not by a batch evaluator or several chains, see SurrogateModel for resuming from a checkpoint. The average error
+	 * of a temperature is over the candidates that were evaluated, NaN if every one was screened out. null, the
+	 * default, evaluates every candidate.
+	 */
+	public void setSurrogate(SurrogateModel surrogate) {
+		this.surrogate = surrogate;
+	}
+	
+	public ProgressPublisher getProgressPublisher() {
+		return progressPublisher;
+	}
+
+	/**
+	 * Sets where the errors of each temperature are published while the run goes, eg to a live chart or a log.
+	 * Unlike the metrics sink the publisher never slows the run down, see ProgressPublisher. null, the default, publishes nothing.
+	 */
+	public void setProgressPublisher(ProgressPublisher progressPublisher) {
+		this.progressPublisher = progressPublisher;
+	}
+	
+	/**
+	 * This method adds a listener to the progress publisher, creating a default one first if there is none.
+	 */
+	public void addProgressListener(ProgressListener listener) {
+		if(progressPublisher == null) {
+			progressPublisher = new ProgressPublisher();
+		}
+		progressPublisher.addListener(listener);
+	}
+	
+	public double getTemp() {
+		return temp;
+	}
+
+	public void setTemp(double temp) {
+		this.temp = temp;
+	}
+
+	public double getCoolingRate() {
+		return coolingRate;
+	}
+
+	public void setCoolingRate(double coolingRate) {
+		this.coolingRate = coolingRate;
+	}	
+
+	public int getIterations() {
+		return iterations;
+	}
+
+	public void setIterations(int iterations) {
+		this.iterations = iterations;
+	}	
+
+	public int getDimensions() {
+		return dimensions;
+	}
+
+	public void setDimensions(int dimensions) {
+		this.dimensions = dimensions;
+	}
+
+	public double getMinRange() {
+		return minRange;
+	}
+
+	/**
+	 * Sets the lower bound of every input to the same value.
+	 */
+	public void setMinRange(double minRange) {
+		this.minRange = minRange;
+		Arrays.fill(lowerBounds, minRange);
+	}
+
+	public double getMaxRange() {
+		return maxRange;
+	}
+
+	/**
+	 * Sets the upper bound of every input to the same value.
+	 */
+	public void setMaxRange(double maxRange) {
+		this.maxRange = maxRange;
+		Arrays.fill(upperBounds, maxRange);
+	}
+	
+	public double[] getLowerBounds() {
+		return lowerBounds.clone();
+	}
+	
+	public double[] getUpperBounds() {
+		return upperBounds.clone();
+	}
+	
+	public Solution getBestSolution() {
+		return bestSolution;
+	}
+	
+	public Solution getCurrentSolution() {
+		return currentSolution;
+	}
+	
+	public ArrayList<Double> getaverageErrorPerTemp() {
+		return metricSeries(METRIC_SERIES[1]);
+	}
+	
+	public ParallelEvaluator getEvaluator() {
+		return evaluator;
+	}
+
+	/**
+	 * Set to null to evaluate one solution at a time on the calling thread.
+	 */
+	public void setEvaluator(ParallelEvaluator evaluator) {
+		this.evaluator = evaluator;
+	}
+	
+	public boolean isAllocationFree() {
+		return allocationFree;
+	}
+
+	/**
+	 * Turns on the allocation free engine, see runInPlace.
+	 */
+	public void setAllocationFree(boolean allocationFree) {
+		this.allocationFree = allocationFree;
+	}
+	
+	/**
+	 * Sets the seed of the random number generators of every engine so a run can be repeated. A seeded run starts from a
+	 * point drawn from the seeded generator instead of the one drawn when the object was created.
+	 */
+	public void setSeed(long seed) {
+		this.seed = seed;
+		this.seeded = true;
+	}
+	
+	public Path getCheckpointPath() {
+		return checkpointPath;
+	}
+	
+	public int getCheckpointInterval() {
+		return checkpointInterval;
+	}
+	
+	/**
+	 * Saves the state of the run to a file every interval temperature steps so it can be resumed after a crash, see resume.
+	 * Only the allocation free engine with one chain writes checkpoints. Set the path to null to turn it off.
+	 * @param path - the checkpoint file, each checkpoint replaces the last one.
+	 * @param interval - how many temperature steps between checkpoints.
+	 */
+	public void setCheckpoint(Path path, int interval) {
+		if(path != null && interval < 1) {
+			throw new IllegalArgumentException("interval must be at least 1");
+		}
+		this.checkpointPath = path;
+		this.checkpointInterval = interval;
+	}
+	
+	public MoveGenerator getMoveGenerator() {
+		return moveGenerator;
+	}
+
+	/**
+	 * Sets how candidates are drawn, see MoveGenerator. The default draws every candidate uniformly over the whole
+	 * range, eg MoveGenerator.cauchy(0.05) searches around the current solution instead and on f2 or rastrigin reaches
+	 * the same error in around a tenth of the evaluations. Each run uses its own copy.
+	 */
+	public void setMoveGenerator(MoveGenerator moveGenerator) {
+		this.moveGenerator = moveGenerator;
+	}
+	
+	public CoolingSchedule getCoolingSchedule() {
+		return coolingSchedule;
+	}
+
+	/**
+	 * Sets how the temperature drops, see CoolingSchedule. Null, the default, multiplies it by 1 - coolingRate every
+	 * temperature like it always has. Each run uses its own copy.
+	 */
+	public void setCoolingSchedule(CoolingSchedule coolingSchedule) {
+		this.coolingSchedule = coolingSchedule;
+	}
+	
+	public StopCriterion getStopCriterion() {
+		return stopCriterion;
+	}
+
+	/**
+	 * Ends runs early, eg StopCriterion.any(StopCriterion.targetError(0.0008), StopCriterion.stagnation(500)).
+	 * Null, the default, always runs until the schedule is frozen.
+	 */
+	public void setStopCriterion(StopCriterion stopCriterion) {
+		this.stopCriterion = stopCriterion;
+	}
+	
+	/**
+	 * How the last run went: temperature steps, evaluations, errors and time taken.
+	 */
+	public AnnealingProgress getProgress() {
+		return progress;
+	}
+	
+	public int getChains() {
+		return chains;
+	}
+
+	/**
+	 * Runs this many chains at once in parallel tempering, see ParallelTempering. 1 is the normal single chain run.
+	 */
+	public void setChains(int chains) {
+		if(chains < 1) {
+			throw new IllegalArgumentException("chains must be at least 1");
+		}
+		this.chains = chains;
+	}
+	
+	public int getChainThreads() {
+		return chainThreads;
+	}
+
+	/**
+	 * How many threads the chains run on, 0 uses one per chain up to the amount of processors.
+	 */
+	public void setChainThreads(int chainThreads) {
+		this.chainThreads = chainThreads;
+	}
+	
+	public String getFunctionName() {
+		return functionName;
+	}
+
+	/**
+	 * This method switches to the function registered under the name in ObjectiveFunctions.
+	 */
+	public void setFunctionName(String functionName) {
+		setObjective(ObjectiveFunctions.get(functionName));
+	}
+	
+	public ObjectiveFunction getObjective() {
+		return objective;
+	}
+
+	public void setObjective(ObjectiveFunction objective) {
+		if(lowerBounds != null && lowerBounds.length != objective.getDimensions()) {
+			throw new IllegalArgumentException(objective.getName() + " takes " + objective.getDimensions() + " inputs, not " + lowerBounds.length);
+		}
+		this.objective = objective;
+		this.functionName = objective.getName();
+	}
+	
+    public static void main(String[] args){
+    	//Function 1
+    	SimulatedAnnealing sa = new SimulatedAnnealing(2000, 0.005, 10, 1, 0, 1.5, "f1");
+    	sa.run(sa);
+    	
+    	System.out.println("Function 1: Best result was with input X = " + sa.getBestSolution().getInput()[0] + ", with a minimum of " + sa.getBestSolution().getOutput());
+    	
+        XYLineChartSolution.display("Simulated Annealing - Function 1", sa.getcurrentValueErrorPerTemp(), sa.getaverageErrorPerTemp(), sa.getBestValuePerTemp());
+        
+        //Function 2
+        long startTimeF2 = System.nanoTime();
+    	SimulatedAnnealing sa2 = new SimulatedAnnealing(2000, 0.005, 10, 2, -5, 5, "f2");
+    	sa2.run(sa2);
+    	long endTimeF2 = System.nanoTime();
+    	long durationF2 = (endTimeF2 - startTimeF2);
+    	System.out.println("Simulated Annealing (function 2) took " + TimeUnit.MILLISECONDS.convert(durationF2, TimeUnit.NANOSECONDS) + "milliseconds.");
+    	
+    	System.out.println("The best cell for function 2 is when X = " + sa2.getBestSolution().getInput()[0] + " and Y = " + sa2.getBestSolution().getInput()[1] + ", with a min of " + sa2.getBestSolution().getOutput());
+        
+        XYLineChartSolution.display("Simulated Annealing - Function 2", sa2.getcurrentValueErrorPerTemp(), sa2.getaverageErrorPerTemp(), sa2.getBestValuePerTemp());
+        
+    	SimulatedAnnealing sa3 = new SimulatedAnnealing(2000, 0.005, 10, 2, -10, 10, "holder");
+    	sa3.run(sa3);
+    	
+    	System.out.println("The best cell for function 2 is when X = " + sa3.getBestSolution().getInput()[0] + " and Y = " + sa3.getBestSolution().getInput()[1] + ", with a min of " + sa3.getBestSolution().getOutput());
+        
+    	//Used for testing purposes, visualised and ran the holder table and egg function
+    	
+    	/**XYLineChartSolution.display("Simulated Annealing - holder", sa3.getcurrentValueErrorPerTemp(), sa3.getaverageErrorPerTemp());
+        
+    	SimulatedAnnealing sa4 = new SimulatedAnnealing(5000, 0.005, 10, 2, -512, 512, "egg");
+    	sa4.run(sa4);
+    	
+    	System.out.println("The best cell for function 2 is when X = " + sa4.getBestSolution().getInput()[0] + " and Y = " + sa4.getBestSolution().getInput()[1] + ", with a min of " + sa4.getBestSolution().getOutput());
+        
+        XYLineChartSolution.display("Simulated Annealing - egg", sa4.getcurrentValueErrorPerTemp(), sa4.getaverageErrorPerTemp());**/
+        
+        //Testing reliability of functions by running it ten times and averaging the outputs.
+        //The runs are independent so an experiment runner spreads them across the cores, each with its own seed.
+        int iterations = 20;
+        List<ExperimentJob> jobs = new ArrayList<ExperimentJob>();
+        long seed = 0;
+        for(int i = 0; i < 5 * iterations; i++) {
+        	jobs.add(ExperimentJob.simulatedAnnealing("f1", 2000, 0.0005, 10, seed++, 0.0000025));
+        	jobs.add(ExperimentJob.simulatedAnnealing("f2", 2000, 0.0005, 10, seed++, 0.0008));
+        	jobs.add(ExperimentJob.simulatedAnnealing("holder", 2000, 0.005, 10, seed++, 0.2));
+        	jobs.add(ExperimentJob.simulatedAnnealing("egg", 2000, 0.005, 10, seed++, 5));
+        }
+        //The same holder and egg runs again with 4 chains in parallel tempering.
+        for(int i = 0; i < 5 * iterations; i++) {
+        	jobs.add(ExperimentJob.simulatedAnnealing("holder", 2000, 0.005, 10, 4, seed++, 0.2));
+        	jobs.add(ExperimentJob.simulatedAnnealing("egg", 2000, 0.005, 10, 4, seed++, 5));
+        }
+        ExperimentRunner runner = new ExperimentRunner();
+        List<ConfigurationSummary> summaries = runner.runAndSummarise(jobs);
+        runner.shutdown();
+        String labels[] = {"F1", "F2", "Holder", "Egg", "Holder (4 chains)", "Egg (4 chains)"};
+        for(int i = 0; i < summaries.size(); i++) {
+        	System.out.println(labels[i] + " Reliability: " + summaries.get(i).getReliability() * iterations + "/" + iterations);
+        }
+    }
+}
@@ -1,4 +1,7 @@
-import java.util.Random;
+package aioptimisation;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
 
 public class Solution {
 	
@@ -17,6 +20,36 @@ public class Solution {
 		initialise(minRange, maxRange);
 	}
 	
+	/**
+	 * This constructor creates a solution with random inputs where every input has its own range.
+	 * @param lowerBounds - lower bound of each input, the length is the amount of dimensions.
+	 * @param upperBounds - upper bound of each input.
+	 */
+	public Solution(double lowerBounds[], double upperBounds[]) {
+		this(lowerBounds, upperBounds, ThreadLocalRandom.current());
+	}
+	
+	/**
+	 * This constructor creates a solution with random inputs drawn from the given generator, so a seeded run can be repeated.
+	 * @param lowerBounds - lower bound of each input, the length is the amount of dimensions.
+	 * @param upperBounds - upper bound of each input.
+	 * @param rnd - the random number generator to use.
+	 */
+	public Solution(double lowerBounds[], double upperBounds[], RandomGenerator rnd) {
+		this.setInput(new double[lowerBounds.length]);
+		RandomStreams.fill(rnd, input, 0, 1, lowerBounds, upperBounds);
+	}
+	
+	/**
+	 * This constructor wraps inputs that have already been evaluated.
+	 * @param input - the inputs of the solution, copied.
+	 * @param output - the output of the function for those inputs.
+	 */
+	public Solution(double input[], double output) {
+		this.setInput(java.util.Arrays.copyOf(input, input.length));
+		this.setOutput(output);
+	}
+	
 	/**
 	 * This method inserts random values for the input/inputs depending on whether
 	 * the dimensions were 1 or 2.
@@ -33,11 +66,10 @@ public class Solution {
 	 * This method creates a random number between range parameters.
 	 * @param minRange - lower bound of range for function.
 	 * @param maxRange - upper bound of range for function.
-	 * @return
+	 * @return newRandomNum - the random number that has been generated.
 	 */
 	public double generateRandNum(double minRange, double maxRange) {
-		Random rnd = new Random();
-		double newRandomNum = minRange + (maxRange - minRange) * rnd.nextDouble();
+		double newRandomNum = minRange + (maxRange - minRange) * ThreadLocalRandom.current().nextDouble();
 		return newRandomNum;	
 	}
 	
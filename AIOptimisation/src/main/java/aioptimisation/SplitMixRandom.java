@@ -0,0 +1,118 @@
+package aioptimisation;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
+
+public class SplitMixRandom implements RandomGenerator {
+
+	private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+	private long seed;
+	private long gamma;
+
+	/**
+	 * This constructor creates the same SplitMix64 generator as new SplittableRandom(seed), and draws exactly the same
+	 * numbers from it, split included. Unlike SplittableRandom its state can be read and set, so a run can be
+	 * checkpointed and carry on from the same point in the sequence, see Checkpoint.
+	 * @param seed - the seed.
+	 */
+	public SplitMixRandom(long seed) {
+		this(seed, GOLDEN_GAMMA);
+	}
+
+	/**
+	 * This constructor creates an unseeded generator.
+	 */
+	public SplitMixRandom() {
+		this(ThreadLocalRandom.current().nextLong(), GOLDEN_GAMMA);
+	}
+
+	SplitMixRandom(long seed, long gamma) {
+		this.seed = seed;
+		this.gamma = gamma;
+	}
+
+	/**
+	 * This method creates a new generator whose numbers do not overlap with this one, the same way SplittableRandom.split does.
+	 */
+	public SplitMixRandom split() {
+		return new SplitMixRandom(nextLong(), mixGamma(nextSeed()));
+	}
+
+	@Override
+	public long nextLong() {
+		return mix64(nextSeed());
+	}
+
+	@Override
+	public int nextInt() {
+		return mix32(nextSeed());
+	}
+
+	/**
+	 * This method fills part of an array with the same numbers nextDouble would give one after another, keeping the
+	 * seed in a local instead of writing it back after every number.
+	 * @param out - the array to fill.
+	 * @param from - the first index to fill.
+	 * @param to - one past the last index to fill.
+	 */
+	public void nextDoubles(double out[], int from, int to) {
+		long s = seed;
+		for(int i = from; i < to; i++) {
+			s += gamma;
+			out[i] = (mix64(s) >>> 11) * 0x1.0p-53;
+		}
+		seed = s;
+	}
+
+	private long nextSeed() {
+		return seed += gamma;
+	}
+
+	static long mix64(long z) {
+		z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+		z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+		return z ^ (z >>> 31);
+	}
+
+	private static int mix32(long z) {
+		z = (z ^ (z >>> 33)) * 0x62a9d9ed799705f5L;
+		return (int) (((z ^ (z >>> 28)) * 0xcb24d0a5c88c35b3L) >>> 32);
+	}
+
+	static long mixGamma(long z) {
+		z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+		z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+		z = (z ^ (z >>> 33)) | 1L;
+		int n = Long.bitCount(z ^ (z >>> 1));
+		return (n < 24) ? z ^ 0xaaaaaaaaaaaaaaaaL : z;
+	}
+
+	/**
+	 * The current position of the generator in its sequence.
+	 */
+	public long getSeed() {
+		return seed;
+	}
+
+	/**
+	 * How far the seed moves each number, it is fixed when the generator is created or split.
+	 */
+	public long getGamma() {
+		return gamma;
+	}
+
+	/**
+	 * This method puts the generator back to a state read with getSeed and getGamma, so it draws the same numbers as
+	 * the generator did from that point on.
+	 * @param seed - the seed from getSeed.
+	 * @param gamma - the gamma from getGamma, it has to be odd.
+	 */
+	public void setState(long seed, long gamma) {
+		if((gamma & 1) == 0) {
+			throw new IllegalArgumentException("gamma must be odd");
+		}
+		this.seed = seed;
+		this.gamma = gamma;
+	}
+}
@@ -0,0 +1,61 @@
+package aioptimisation;
+
+import java.time.Duration;
+
+public interface StopCriterion {
+
+	/**
+	 * This method is checked at the end of every temperature step.
+	 * @param progress - how the run is going.
+	 * @return true to end the run now.
+	 */
+	boolean shouldStop(AnnealingProgress progress);
+
+	/**
+	 * Stops once the best error has not improved for a number of temperature steps in a row.
+	 */
+	static StopCriterion stagnation(long steps) {
+		if(steps < 1) {
+			throw new IllegalArgumentException("steps must be at least 1");
+		}
+		return progress -> progress.getStepsSinceImprovement() >= steps;
+	}
+
+	/**
+	 * Stops once the best solution is within the error of the known minimum of the function.
+	 */
+	static StopCriterion targetError(double error) {
+		return progress -> progress.getBestError() <= error;
+	}
+
+	/**
+	 * Stops once the run has done this many evaluations. It is checked between temperature steps so a run can go
+	 * over by up to one step.
+	 */
+	static StopCriterion evaluationBudget(long evaluations) {
+		return progress -> progress.getEvaluations() >= evaluations;
+	}
+
+	/**
+	 * Stops once the run has taken this long.
+	 */
+	static StopCriterion deadline(Duration duration) {
+		long nanos = duration.toNanos();
+		return progress -> progress.getElapsedNanos() >= nanos;
+	}
+
+	/**
+	 * Stops as soon as any of the criteria does.
+	 */
+	static StopCriterion any(StopCriterion... criteria) {
+		StopCriterion copy[] = criteria.clone();
+		return progress -> {
+			for(StopCriterion criterion : copy) {
+				if(criterion.shouldStop(progress)) {
+					return true;
+				}
+			}
+			return false;
+		};
+	}
+}
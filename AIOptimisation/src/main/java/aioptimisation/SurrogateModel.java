@@ -0,0 +1,302 @@
+package aioptimisation;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * A k nearest neighbour model of an objective that Population and SimulatedAnnealing can screen candidates with.
+ * Its archive and counters are saved in checkpoints, so a run that used one has to be resumed with a surrogate set
+ * the same way, and one that did not has to be resumed without.
+ */
+public class SurrogateModel {
+
+	private double lowerBounds[];
+	private double scales[];
+	private int neighbours = 8;
+	private int capacity = 4096;
+	private int warmUp = 50;
+	private double confidence = 1;
+	private KdTree tree;
+	//The archived points scaled to the unit box, and their outputs, in the order they were added.
+	private double points[];
+	private double values[];
+	private double scaled[];
+	private int indexes[];
+	private double distances[];
+	private double lastPrediction = Double.NaN;
+	private long screened;
+	private long forwarded;
+
+	/**
+	 * This constructor creates an empty k nearest neighbour model of an objective, to screen out candidates that are
+	 * not worth evaluating when the objective is expensive. Every point the objective is really evaluated at is
+	 * archived in a k-d tree with its output, and the output of a new point is predicted as the average of its 8
+	 * nearest archived points weighted by one over their squared distance. Inputs are scaled to the unit box first so
+	 * every input counts the same whatever its range.
+	 * Once the archive is full the oldest half of it is dropped, so the model follows the part of the space the
+	 * optimiser is in and a prediction stays O(log capacity).
+	 * @param lowerBounds - lower bound of each input.
+	 * @param upperBounds - upper bound of each input.
+	 */
+	public SurrogateModel(double lowerBounds[], double upperBounds[]) {
+		int dims = lowerBounds.length;
+		this.lowerBounds = lowerBounds.clone();
+		this.scales = new double[dims];
+		for(int d = 0; d < dims; d++) {
+			double range = upperBounds[d] - lowerBounds[d];
+			scales[d] = range > 0 ? 1 / range : 1;
+		}
+		this.scaled = new double[dims];
+		allocate();
+	}
+
+	public SurrogateModel(ObjectiveFunction objective) {
+		this(objective.getLowerBounds(), objective.getUpperBounds());
+	}
+
+	private void allocate() {
+		int dims = scales.length;
+		tree = new KdTree(dims, capacity);
+		points = new double[capacity * dims];
+		values = new double[capacity];
+		indexes = new int[neighbours];
+		distances = new double[neighbours];
+	}
+
+	/**
+	 * This method archives a point the objective has really been evaluated at.
+	 * @param in - the array holding the inputs.
+	 * @param offset - where the inputs start in it.
+	 * @param value - the output of the objective.
+	 */
+	public void add(double in[], int offset, double value) {
+		int dims = scales.length;
+		if(tree.size() == capacity) {
+			//Keeps the newest half, the tree numbers points in the order they were added.
+			int kept = capacity / 2;
+			int dropped = capacity - kept;
+			System.arraycopy(points, dropped * dims, points, 0, kept * dims);
+			System.arraycopy(values, dropped, values, 0, kept);
+			tree.build(points, kept);
+		}
+		int index = tree.size();
+		for(int d = 0; d < dims; d++) {
+			points[index * dims + d] = (in[offset + d] - lowerBounds[d]) * scales[d];
+		}
+		values[index] = value;
+		tree.add(points, index * dims);
+	}
+
+	/**
+	 * This method predicts the output of the objective at a point. A point that has been archived gets its own output.
+	 * @return the prediction, NaN if nothing has been archived yet.
+	 */
+	public double predict(double in[], int offset) {
+		return predict(in, offset, 0);
+	}
+
+	/**
+	 * This method predicts the output at a point minus confidence times the spread of its neighbours' outputs around
+	 * the prediction, so a point in a part of the space the archived points disagree about looks promising.
+	 */
+	private double predict(double in[], int offset, double confidence) {
+		int dims = scales.length;
+		for(int d = 0; d < dims; d++) {
+			scaled[d] = (in[offset + d] - lowerBounds[d]) * scales[d];
+		}
+		int found = tree.nearest(scaled, 0, neighbours, indexes, distances);
+		if(found == 0) {
+			return Double.NaN;
+		}
+		if(distances[0] == 0) {
+			return values[indexes[0]];
+		}
+		double weightSum = 0;
+		double sum = 0;
+		for(int i = 0; i < found; i++) {
+			double weight = 1 / distances[i];
+			weightSum += weight;
+			sum += weight * values[indexes[i]];
+		}
+		double prediction = sum / weightSum;
+		if(confidence == 0) {
+			return prediction;
+		}
+		double variance = 0;
+		for(int i = 0; i < found; i++) {
+			double delta = values[indexes[i]] - prediction;
+			variance += delta * delta / distances[i];
+		}
+		return prediction - confidence * Math.sqrt(variance / weightSum);
+	}
+
+	/**
+	 * This method decides whether a candidate is worth evaluating: it is if the optimistic prediction of its output,
+	 * the prediction minus confidence times the spread of its neighbours, is below the threshold. Until the archive
+	 * holds warmUp points every candidate is worth evaluating.
+	 * @param in - the array holding the inputs of the candidate.
+	 * @param offset - where the inputs start in it.
+	 * @param threshold - the output the candidate has to beat to be of any use, eg the output of its parent.
+	 * @return true if the candidate should be evaluated, false if the evaluation can be saved.
+	 */
+	public boolean screen(double in[], int offset, double threshold) {
+		if(tree.size() < warmUp) {
+			lastPrediction = Double.NaN;
+			forwarded++;
+			return true;
+		}
+		lastPrediction = predict(in, offset, confidence);
+		if(lastPrediction < threshold) {
+			forwarded++;
+			return true;
+		}
+		screened++;
+		return false;
+	}
+
+	/**
+	 * The optimistic prediction of the last candidate screened, NaN if the model was still warming up.
+	 */
+	public double getLastPrediction() {
+		return lastPrediction;
+	}
+
+	/**
+	 * How many candidates were screened out, that is how many evaluations of the objective were saved.
+	 */
+	public long getScreened() {
+		return screened;
+	}
+
+	/**
+	 * How many candidates were passed on to the objective.
+	 */
+	public long getForwarded() {
+		return forwarded;
+	}
+
+	/**
+	 * The fraction of the candidates that were screened out.
+	 */
+	public double getSavedFraction() {
+		long candidates = screened + forwarded;
+		return candidates == 0 ? 0 : (double) screened / candidates;
+	}
+
+	/**
+	 * This method empties the archive and resets the counters, eg between runs.
+	 */
+	public void clear() {
+		tree.clear();
+		screened = 0;
+		forwarded = 0;
+		lastPrediction = Double.NaN;
+	}
+
+	/**
+	 * This method writes the archive and the counters into a checkpoint, so a resumed run screens the same candidates.
+	 */
+	void writeState(DataOutput out) throws IOException {
+		int dims = scales.length;
+		int size = tree.size();
+		out.writeInt(dims);
+		out.writeInt(size);
+		for(int i = 0; i < size * dims; i++) {
+			out.writeDouble(points[i]);
+		}
+		for(int i = 0; i < size; i++) {
+			out.writeDouble(values[i]);
+		}
+		out.writeLong(screened);
+		out.writeLong(forwarded);
+	}
+
+	/**
+	 * This method replaces the archive and the counters with the ones of a checkpoint.
+	 */
+	void readState(DataInput in) throws IOException {
+		int dims = in.readInt();
+		int size = in.readInt();
+		if(dims != scales.length || size < 0 || size > capacity) {
+			throw new IOException("checkpoint holds an archive of " + size + " points with " + dims + " dimensions, the model takes "
+					+ capacity + " points with " + scales.length);
+		}
+		for(int i = 0; i < size * dims; i++) {
+			points[i] = in.readDouble();
+		}
+		for(int i = 0; i < size; i++) {
+			values[i] = in.readDouble();
+		}
+		tree.build(points, size);
+		screened = in.readLong();
+		forwarded = in.readLong();
+		lastPrediction = Double.NaN;
+	}
+
+	/**
+	 * How many points are archived.
+	 */
+	public int size() {
+		return tree.size();
+	}
+
+	public int getNeighbours() {
+		return neighbours;
+	}
+
+	/**
+	 * How many archived points a prediction is made from. Setting it empties the archive.
+	 */
+	public void setNeighbours(int neighbours) {
+		if(neighbours < 1) {
+			throw new IllegalArgumentException("neighbours must be at least 1");
+		}
+		this.neighbours = neighbours;
+		allocate();
+	}
+
+	public int getCapacity() {
+		return capacity;
+	}
+
+	/**
+	 * The most points archived, the oldest half is dropped once it is full. Setting it empties the archive.
+	 */
+	public void setCapacity(int capacity) {
+		if(capacity < 2) {
+			throw new IllegalArgumentException("capacity must be at least 2");
+		}
+		this.capacity = capacity;
+		allocate();
+	}
+
+	public int getWarmUp() {
+		return warmUp;
+	}
+
+	/**
+	 * How many points have to be archived before any candidate is screened out.
+	 */
+	public void setWarmUp(int warmUp) {
+		if(warmUp < 1) {
+			throw new IllegalArgumentException("warmUp must be at least 1");
+		}
+		this.warmUp = warmUp;
+	}
+
+	public double getConfidence() {
+		return confidence;
+	}
+
+	/**
+	 * How many times the spread of the neighbours is taken off a prediction before it is compared with the threshold.
+	 * 0 trusts the prediction as it is and screens out the most, higher values evaluate more of the uncertain candidates.
+	 */
+	public void setConfidence(double confidence) {
+		if(!(confidence >= 0)) {
+			throw new IllegalArgumentException("confidence must be at least 0");
+		}
+		this.confidence = confidence;
+	}
+}
@@ -0,0 +1,344 @@
+package aioptimisation;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.random.RandomGenerator;
+
+public class Tuner {
+
+	//Lower median error first, then lower mean error.
+	private static final Comparator<ConfigurationSummary> SCORE = Comparator
+			.comparingDouble(ConfigurationSummary::getMedianError).thenComparingDouble(ConfigurationSummary::getMeanError);
+
+	private ExperimentJob.Algorithm algorithm;
+	private ExperimentRunner runner;
+	private List<ParameterRange> ranges;
+	private Map<String, Double> fixed = new TreeMap<String, Double>();
+	private int eta = 3;
+	private int repeats = 3;
+	private long minBudget = 1000;
+	private long maxBudget = 81000;
+	private long seed;
+
+	/**
+	 * This constructor creates a tuner for the parameters of one algorithm, searching the default ranges, see
+	 * defaultRanges. Configurations are drawn at random from the ranges and run as ExperimentJobs on the runner, so
+	 * every configuration of a round runs at the same time. The length of a run is its budget of evaluations of the
+	 * objective: simulated annealing gets it as evaluationBudget, clonal selection as the amount of generations that
+	 * evaluate about that many cells.
+	 * @param algorithm - the algorithm to tune.
+	 * @param runner - runs the jobs, it is not shut down by the tuner.
+	 */
+	public Tuner(ExperimentJob.Algorithm algorithm, ExperimentRunner runner) {
+		this.algorithm = algorithm;
+		this.runner = runner;
+		this.ranges = defaultRanges(algorithm);
+		if(algorithm == ExperimentJob.Algorithm.SIMULATED_ANNEALING) {
+			fixed.put("iterations", 10.0);
+		}
+	}
+
+	/**
+	 * The ranges tuned by default: cloneRate and replaceRate from 0.02 to 0.5 and populationSize from 20 to 500 for
+	 * clonal selection, temp from 10 to 10000 and coolingRate from 0.0001 to 0.05 for simulated annealing.
+	 */
+	public static List<ParameterRange> defaultRanges(ExperimentJob.Algorithm algorithm) {
+		List<ParameterRange> ranges = new ArrayList<ParameterRange>();
+		if(algorithm == ExperimentJob.Algorithm.CLONAL_SELECTION) {
+			ranges.add(ParameterRange.uniform("cloneRate", 0.02, 0.5));
+			ranges.add(ParameterRange.uniform("replaceRate", 0.02, 0.5));
+			ranges.add(ParameterRange.integer("populationSize", 20, 500, true));
+		} else {
+			ranges.add(ParameterRange.logUniform("temp", 10, 10000));
+			ranges.add(ParameterRange.logUniform("coolingRate", 0.0001, 0.05));
+		}
+		return ranges;
+	}
+
+	/**
+	 * This method tunes the algorithm for one function with Hyperband. Successive halving is run several times,
+	 * from many configurations on a small budget each down to a few configurations on the full budget, since it is
+	 * not known up front how early a bad configuration shows. Each of them ends on maxBudget and the best
+	 * configuration of all of them is returned.
+	 * @param function - the name of the function, see ObjectiveFunctions.
+	 * @param targetError - how close to the minimum a run has to get to be reliable.
+	 * @return the best configuration found.
+	 */
+	public Result hyperband(String function, double targetError) {
+		int brackets = 0;
+		for(long budget = minBudget; budget * eta <= maxBudget; budget *= eta) {
+			brackets++;
+		}
+		Result best = null;
+		long spent = 0;
+		int tried = 0;
+		for(int s = brackets; s >= 0; s--) {
+			int configurations = (int) Math.ceil((double) (brackets + 1) / (s + 1) * Math.pow(eta, s));
+			long budget = Math.max(1, Math.round(maxBudget / Math.pow(eta, s)));
+			Result result = successiveHalving(function, targetError, configurations, budget);
+			spent += result.budgetSpent;
+			tried += result.configurations;
+			if(best == null || SCORE.compare(result.summary, best.summary) < 0) {
+				best = result;
+			}
+		}
+		return new Result(function, best.parameters, best.summary, tried, spent);
+	}
+
+	/**
+	 * This method tunes the algorithm for several functions, one after the other.
+	 * @param targetErrors - the target error of each function, by name.
+	 * @return the best configuration for each function, in the same order.
+	 */
+	public Map<String, Result> hyperband(Map<String, Double> targetErrors) {
+		Map<String, Result> results = new LinkedHashMap<String, Result>();
+		for(Map.Entry<String, Double> entry : targetErrors.entrySet()) {
+			results.put(entry.getKey(), hyperband(entry.getKey(), entry.getValue()));
+		}
+		return results;
+	}
+
+	/**
+	 * This method runs successive halving: every configuration is run repeats times on the starting budget, the best
+	 * 1 / eta of them by median error are kept and the rest dropped, and the survivors run again on eta times the
+	 * budget, until a round has been run on maxBudget. Most of the budget goes to the configurations that were good
+	 * early, instead of running all of them to the end. A survivor starts again from scratch with its bigger budget,
+	 * with the same seeds, which costs at most eta / (eta - 1) times the budget of carrying on.
+	 * @param function - the name of the function, see ObjectiveFunctions.
+	 * @param targetError - how close to the minimum a run has to get to be reliable.
+	 * @param configurations - how many configurations to draw.
+	 * @param startBudget - the evaluations each run of the first round gets.
+	 * @return the configuration that was best on the last round.
+	 */
+	public Result successiveHalving(String function, double targetError, int configurations, long startBudget) {
+		ObjectiveFunction objective = ObjectiveFunctions.get(function);
+		RandomGenerator rnd = new RandomStreams(seed).stream("configurations " + function, startBudget);
+		//Drawing the same configuration twice would only run it twice.
+		LinkedHashSet<Map<String, Double>> drawn = new LinkedHashSet<Map<String, Double>>();
+		for(int i = 0; i < configurations; i++) {
+			drawn.add(sample(rnd));
+		}
+		List<Map<String, Double>> survivors = new ArrayList<Map<String, Double>>(drawn);
+		RandomStreams seeds = new RandomStreams(seed);
+		long budget = Math.min(startBudget, maxBudget);
+		long spent = 0;
+		while(true) {
+			List<ExperimentJob> jobs = new ArrayList<ExperimentJob>(survivors.size() * repeats);
+			for(Map<String, Double> configuration : survivors) {
+				Map<String, Double> parameters = withBudget(configuration, budget);
+				for(int r = 0; r < repeats; r++) {
+					jobs.add(new ExperimentJob(algorithm, objective, parameters, seeds.stream("repeat", r).nextLong(), targetError));
+				}
+			}
+			spent += budget * jobs.size();
+			//The summaries come back in the order of the survivors, one per configuration.
+			List<ConfigurationSummary> summaries = runner.runAndSummarise(jobs);
+			List<Integer> ranked = new ArrayList<Integer>();
+			for(int i = 0; i < summaries.size(); i++) {
+				ranked.add(i);
+			}
+			ranked.sort(Comparator.comparing(summaries::get, SCORE));
+			if(budget >= maxBudget) {
+				int best = ranked.get(0);
+				return new Result(function, withBudget(survivors.get(best), budget), summaries.get(best), drawn.size(), spent);
+			}
+			int kept = Math.max(1, survivors.size() / eta);
+			List<Map<String, Double>> next = new ArrayList<Map<String, Double>>(kept);
+			for(int i = 0; i < kept; i++) {
+				next.add(survivors.get(ranked.get(i)));
+			}
+			survivors = next;
+			budget = Math.min(maxBudget, budget * eta);
+		}
+	}
+
+	private Map<String, Double> sample(RandomGenerator rnd) {
+		Map<String, Double> configuration = new TreeMap<String, Double>(fixed);
+		for(ParameterRange range : ranges) {
+			configuration.put(range.getName(), range.sample(rnd));
+		}
+		return configuration;
+	}
+
+	/**
+	 * This method sets the length of a run. Clonal selection evaluates every cell apart from the cloned ones each
+	 * generation, so the budget is divided by that.
+	 */
+	private Map<String, Double> withBudget(Map<String, Double> configuration, long budget) {
+		Map<String, Double> parameters = new TreeMap<String, Double>(configuration);
+		if(algorithm == ExperimentJob.Algorithm.CLONAL_SELECTION) {
+			double size = parameters.getOrDefault("populationSize", 100.0);
+			double perGeneration = Math.max(1, size * (1 - parameters.getOrDefault("cloneRate", 0.1)));
+			parameters.put("iterations", (double) Math.max(1, Math.round(budget / perGeneration)));
+		} else {
+			parameters.put("evaluationBudget", (double) budget);
+		}
+		return parameters;
+	}
+
+	public List<ParameterRange> getRanges() {
+		return ranges;
+	}
+
+	/**
+	 * The parameters to tune and their ranges, in place of the default ones.
+	 */
+	public void setRanges(List<ParameterRange> ranges) {
+		this.ranges = new ArrayList<ParameterRange>(ranges);
+	}
+
+	public Map<String, Double> getFixed() {
+		return fixed;
+	}
+
+	/**
+	 * Parameters every run gets but that are not tuned, eg chains. iterations is fixed to 10 for simulated annealing.
+	 */
+	public void setFixed(Map<String, Double> fixed) {
+		this.fixed = new TreeMap<String, Double>(fixed);
+	}
+
+	public int getEta() {
+		return eta;
+	}
+
+	/**
+	 * How many times fewer configurations each round keeps and how many times the budget grows, 3 by default.
+	 */
+	public void setEta(int eta) {
+		if(eta < 2) {
+			throw new IllegalArgumentException("eta must be at least 2");
+		}
+		this.eta = eta;
+	}
+
+	public int getRepeats() {
+		return repeats;
+	}
+
+	/**
+	 * How many seeds each configuration is run with per round, the median error of them decides which are kept.
+	 */
+	public void setRepeats(int repeats) {
+		if(repeats < 1) {
+			throw new IllegalArgumentException("repeats must be at least 1");
+		}
+		this.repeats = repeats;
+	}
+
+	public long getMinBudget() {
+		return minBudget;
+	}
+
+	public long getMaxBudget() {
+		return maxBudget;
+	}
+
+	/**
+	 * The evaluations of the shortest and the longest runs, 1000 and 81000 by default. Hyperband runs one round of
+	 * successive halving for each time eta fits between them, plus one.
+	 */
+	public void setBudget(long minBudget, long maxBudget) {
+		if(minBudget < 1 || maxBudget < minBudget) {
+			throw new IllegalArgumentException("budgets must be at least 1 and minBudget no more than maxBudget");
+		}
+		this.minBudget = minBudget;
+		this.maxBudget = maxBudget;
+	}
+
+	public long getSeed() {
+		return seed;
+	}
+
+	/**
+	 * The master seed the configurations and the seeds of the runs are drawn from, 0 by default.
+	 */
+	public void setSeed(long seed) {
+		this.seed = seed;
+	}
+
+	/**
+	 * The best configuration found for one function.
+	 */
+	public static class Result {
+		private final String function;
+		private final Map<String, Double> parameters;
+		private final ConfigurationSummary summary;
+		private final int configurations;
+		private final long budgetSpent;
+
+		Result(String function, Map<String, Double> parameters, ConfigurationSummary summary, int configurations, long budgetSpent) {
+			this.function = function;
+			this.parameters = parameters;
+			this.summary = summary;
+			this.configurations = configurations;
+			this.budgetSpent = budgetSpent;
+		}
+
+		public String getFunction() {
+			return function;
+		}
+
+		/**
+		 * Every parameter of the best configuration, the budget included, ready for an ExperimentJob.
+		 */
+		public Map<String, Double> getParameters() {
+			return parameters;
+		}
+
+		/**
+		 * The repeats of the best configuration on the full budget.
+		 */
+		public ConfigurationSummary getSummary() {
+			return summary;
+		}
+
+		/**
+		 * How many configurations were tried.
+		 */
+		public int getConfigurations() {
+			return configurations;
+		}
+
+		/**
+		 * The evaluations the runs were allowed in total, an upper bound on what they used.
+		 */
+		public long getBudgetSpent() {
+			return budgetSpent;
+		}
+
+		@Override
+		public String toString() {
+			return function + ": " + parameters + ", median error " + summary.getMedianError() + ", mean error "
+					+ summary.getMeanError() + ", reliability " + summary.getReliableRuns() + "/" + summary.getRuns()
+					+ " (" + configurations + " configurations, " + budgetSpent + " evaluations)";
+		}
+	}
+
+	/**
+	 * This method tunes both algorithms for the four problem functions and prints the best configuration for each.
+	 */
+	public static void main(String[] args) {
+		Map<String, Double> targetErrors = new LinkedHashMap<String, Double>();
+		targetErrors.put("f1", 0.0000025);
+		targetErrors.put("f2", 0.0008);
+		targetErrors.put("holder", 0.2);
+		targetErrors.put("egg", 5.0);
+		ExperimentRunner runner = new ExperimentRunner();
+		try {
+			for(ExperimentJob.Algorithm algorithm : ExperimentJob.Algorithm.values()) {
+				System.out.println(algorithm);
+				for(Result result : new Tuner(algorithm, runner).hyperband(targetErrors).values()) {
+					System.out.println(result);
+				}
+			}
+		} finally {
+			runner.shutdown();
+		}
+	}
+}
@@ -0,0 +1,24 @@
+package aioptimisation;
+
+import java.util.random.RandomGenerator;
+
+public class UniformMoveGenerator implements MoveGenerator {
+
+	static final UniformMoveGenerator INSTANCE = new UniformMoveGenerator();
+
+	/**
+	 * This method draws every input uniformly between its bounds. It draws the same numbers in the same order as
+	 * the chain always did, so seeded runs give the same result as before move generators were added.
+	 */
+	@Override
+	public void move(double current[], double candidate[], double lowerBounds[], double upperBounds[], double temp, RandomGenerator rnd) {
+		for(int d = 0; d < candidate.length; d++) {
+			candidate[d] = rnd.nextDouble(lowerBounds[d], upperBounds[d]);
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "uniform";
+	}
+}
@@ -0,0 +1,84 @@
+package aioptimisation;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * The batch kernels written with the Vector API, so each step works on as many points at once as the CPU has lanes,
+ * eg 8 with AVX-512. The sin, cos, exp and sqrt lanes are the vectorised maths routines of the JDK, which can differ
+ * from Math in the last bit. Points left over after the last full vector go through the scalar function.
+ * This class is only loaded if the jdk.incubator.vector module is there, see ProblemFunctions.
+ */
+class VectorBatchKernels implements BatchKernels {
+
+	private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+	@Override
+	public void function1(double xs[], double out[], int from, int to) {
+		int i = from;
+		for(int bound = from + SPECIES.loopBound(to - from); i < bound; i += SPECIES.length()) {
+			DoubleVector x = DoubleVector.fromArray(SPECIES, xs, i);
+			DoubleVector t = x.sub(0.75);
+			DoubleVector t2 = t.mul(t);
+			DoubleVector part1 = t2.mul(t2).mul(3);
+			DoubleVector part2 = x.mul(5 * Math.PI).sub(0.4 * Math.PI).lanewise(VectorOperators.SIN).sub(0.43);
+			part1.add(part2).intoArray(out, i);
+		}
+		for(; i < to; i++) {
+			out[i] = ProblemFunctions.function1(xs[i]);
+		}
+	}
+
+	@Override
+	public void function2(double xs[], double ys[], double out[], int from, int to) {
+		int i = from;
+		for(int bound = from + SPECIES.loopBound(to - from); i < bound; i += SPECIES.length()) {
+			DoubleVector x = DoubleVector.fromArray(SPECIES, xs, i);
+			DoubleVector y = DoubleVector.fromArray(SPECIES, ys, i);
+			DoubleVector s1 = x.mul(3 * Math.PI).lanewise(VectorOperators.SIN);
+			DoubleVector s2 = y.mul(3 * Math.PI).lanewise(VectorOperators.SIN);
+			DoubleVector s3 = y.mul(2 * Math.PI).lanewise(VectorOperators.SIN);
+			DoubleVector dx = x.sub(1);
+			DoubleVector dy = y.sub(1);
+			DoubleVector part1 = s1.mul(s1);
+			DoubleVector part2 = dx.mul(dx).mul(s2.mul(s2).add(1));
+			DoubleVector part3 = dy.mul(dy).mul(s3.mul(s3).add(1));
+			part1.add(part2).add(part3).intoArray(out, i);
+		}
+		for(; i < to; i++) {
+			out[i] = ProblemFunctions.function2(xs[i], ys[i]);
+		}
+	}
+
+	@Override
+	public void holderTableFunction(double xs[], double ys[], double out[], int from, int to) {
+		int i = from;
+		for(int bound = from + SPECIES.loopBound(to - from); i < bound; i += SPECIES.length()) {
+			DoubleVector x = DoubleVector.fromArray(SPECIES, xs, i);
+			DoubleVector y = DoubleVector.fromArray(SPECIES, ys, i);
+			DoubleVector part1 = x.lanewise(VectorOperators.SIN).mul(y.lanewise(VectorOperators.COS));
+			DoubleVector radius = x.mul(x).add(y.mul(y)).lanewise(VectorOperators.SQRT);
+			DoubleVector part2 = radius.div(Math.PI).neg().add(1).abs().lanewise(VectorOperators.EXP);
+			part1.mul(part2).abs().neg().intoArray(out, i);
+		}
+		for(; i < to; i++) {
+			out[i] = ProblemFunctions.holderTableFunction(xs[i], ys[i]);
+		}
+	}
+
+	@Override
+	public void eggFunction(double xs[], double ys[], double out[], int from, int to) {
+		int i = from;
+		for(int bound = from + SPECIES.loopBound(to - from); i < bound; i += SPECIES.length()) {
+			DoubleVector x = DoubleVector.fromArray(SPECIES, xs, i);
+			DoubleVector y47 = DoubleVector.fromArray(SPECIES, ys, i).add(47);
+			DoubleVector part1 = x.div(2).add(y47).abs().lanewise(VectorOperators.SQRT).lanewise(VectorOperators.SIN).mul(y47);
+			DoubleVector part2 = x.sub(y47).abs().lanewise(VectorOperators.SQRT).lanewise(VectorOperators.SIN).mul(x);
+			part1.neg().sub(part2).intoArray(out, i);
+		}
+		for(; i < to; i++) {
+			out[i] = ProblemFunctions.eggFunction(xs[i], ys[i]);
+		}
+	}
+}
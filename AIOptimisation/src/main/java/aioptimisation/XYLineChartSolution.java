@@ -0,0 +1,81 @@
+package aioptimisation;
+
+import java.awt.GraphicsEnvironment;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+
+import javax.swing.JFrame;
+import javax.swing.SwingUtilities;
+import javax.swing.WindowConstants;
+
+import org.jfree.chart.ChartPanel;
+
+public class XYLineChartSolution extends JFrame{
+	/**
+	 * 
+	 */
+	private static final long serialVersionUID = 1L;
+	
+	//Names of the series in the order the simulated annealing records them.
+	private static final String SERIES_LABELS[] = {"Current Solution Error", "Average Solutions Error", "Best Solution Error"};
+	
+	/**
+	 * Generate a chart of the errors of each temperature and show it in a panel.
+	 * Each series is downsampled to ConvergenceChart.DEFAULT_POINT_BUDGET points
+	 * keeping the highs and lows, so long runs do not slow the window down.
+	 */
+	public XYLineChartSolution(String title, ArrayList<Double> functionData1, ArrayList<Double> functionData2, ArrayList<Double> functionData3) {
+		super(title);
+		
+	    ChartPanel panel = new ChartPanel(chart("XY Line Chart", functionData1, functionData2, functionData3).createChart(ConvergenceChart.DEFAULT_POINT_BUDGET));
+	    setContentPane(panel);
+	}
+	
+	/**
+	 * Generate a chart that follows a run while it goes. The publisher has to be
+	 * set on the simulated annealing with setProgressPublisher before it is run.
+	 */
+	public XYLineChartSolution(String title, ProgressPublisher publisher) {
+		super(title);
+		
+		LiveChart live = new LiveChart("XY Line Chart", SERIES_LABELS);
+		publisher.addListener(live);
+	    setContentPane(new ChartPanel(live.getChart()));
+	}
+	
+	/**
+	 * This method creates the chart without a window, eg to write it to a PNG or SVG file on a headless machine.
+	 */
+	public static ConvergenceChart chart(String title, ArrayList<Double> functionData1, ArrayList<Double> functionData2, ArrayList<Double> functionData3) {
+		return new ConvergenceChart(title)
+				.addSeries(SERIES_LABELS[0], functionData1)
+				.addSeries(SERIES_LABELS[1], functionData2)
+				.addSeries(SERIES_LABELS[2], functionData3);
+	}
+	
+	/**
+	 * This method shows the chart in a window, or writes it to a PNG named after the title in the working
+	 * directory if there is no screen.
+	 */
+	public static void display(String title, ArrayList<Double> functionData1, ArrayList<Double> functionData2, ArrayList<Double> functionData3) {
+		if(GraphicsEnvironment.isHeadless()) {
+			Path path = Path.of(ConvergenceChart.fileName(title) + ".png");
+			try {
+				chart(title, functionData1, functionData2, functionData3).writePng(path, 800, 400);
+			} catch (IOException e) {
+				throw new UncheckedIOException("Could not write " + path, e);
+			}
+			System.out.println("Wrote " + path.toAbsolutePath());
+			return;
+		}
+		SwingUtilities.invokeLater(() -> {
+			XYLineChartSolution chart = new XYLineChartSolution(title, functionData1, functionData2, functionData3);
+			chart.setSize(800, 400);
+			chart.setLocationRelativeTo(null);
+			chart.setDefaultCloseOperation(WindowConstants.EXIT_ON_CLOSE);
+			chart.setVisible(true);
+		});
+	}
+}
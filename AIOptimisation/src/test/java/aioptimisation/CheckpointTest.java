@@ -0,0 +1,125 @@
+package aioptimisation;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * A run stopped part way and resumed from its checkpoint has to end bit for bit the same as one that never stopped.
+ */
+class CheckpointTest {
+
+	private static final ObjectiveFunction EGG = ObjectiveFunctions.get("egg");
+
+	@TempDir
+	Path dir;
+
+	private static Population population(int iterations, boolean surrogate) {
+		Population population = new Population(EGG, 0.1, 0.1, 200, iterations);
+		if(surrogate) {
+			population.setSurrogate(new SurrogateModel(EGG));
+		}
+		return population;
+	}
+
+	private static SimulatedAnnealing annealing(boolean surrogate) {
+		SimulatedAnnealing annealing = new SimulatedAnnealing(2000, 0.002, 10, EGG);
+		annealing.setAllocationFree(true);
+		annealing.setSeed(11);
+		annealing.setMoveGenerator(MoveGenerator.cauchy(0.05));
+		if(surrogate) {
+			annealing.setSurrogate(new SurrogateModel(EGG));
+		}
+		return annealing;
+	}
+
+	private void resumedPopulationMatches(boolean surrogate) throws IOException {
+		Path checkpoint = dir.resolve("population.ckpt");
+		Population full = population(300, surrogate);
+		full.setSeed(3);
+		full.run(full);
+		//Stops after 130 generations, the last checkpoint is the one at 100.
+		Population part = population(130, surrogate);
+		part.setSeed(3);
+		part.setCheckpoint(checkpoint, 50);
+		part.run(part);
+		Population resumed = population(300, surrogate);
+		resumed.resume(checkpoint);
+
+		for(int i = 0; i < full.getPopulationSize(); i++) {
+			assertArrayEquals(full.getCell(i).getInput(), resumed.getCell(i).getInput());
+			assertEquals(full.getCell(i).getAffinity(), resumed.getCell(i).getAffinity());
+		}
+		assertEquals(full.getBestAffinity(), resumed.getBestAffinity());
+		assertEquals(full.getEvaluations(), resumed.getEvaluations());
+		assertEquals(full.getTop10MeanPerIteration(), resumed.getTop10MeanPerIteration());
+		assertEquals(full.getTop50MeanErrorPerIteration(), resumed.getTop50MeanErrorPerIteration());
+		assertEquals(full.getAverageErrorPerIteration(), resumed.getAverageErrorPerIteration());
+		assertEquals(full.getTopSolutionError(), resumed.getTopSolutionError());
+		assertEquals(300, resumed.getAverageErrorPerIteration().size());
+		if(surrogate) {
+			assertEquals(full.getSurrogate().getScreened(), resumed.getSurrogate().getScreened());
+		}
+	}
+
+	private void resumedAnnealingMatches(boolean surrogate) throws IOException {
+		Path checkpoint = dir.resolve("annealing.ckpt");
+		SimulatedAnnealing full = annealing(surrogate);
+		full.run(full);
+		SimulatedAnnealing part = annealing(surrogate);
+		part.setCheckpoint(checkpoint, 100);
+		part.setStopCriterion(StopCriterion.evaluationBudget(5000));
+		part.run(part);
+		SimulatedAnnealing resumed = annealing(surrogate);
+		resumed.resume(checkpoint);
+
+		assertArrayEquals(full.getBestSolution().getInput(), resumed.getBestSolution().getInput());
+		assertEquals(full.getBestSolution().getOutput(), resumed.getBestSolution().getOutput());
+		assertArrayEquals(full.getCurrentSolution().getInput(), resumed.getCurrentSolution().getInput());
+		assertEquals(full.getCurrentSolution().getOutput(), resumed.getCurrentSolution().getOutput());
+		assertEquals(full.getProgress().getStep(), resumed.getProgress().getStep());
+		assertEquals(full.getProgress().getEvaluations(), resumed.getProgress().getEvaluations());
+		assertEquals(full.getcurrentValueErrorPerTemp(), resumed.getcurrentValueErrorPerTemp());
+		assertEquals(full.getaverageErrorPerTemp(), resumed.getaverageErrorPerTemp());
+		assertEquals(full.getBestValuePerTemp(), resumed.getBestValuePerTemp());
+		if(surrogate) {
+			assertEquals(full.getSurrogate().getScreened(), resumed.getSurrogate().getScreened());
+		}
+	}
+
+	@Test
+	void resumedPopulationMatchesUninterruptedRun() throws IOException {
+		resumedPopulationMatches(false);
+	}
+
+	@Test
+	void resumedPopulationWithSurrogateMatchesUninterruptedRun() throws IOException {
+		resumedPopulationMatches(true);
+	}
+
+	@Test
+	void resumedAnnealingMatchesUninterruptedRun() throws IOException {
+		resumedAnnealingMatches(false);
+	}
+
+	@Test
+	void resumedAnnealingWithSurrogateMatchesUninterruptedRun() throws IOException {
+		resumedAnnealingMatches(true);
+	}
+
+	@Test
+	void resumingWithoutTheSurrogateIsRejected() throws IOException {
+		Path checkpoint = dir.resolve("population.ckpt");
+		Population part = population(60, true);
+		part.setSeed(3);
+		part.setCheckpoint(checkpoint, 50);
+		part.run(part);
+		assertThrows(IOException.class, () -> population(300, false).resume(checkpoint));
+	}
+}
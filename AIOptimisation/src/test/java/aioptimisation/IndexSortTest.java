@@ -0,0 +1,178 @@
+package aioptimisation;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class IndexSortTest {
+
+	private static final int SIZE = 1000;
+
+	/**
+	 * Inputs that are hard on a median of three quicksort, or full of ties.
+	 */
+	private static List<double[]> inputs() {
+		List<double[]> inputs = new ArrayList<double[]>();
+		SplitMixRandom rnd = new SplitMixRandom(1);
+		double random[] = new double[SIZE];
+		double sorted[] = new double[SIZE];
+		double reversed[] = new double[SIZE];
+		double organPipe[] = new double[SIZE];
+		double sawtooth[] = new double[SIZE];
+		double equal[] = new double[SIZE];
+		double twoValues[] = new double[SIZE];
+		double fewValues[] = new double[SIZE];
+		for(int i = 0; i < SIZE; i++) {
+			random[i] = rnd.nextDouble();
+			sorted[i] = i;
+			reversed[i] = SIZE - i;
+			organPipe[i] = i < SIZE / 2 ? i : SIZE - i;
+			sawtooth[i] = i % 17;
+			equal[i] = 3;
+			twoValues[i] = rnd.nextInt(2);
+			fewValues[i] = rnd.nextInt(5);
+		}
+		inputs.add(random);
+		inputs.add(sorted);
+		inputs.add(reversed);
+		inputs.add(organPipe);
+		inputs.add(sawtooth);
+		inputs.add(equal);
+		inputs.add(twoValues);
+		inputs.add(fewValues);
+		return inputs;
+	}
+
+	private static int[] identity(int n) {
+		int index[] = new int[n];
+		for(int i = 0; i < n; i++) {
+			index[i] = i;
+		}
+		return index;
+	}
+
+	private static double[] keysInOrder(int index[], double keys[]) {
+		double inOrder[] = new double[index.length];
+		for(int i = 0; i < index.length; i++) {
+			inOrder[i] = keys[index[i]];
+		}
+		return inOrder;
+	}
+
+	/**
+	 * Checks every key before each boundary is at most every key after it, and that sorting each stretch between two
+	 * boundaries gives the full sort, so the right keys ended up in each stretch.
+	 */
+	private static void assertRanked(double keys[], int index[], int boundaries[]) {
+		double full[] = keys.clone();
+		Arrays.sort(full);
+		double ranked[] = keysInOrder(index, keys);
+		int from = 0;
+		for(int b = 0; b <= boundaries.length; b++) {
+			int to = b < boundaries.length ? boundaries[b] : ranked.length;
+			if(to > from) {
+				double max = Double.NEGATIVE_INFINITY;
+				for(int i = 0; i < to; i++) {
+					max = Math.max(max, ranked[i]);
+				}
+				for(int i = to; i < ranked.length; i++) {
+					assertTrue(ranked[i] >= max, "key after boundary " + to + " is below one before it");
+				}
+				Arrays.sort(ranked, from, to);
+				from = to;
+			}
+		}
+		assertArrayEquals(full, ranked);
+		int cells[] = index.clone();
+		Arrays.sort(cells);
+		assertArrayEquals(identity(index.length), cells);
+	}
+
+	@Test
+	void selectSplitsAtEveryBoundary() {
+		int boundaries[] = {1, 10, 50, 100, 250, 333, 500, 667, 900};
+		for(double keys[] : inputs()) {
+			int index[] = identity(keys.length);
+			IndexSort.select(index, keys, 0, keys.length, boundaries, 0, boundaries.length);
+			assertRanked(keys, index, boundaries);
+		}
+	}
+
+	@Test
+	void selectSplitsAtOneBoundary() {
+		for(double keys[] : inputs()) {
+			for(int k : new int[] {1, 17, SIZE / 2, SIZE - 1}) {
+				int index[] = identity(keys.length);
+				IndexSort.select(index, keys, 0, keys.length, k);
+				assertRanked(keys, index, new int[] {k});
+			}
+		}
+	}
+
+	@Test
+	void partialSortSortsTheSmallestKeys() {
+		for(double keys[] : inputs()) {
+			int index[] = identity(keys.length);
+			IndexSort.partialSort(index, keys, 0, keys.length, 100);
+			double full[] = keys.clone();
+			Arrays.sort(full);
+			assertArrayEquals(Arrays.copyOf(full, 100), Arrays.copyOf(keysInOrder(index, keys), 100));
+			assertRanked(keys, index, new int[] {100});
+		}
+	}
+
+	@Test
+	void heapSortMatchesFullSort() {
+		for(double keys[] : inputs()) {
+			int index[] = identity(keys.length);
+			IndexSort.heapSort(index, keys, 100, 900);
+			double expected[] = keys.clone();
+			Arrays.sort(expected, 100, 900);
+			assertArrayEquals(expected, keysInOrder(index, keys));
+		}
+	}
+
+	@Test
+	void sortMatchesFullSort() {
+		for(double keys[] : inputs()) {
+			int index[] = identity(keys.length);
+			IndexSort.sort(index, keys, 0, keys.length);
+			double expected[] = keys.clone();
+			Arrays.sort(expected);
+			assertArrayEquals(expected, keysInOrder(index, keys));
+		}
+	}
+
+	/**
+	 * A population ranked in PARTIAL mode on a function with only a few distinct outputs has the same best cell
+	 * and the same top 10 and top 50 as a full sort.
+	 */
+	@Test
+	void partialRankingKeepsTheTopCells() {
+		ObjectiveFunction steps = new AbstractObjectiveFunction("steps", 2, -1, 1, 0) {
+			@Override
+			public double evaluate(double in[], int offset) {
+				return Math.floor(4 * (in[offset] * in[offset] + in[offset + 1] * in[offset + 1]));
+			}
+		};
+		Population population = new Population(steps, 0.1, 0.1, 500, 20);
+		population.setRankingMode(Population.RankingMode.PARTIAL);
+		population.setSeed(5);
+		population.start();
+		for(int generation = 0; generation < 20; generation++) {
+			population.iterate();
+			double affinities[] = new double[500];
+			for(int i = 0; i < affinities.length; i++) {
+				affinities[i] = population.getCell(i).getAffinity();
+			}
+			assertRanked(affinities, identity(affinities.length), new int[] {1, 10, 50});
+			assertEquals(affinities[0], population.getBestAffinity());
+		}
+	}
+}
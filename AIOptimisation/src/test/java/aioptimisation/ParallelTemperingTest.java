@@ -0,0 +1,76 @@
+package aioptimisation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+class ParallelTemperingTest {
+
+	/**
+	 * A function that gets a little lower every time it is evaluated, so every chain improves on every step.
+	 */
+	private static class Improving extends AbstractObjectiveFunction {
+		private final AtomicLong evaluations = new AtomicLong();
+
+		Improving() {
+			super("improving", 2, -1, 1, -1e12);
+		}
+
+		@Override
+		public double evaluate(double in[], int offset) {
+			return -evaluations.incrementAndGet();
+		}
+	}
+
+	private static class Flat extends AbstractObjectiveFunction {
+		Flat() {
+			super("flat", 2, -1, 1, 0);
+		}
+
+		@Override
+		public double evaluate(double in[], int offset) {
+			return 1;
+		}
+	}
+
+	private static ReheatingCooling run(ObjectiveFunction objective) {
+		//A stagnation window well inside one exchange interval of 10.
+		ReheatingCooling schedule = new ReheatingCooling(CoolingSchedule.geometric(0.01), 3, 10);
+		ParallelTempering tempering = new ParallelTempering(objective, objective.getLowerBounds(), objective.getUpperBounds(),
+				4, new RandomStreams(7));
+		tempering.run(2000, schedule, 10, null);
+		return schedule;
+	}
+
+	@Test
+	void improvingRunIsNotReheated() {
+		assertEquals(0, run(new Improving()).getReheats());
+	}
+
+	@Test
+	void stuckRunIsReheated() {
+		assertEquals(ReheatingCooling.DEFAULT_MAX_REHEATS, run(new Flat()).getReheats());
+	}
+
+	/**
+	 * The best error recorded at each temperature is the best of every chain at that temperature, so it ends on the
+	 * best point of the run and never goes up.
+	 */
+	@Test
+	void bestErrorIsTakenOverAllChainsEveryStep() {
+		ObjectiveFunction egg = ObjectiveFunctions.get("egg");
+		ParallelTempering tempering = new ParallelTempering(egg, egg.getLowerBounds(), egg.getUpperBounds(), 4,
+				new RandomStreams(9));
+		MetricsBuffer buffer = new MetricsBuffer(100000);
+		buffer.start(SimulatedAnnealing.METRIC_SERIES);
+		ParallelTempering.Best best = tempering.run(2000, 0.005, 10, buffer);
+		int last = buffer.size() - 1;
+		for(int i = 1; i <= last; i++) {
+			assertTrue(buffer.get(2, i) <= buffer.get(2, i - 1), "best error went up at step " + i);
+		}
+		assertEquals(Math.abs(egg.getOptimum() - best.getValue()), buffer.get(2, last));
+	}
+}